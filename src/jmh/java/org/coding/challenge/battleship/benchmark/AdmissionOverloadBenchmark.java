@@ -0,0 +1,191 @@
+package org.coding.challenge.battleship.benchmark;
+
+import org.coding.challenge.battleship.BattleshipApplication;
+import org.coding.challenge.battleship.admission.AdmissionFilter;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tail latency of a well-behaved turret while a misbehaving sweep script floods the service,
+ * without and with the admission control.
+ *
+ * The application is started on a random port with an in-memory H2 database and the queued settings mode.
+ * The Bow script runs flood-clients closed-loop clients sending PUT /calibration/settings then POST
+ * /calibration/run back to back. Meanwhile the Stern turret sends the same pair in open loop at a steady rate,
+ * and its latency is measured from the time each pair was due, so queueing behind the flood is not hidden.
+ * Both name their turret with the X-Turret-Location header.
+ *
+ * Arguments are --rate=20 Stern pairs per second, --flood-clients=512, --duration=30 and --warmup=5 seconds, and
+ * --modes=disabled,enabled. Other --name=value arguments are passed to the application, e.g.
+ * --battleship-calibration.admission.turret-rate-per-second=100.
+ */
+public class AdmissionOverloadBenchmark {
+
+    private static final String SETTINGS = "{\"caliber\":110,\"location\":\"%s\",\"rotation_start_point\":20,"
+            + "\"rotation_end_point\":120,\"rotations\":3}";
+
+    public static void main(String[] args) throws Exception {
+        var rate = Double.parseDouble(option(args, "rate", "20"));
+        var floodClients = Integer.parseInt(option(args, "flood-clients", "512"));
+        var duration = Duration.ofSeconds(Long.parseLong(option(args, "duration", "30")));
+        var warmup = Duration.ofSeconds(Long.parseLong(option(args, "warmup", "5")));
+        var modes = option(args, "modes", "disabled,enabled").split(",");
+        var applicationArgs = Arrays.stream(args)
+                .filter(arg -> Arrays.stream(new String[]{"rate", "flood-clients", "duration", "warmup", "modes"})
+                        .noneMatch(name -> arg.startsWith("--" + name + "=")))
+                .toList();
+
+        System.out.printf("%-9s %10s %10s %10s %10s %10s %10s %14s %14s%n", "admission", "stern ok", "stern err",
+                "p50 ms", "p99 ms", "p99.9 ms", "max ms", "bow served/s", "bow 429/s");
+        for (var mode : modes) {
+            try (var context = start(mode.trim(), applicationArgs)) {
+                var port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                var result = drive(port, rate, floodClients, warmup, duration);
+                var seconds = duration.toNanos() / 1e9;
+                System.out.printf("%-9s %10d %10d %10.2f %10.2f %10.2f %10.2f %14.0f %14.0f%n", mode,
+                        result.sternOk(), result.sternErrors(),
+                        result.sternLatencies().percentileMillis(50), result.sternLatencies().percentileMillis(99),
+                        result.sternLatencies().percentileMillis(99.9), result.sternLatencies().percentileMillis(100),
+                        result.bowOk() / seconds, result.bowRejected() / seconds);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String mode, List<String> applicationArgs) {
+        if (!List.of("disabled", "enabled").contains(mode)) {
+            throw new IllegalArgumentException("Unknown admission mode " + mode);
+        }
+        // command line arguments, so they take precedence over application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:admission-" + mode + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--battleship-calibration.settings.mode=queued",
+                "--battleship-calibration.settings.queue-capacity=1048576",
+                "--battleship-calibration.admission.enabled=" + "enabled".equals(mode),
+                "--battleship-calibration.audit.enabled=false",
+                "--battleship-calibration.cors.ui=*",
+                "--logging.level.root=WARN"));
+        args.addAll(applicationArgs);
+        return new SpringApplicationBuilder(BattleshipApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private static Result drive(int port, double rate, int floodClients, Duration warmup, Duration duration)
+            throws Exception {
+        var settingsUri = URI.create("http://localhost:" + port + "/calibration/settings");
+        var runUri = URI.create("http://localhost:" + port + "/calibration/run");
+        var bowSettings = settings(settingsUri, "Bow");
+        var bowRun = run(runUri, "Bow");
+        var sternSettings = settings(settingsUri, "Stern");
+        var sternRun = run(runUri, "Stern");
+        var sternLatencies = new ThreadModelBenchmark.LatencyHistogram();
+        var sternOk = new LongAdder();
+        var sternErrors = new LongAdder();
+        var bowOk = new LongAdder();
+        var bowRejected = new LongAdder();
+        var stopped = new AtomicBoolean();
+        var start = System.nanoTime();
+        var measureFrom = start + warmup.toNanos();
+        var end = measureFrom + duration.toNanos();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor();
+             var httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(executor)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build()) {
+            for (int client = 0; client < floodClients; client++) {
+                executor.execute(() -> {
+                    while (!stopped.get()) {
+                        try {
+                            var measured = System.nanoTime() >= measureFrom;
+                            var status = httpClient.send(bowSettings, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status == 202) {
+                                status = httpClient.send(bowRun, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            }
+                            if (measured) {
+                                (status == 429 ? bowRejected : bowOk).increment();
+                            }
+                        } catch (IOException e) {
+                            // the flood only loads the service
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                });
+            }
+
+            var intervalNanos = 1e9 / rate;
+            for (long pair = 0; ; pair++) {
+                var due = start + (long) (pair * intervalNanos);
+                if (due >= end) {
+                    break;
+                }
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                var measured = due >= measureFrom;
+                executor.execute(() -> {
+                    try {
+                        var ok = httpClient.send(sternSettings, HttpResponse.BodyHandlers.discarding()).statusCode() == 202
+                                && httpClient.send(sternRun, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        if (measured) {
+                            sternLatencies.record(System.nanoTime() - due);
+                            (ok ? sternOk : sternErrors).increment();
+                        }
+                    } catch (IOException e) {
+                        if (measured) {
+                            sternErrors.increment();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            stopped.set(true);
+        }
+        return new Result(sternOk.sum(), sternErrors.sum(), sternLatencies, bowOk.sum(), bowRejected.sum());
+    }
+
+    private static HttpRequest settings(URI settingsUri, String turret) {
+        return HttpRequest.newBuilder(settingsUri)
+                .header("Content-Type", "application/json")
+                .header(AdmissionFilter.TURRET_HEADER, turret)
+                .PUT(HttpRequest.BodyPublishers.ofString(SETTINGS.formatted(turret)))
+                .build();
+    }
+
+    private static HttpRequest run(URI runUri, String turret) {
+        return HttpRequest.newBuilder(runUri)
+                .header(AdmissionFilter.TURRET_HEADER, turret)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        return Arrays.stream(args)
+                .filter(arg -> arg.startsWith("--" + name + "="))
+                .map(arg -> arg.substring(name.length() + 3))
+                .findFirst()
+                .orElse(defaultValue);
+    }
+
+    private record Result(long sternOk, long sternErrors, ThreadModelBenchmark.LatencyHistogram sternLatencies,
+                          long bowOk, long bowRejected) {
+    }
+}
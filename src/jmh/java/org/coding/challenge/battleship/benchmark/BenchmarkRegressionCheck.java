@@ -0,0 +1,157 @@
+package org.coding.challenge.battleship.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result with the checked-in baseline, src/jmh/jmh-baseline.json, and exits with 1 on a regression.
+ *
+ * A benchmark regresses when its score is worse than the baseline by more than the tolerance plus the error margins
+ * of both runs, or when its allocation per operation (gc.alloc.rate.norm, recorded with -prof gc) grows by more
+ * than the tolerance. Benchmarks missing on either side are listed and ignored, so a subset of the benchmarks
+ * can be checked, but a missing or empty baseline, or a result that has no benchmark in common with it, fails the
+ * check: it would otherwise pass without comparing anything.
+ *
+ * Arguments: the result file, target/jmh-result.json by default, then the options
+ * --tolerance=0.10 to change the tolerance, and --update to replace the baseline with the result instead of comparing them.
+ */
+public class BenchmarkRegressionCheck {
+
+    private static final Path BASELINE = Path.of("src/jmh/jmh-baseline.json");
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+    private static final double ALLOCATION_SLACK_BYTES = 8;
+
+    public static void main(String[] args) throws IOException {
+        var result = Path.of("target/jmh-result.json");
+        var tolerance = 0.10;
+        var update = false;
+        for (var arg : args) {
+            if (arg.startsWith("--tolerance=")) {
+                tolerance = Double.parseDouble(arg.substring("--tolerance=".length()));
+            } else if (arg.equals("--update")) {
+                update = true;
+            } else {
+                result = Path.of(arg);
+            }
+        }
+
+        var objectMapper = new ObjectMapper();
+        var results = byKey(objectMapper.readTree(result.toFile()));
+        if (update) {
+            if (results.isEmpty()) {
+                fail("The result " + result + " has no benchmark, the baseline is left unchanged");
+            }
+            Files.copy(result, BASELINE, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline " + BASELINE + " replaced with " + results.size() + " benchmark(s) of " + result);
+            return;
+        }
+
+        if (!Files.exists(BASELINE)) {
+            fail("No baseline at " + BASELINE + ". Record one on this machine with --update and commit it.");
+        }
+        var baselines = byKey(objectMapper.readTree(BASELINE.toFile()));
+        if (baselines.isEmpty()) {
+            fail("The baseline " + BASELINE + " has no benchmark. Record one on this machine with --update and commit it.");
+        }
+
+        var compared = 0;
+        var regressions = 0;
+        for (var entry : results.entrySet()) {
+            var current = entry.getValue();
+            var baseline = baselines.get(entry.getKey());
+            if (baseline == null) {
+                System.out.printf("NEW        %s%n", entry.getKey());
+                continue;
+            }
+            compared++;
+            var scoreRegressed = scoreRegressed(baseline, current, tolerance);
+            var allocationRegressed = allocationRegressed(baseline, current, tolerance);
+            if (scoreRegressed || allocationRegressed) {
+                regressions++;
+            }
+            System.out.printf("%-10s %s: %s -> %s %s, %s -> %s B/op%n",
+                    scoreRegressed || allocationRegressed ? "REGRESSED" : "OK", entry.getKey(),
+                    format(score(baseline)), format(score(current)), current.at("/primaryMetric/scoreUnit").asText(),
+                    format(allocation(baseline)), format(allocation(current)));
+        }
+        baselines.keySet().stream()
+                .filter(key -> !results.containsKey(key))
+                .forEach(key -> System.out.printf("MISSING    %s%n", key));
+
+        if (compared == 0) {
+            fail("None of the " + results.size() + " benchmark(s) of " + result + " is in the baseline " + BASELINE);
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed beyond a tolerance of %.0f%%%n", regressions, tolerance * 100);
+            System.exit(1);
+        }
+        System.out.println("No regression against " + BASELINE);
+    }
+
+    private static void fail(String message) {
+        System.out.println(message);
+        System.exit(1);
+    }
+
+    private static boolean scoreRegressed(JsonNode baseline, JsonNode current, double tolerance) {
+        var margin = score(baseline) * tolerance + scoreError(baseline) + scoreError(current);
+        var higherIsBetter = "thrpt".equals(current.path("mode").asText());
+        return higherIsBetter
+                ? score(current) < score(baseline) - margin
+                : score(current) > score(baseline) + margin;
+    }
+
+    private static boolean allocationRegressed(JsonNode baseline, JsonNode current, double tolerance) {
+        var before = allocation(baseline);
+        var after = allocation(current);
+        return !Double.isNaN(before) && !Double.isNaN(after)
+                && after > before * (1 + tolerance) + ALLOCATION_SLACK_BYTES;
+    }
+
+    private static double score(JsonNode benchmark) {
+        return number(benchmark.at("/primaryMetric/score"));
+    }
+
+    private static double scoreError(JsonNode benchmark) {
+        var error = number(benchmark.at("/primaryMetric/scoreError"));
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static double allocation(JsonNode benchmark) {
+        return number(benchmark.path("secondaryMetrics").path(ALLOCATION).path("score"));
+    }
+
+    private static double number(JsonNode node) {
+        if (node.isNumber()) {
+            return node.asDouble();
+        }
+        return node.isTextual() ? Double.parseDouble(node.asText()) : Double.NaN; // JMH writes "NaN" as a string
+    }
+
+    private static String format(double value) {
+        return Double.isNaN(value) ? "-" : String.format("%.2f", value);
+    }
+
+    /**
+     * Identifies a benchmark by its name, mode, thread count and parameters.
+     */
+    private static Map<String, JsonNode> byKey(JsonNode benchmarks) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (var benchmark : benchmarks) {
+            Map<String, String> params = new TreeMap<>();
+            benchmark.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            var key = benchmark.path("benchmark").asText() + " " + benchmark.path("mode").asText()
+                    + " threads=" + benchmark.path("threads").asInt() + (params.isEmpty() ? "" : " " + params);
+            byKey.put(key, benchmark);
+        }
+        return byKey;
+    }
+}
@@ -0,0 +1,131 @@
+package org.coding.challenge.battleship.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.coding.challenge.battleship.BattleshipApplication;
+import org.coding.challenge.battleship.audit.DisabledAuditJournal;
+import org.coding.challenge.battleship.counter.TurretTestCounter;
+import org.coding.challenge.battleship.dto.RunResponse;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.events.DisabledCalibrationEventPublisher;
+import org.coding.challenge.battleship.history.DisabledRunHistoryRecorder;
+import org.coding.challenge.battleship.metrics.CalibrationMetrics;
+import org.coding.challenge.battleship.pending.PendingSettingSlot;
+import org.coding.challenge.battleship.service.CalibrationService;
+import org.coding.challenge.battleship.service.CalibrationSettingsImpl;
+import org.coding.challenge.battleship.service.RunRecorder;
+import org.coding.challenge.battleship.simulation.DisabledSweepSimulator;
+import org.coding.challenge.battleship.statistics.TurretStatistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Measures CalibrationSettingsImpl.settings followed by run, on one thread.
+ *
+ * The memory backend counts tests in an array and records metrics to no registry, so that only the service
+ * and the pending setting are measured.
+ * The h2 backend is the default application context on an in-memory H2 database, so that the run also pays for
+ * the transaction and the upsert of the test count.
+ * INFO logs are turned off in both cases, as they would measure the console and the log file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalibrationServiceBenchmark {
+
+    @Param({"memory", "h2"})
+    String backend;
+
+    private ConfigurableApplicationContext context;
+    private CalibrationService calibrationService;
+    private SettingsRequest settingsRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("h2".equals(backend)) {
+            context = new SpringApplicationBuilder(BattleshipApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .properties(
+                            "spring.datasource.url=jdbc:h2:mem:calibration-service-benchmark;DB_CLOSE_DELAY=-1",
+                            "spring.jpa.hibernate.ddl-auto=create-drop",
+                            "battleship-calibration.cors.ui=*",
+                            "logging.level.root=WARN")
+                    .run();
+            calibrationService = context.getBean(CalibrationService.class);
+        } else {
+            ((Logger) LoggerFactory.getLogger(CalibrationSettingsImpl.class)).setLevel(Level.WARN);
+            calibrationService = new CalibrationSettingsImpl(new InMemoryTurretTestCounter(), new PendingSettingSlot(),
+                    new CalibrationMetrics(new CompositeMeterRegistry()), new DisabledAuditJournal(false),
+                    new DisabledCalibrationEventPublisher(), runRecorder());
+        }
+        settingsRequest = new SettingsRequest();
+        settingsRequest.setCaliber(110);
+        settingsRequest.setLocation(TurretLocation.Bow);
+        settingsRequest.setRotationStartPoint(20);
+        settingsRequest.setRotationEndPoint(120);
+        settingsRequest.setRotations(3);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public RunResponse settingsThenRun() {
+        calibrationService.settings(settingsRequest);
+        return calibrationService.run();
+    }
+
+    /**
+     * Records runs without simulation, audit, history or events, like the default configuration.
+     */
+    static RunRecorder runRecorder() {
+        return new RunRecorder(new DisabledSweepSimulator(), new DisabledAuditJournal(false),
+                new DisabledRunHistoryRecorder(), new TurretStatistics(60, 12), new DisabledCalibrationEventPublisher());
+    }
+
+    static final class InMemoryTurretTestCounter implements TurretTestCounter {
+
+        private final AtomicIntegerArray counts = new AtomicIntegerArray(TurretLocation.values().length);
+
+        @Override
+        public int increment(TurretLocation turretLocation) {
+            return counts.incrementAndGet(turretLocation.ordinal());
+        }
+
+        @Override
+        public int[] add(int[] numberOfTests) {
+            var totals = new int[numberOfTests.length];
+            for (int ordinal = 0; ordinal < numberOfTests.length; ordinal++) {
+                totals[ordinal] = counts.addAndGet(ordinal, numberOfTests[ordinal]);
+            }
+            return totals;
+        }
+    }
+}
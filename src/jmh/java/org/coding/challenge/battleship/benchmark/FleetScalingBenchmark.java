@@ -0,0 +1,95 @@
+package org.coding.challenge.battleship.benchmark;
+
+import org.coding.challenge.battleship.dto.RunResponse;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.service.FleetCalibrationSettingsImpl;
+import org.coding.challenge.battleship.simulation.DisabledSweepSimulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures a settings call followed by a run on one turret while the rest of the fleet has settings pending,
+ * for fleets from 2 to 100k turrets. The latency per request should stay flat as the fleet grows.
+ *
+ * The test counter is a no-op so that only the pending settings map is measured.
+ * Each thread works on its own turrets, like calibration stations driving different ships.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(2)
+@State(Scope.Benchmark)
+public class FleetScalingBenchmark {
+
+    private static final int TURRETS_PER_SHIP = 4;
+
+    @Param({"2", "100", "10000", "100000"})
+    int turrets;
+
+    private FleetCalibrationSettingsImpl fleetCalibrationService;
+    private String[] shipIds;
+    private String[] turretIds;
+    private SettingsRequest settingsRequest;
+    private final AtomicInteger threadIndexes = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fleetCalibrationService = new FleetCalibrationSettingsImpl(turretKey -> 1, turrets, new DisabledSweepSimulator());
+        settingsRequest = new SettingsRequest();
+        settingsRequest.setCaliber(110);
+        settingsRequest.setLocation(TurretLocation.Bow);
+        settingsRequest.setRotationStartPoint(20);
+        settingsRequest.setRotationEndPoint(120);
+        settingsRequest.setRotations(3);
+
+        shipIds = new String[turrets];
+        turretIds = new String[turrets];
+        for (int i = 0; i < turrets; i++) {
+            shipIds[i] = "ship-" + i / TURRETS_PER_SHIP;
+            turretIds[i] = "turret-" + i % TURRETS_PER_SHIP;
+            fleetCalibrationService.settings(shipIds[i], turretIds[i], settingsRequest);
+        }
+        threadIndexes.set(0);
+    }
+
+    @State(Scope.Thread)
+    public static class Station {
+
+        private int next;
+        private int stride;
+
+        @Setup(Level.Trial)
+        public void setUp(FleetScalingBenchmark fleet) {
+            next = fleet.threadIndexes.getAndIncrement();
+            stride = 2; // @Threads
+        }
+    }
+
+    @Benchmark
+    public RunResponse settingsThenRun(Station station) {
+        var turret = station.next;
+        station.next += station.stride;
+        if (station.next >= turrets) {
+            station.next -= turrets;
+        }
+        fleetCalibrationService.settings(shipIds[turret], turretIds[turret], settingsRequest);
+        return fleetCalibrationService.run(shipIds[turret], turretIds[turret]);
+    }
+}
@@ -0,0 +1,65 @@
+package org.coding.challenge.battleship.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.coding.challenge.battleship.dto.RunResponse;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the snake_case JSON mapping of the calibration endpoints: reading a SettingsRequest body
+ * and writing a RunResponse body, from and to bytes like the HTTP message converters do.
+ * The ObjectMapper is built with the same Spring defaults as the one of the application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonMappingBenchmark {
+
+    private ObjectReader settingsRequestReader;
+    private ObjectWriter runResponseWriter;
+    private byte[] settingsRequestJson;
+    private RunResponse runResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        settingsRequestReader = objectMapper.readerFor(SettingsRequest.class);
+        runResponseWriter = objectMapper.writerFor(RunResponse.class);
+        settingsRequestJson = ("{\"caliber\":110,\"location\":\"Bow\",\"rotation_start_point\":20," +
+                "\"rotation_end_point\":120,\"rotations\":3}").getBytes(StandardCharsets.UTF_8);
+        runResponse = RunResponse.builder()
+                .numberOfTests(42)
+                .distanceInDegrees(300)
+                .build();
+    }
+
+    @Benchmark
+    public SettingsRequest readSettingsRequest() throws IOException {
+        return settingsRequestReader.readValue(settingsRequestJson);
+    }
+
+    @Benchmark
+    public byte[] writeRunResponse() throws IOException {
+        return runResponseWriter.writeValueAsBytes(runResponse);
+    }
+}
@@ -0,0 +1,87 @@
+package org.coding.challenge.battleship.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.coding.challenge.battleship.audit.DisabledAuditJournal;
+import org.coding.challenge.battleship.dto.RunResponse;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.events.DisabledCalibrationEventPublisher;
+import org.coding.challenge.battleship.metrics.CalibrationMetrics;
+import org.coding.challenge.battleship.pending.PendingSettingSlot;
+import org.coding.challenge.battleship.service.CalibrationService;
+import org.coding.challenge.battleship.service.CalibrationSettingsImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the calibration metrics on settings followed by run, on one thread with the in-memory test counter.
+ * The none registry drops every measurement, while the prometheus registry records them with the percentile
+ * histograms of the application. With -prof gc, gc.alloc.rate.norm must be the same for both registries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    @Param({"none", "prometheus"})
+    String registry;
+
+    private CalibrationService calibrationService;
+    private SettingsRequest settingsRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(CalibrationSettingsImpl.class)).setLevel(Level.WARN);
+        MeterRegistry meterRegistry = "prometheus".equals(registry)
+                ? new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)
+                : new CompositeMeterRegistry();
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .build()
+                        .merge(config);
+            }
+        });
+        calibrationService = new CalibrationSettingsImpl(new CalibrationServiceBenchmark.InMemoryTurretTestCounter(),
+                new PendingSettingSlot(), new CalibrationMetrics(meterRegistry), new DisabledAuditJournal(false),
+                new DisabledCalibrationEventPublisher(), CalibrationServiceBenchmark.runRecorder());
+        settingsRequest = new SettingsRequest();
+        settingsRequest.setCaliber(110);
+        settingsRequest.setLocation(TurretLocation.Bow);
+        settingsRequest.setRotationStartPoint(20);
+        settingsRequest.setRotationEndPoint(120);
+        settingsRequest.setRotations(3);
+    }
+
+    @Benchmark
+    public RunResponse settingsThenRun() {
+        calibrationService.settings(settingsRequest);
+        return calibrationService.run();
+    }
+}
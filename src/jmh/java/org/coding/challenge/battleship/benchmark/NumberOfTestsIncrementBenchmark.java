@@ -0,0 +1,89 @@
+package org.coding.challenge.battleship.benchmark;
+
+import org.coding.challenge.battleship.BattleshipApplication;
+import org.coding.challenge.battleship.entity.CalibrationSetting;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.repository.CalibrationSettingsRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the previous find-then-save increment of the test count with the single statement upsert
+ * while 8 threads run the same turret, which is the worst case for lost updates.
+ *
+ * At the end of each trial the count stored in H2 is compared with the number of increments issued,
+ * and the difference is printed as the number of lost increments.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class NumberOfTestsIncrementBenchmark {
+
+    private final AtomicLong increments = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private CalibrationSettingsRepository calibrationSettingsRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BattleshipApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "battleship-calibration.cors.ui=*",
+                        "logging.level.root=WARN")
+                .run();
+        calibrationSettingsRepository = context.getBean(CalibrationSettingsRepository.class);
+        calibrationSettingsRepository.deleteAll();
+        // the row exists up front so that both variants only race on the update
+        calibrationSettingsRepository.save(CalibrationSetting.builder()
+                .turretLocation(TurretLocation.Bow)
+                .numberOfTests(0)
+                .build());
+        increments.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        var stored = calibrationSettingsRepository.findCalibrationSettingByTurretLocation(TurretLocation.Bow)
+                .map(CalibrationSetting::getNumberOfTests)
+                .orElse(0);
+        System.out.printf("%nIncrements issued: %d, stored: %d, lost: %d%n", increments.get(), stored, increments.get() - stored);
+        context.close();
+    }
+
+    @Benchmark
+    public int atomicUpsert() {
+        increments.incrementAndGet();
+        return calibrationSettingsRepository.incrementNumberOfTests(TurretLocation.Bow);
+    }
+
+    @Benchmark
+    public int findThenSave() {
+        increments.incrementAndGet();
+        var calibrationSetting = calibrationSettingsRepository.findCalibrationSettingByTurretLocation(TurretLocation.Bow)
+                .orElseThrow();
+        return calibrationSettingsRepository.save(calibrationSetting.incrementNumberOfTests()).getNumberOfTests();
+    }
+}
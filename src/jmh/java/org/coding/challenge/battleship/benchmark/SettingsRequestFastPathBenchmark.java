@@ -0,0 +1,97 @@
+package org.coding.challenge.battleship.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.coding.challenge.battleship.config.SettingsRequestHttpMessageConverter;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.validation.SettingsRequestValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the decoding and validation of a PUT /calibration/settings body before and after the fast path:
+ * data binding with the ObjectMapper, Bean Validation and the two maps of handleValidationExceptions, against
+ * SettingsRequestHttpMessageConverter and SettingsRequestValidator.
+ * The invalid body breaks three constraints. Run it with -prof gc to compare the bytes allocated per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SettingsRequestFastPathBenchmark {
+
+    @Param({"valid", "invalid"})
+    String body;
+
+    private ObjectReader settingsRequestReader;
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private SettingsRequestHttpMessageConverter converter;
+    private byte[] bodyBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        settingsRequestReader = objectMapper.readerFor(SettingsRequest.class);
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        converter = new SettingsRequestHttpMessageConverter(objectMapper);
+        var json = "valid".equals(body)
+                ? "{\"caliber\":110,\"location\":\"Bow\",\"rotation_start_point\":20,\"rotation_end_point\":120,\"rotations\":3}"
+                : "{\"caliber\":50,\"location\":\"Bow\",\"rotation_start_point\":120,\"rotation_end_point\":20,\"rotations\":0}";
+        bodyBytes = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Map<String, String> dataBindingAndBeanValidation() throws IOException {
+        SettingsRequest settingsRequest = settingsRequestReader.readValue(bodyBytes);
+        var violations = validator.validate(settingsRequest);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        Map<String, String> errors = new HashMap<>();
+        violations.forEach(violation -> {
+            var field = violation.getPropertyPath().toString();
+            if (!field.isEmpty()) {
+                errors.put(field, violation.getMessage());
+            }
+            errors.put("settingsRequest", violation.getMessage());
+        });
+        return errors;
+    }
+
+    @Benchmark
+    public Map<String, String> fastPath() throws IOException {
+        var settingsRequest = converter.read(SettingsRequest.class, new MockHttpInputMessage(bodyBytes));
+        return SettingsRequestValidator.validate(settingsRequest);
+    }
+}
@@ -0,0 +1,83 @@
+package org.coding.challenge.battleship.benchmark;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.validation.RotationEndPointValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the RotationEndPointValidator on its own, and the full Bean Validation of a SettingsRequest
+ * (the @Min/@Max constraints plus the class level constraint) for a valid and an invalid request.
+ * The invalid request breaks three constraints, so it also pays for building the violations and their messages.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SettingsRequestValidationBenchmark {
+
+    private final RotationEndPointValidator rotationEndPointValidator = new RotationEndPointValidator();
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private SettingsRequest validRequest;
+    private SettingsRequest invalidRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validRequest = createSettingsRequest(110, 20, 120, 3);
+        invalidRequest = createSettingsRequest(50, 120, 20, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public boolean rotationEndPointValidator() {
+        return rotationEndPointValidator.isValid(validRequest, null);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<SettingsRequest>> beanValidationOfValidRequest() {
+        return validator.validate(validRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<SettingsRequest>> beanValidationOfInvalidRequest() {
+        return validator.validate(invalidRequest);
+    }
+
+    private static SettingsRequest createSettingsRequest(long caliber, long rotationStartPoint, long rotationEndPoint,
+                                                         int rotations) {
+        var settingsRequest = new SettingsRequest();
+        settingsRequest.setCaliber(caliber);
+        settingsRequest.setLocation(TurretLocation.Bow);
+        settingsRequest.setRotationStartPoint(rotationStartPoint);
+        settingsRequest.setRotationEndPoint(rotationEndPoint);
+        settingsRequest.setRotations(rotations);
+        return settingsRequest;
+    }
+}
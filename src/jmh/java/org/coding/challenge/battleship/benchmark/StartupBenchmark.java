@@ -0,0 +1,158 @@
+package org.coding.challenge.battleship.benchmark;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares the cold start of the default jar with the fast-startup build (AOT bean definitions, CDS archive
+ * and the fast-startup profile), both built by mvn -Pfast-startup package.
+ *
+ * Each iteration starts a new JVM on a free port and an empty H2 database, and polls PUT /calibration/settings
+ * then POST /calibration/run until the run succeeds. It reports the time from the launch of the process to the
+ * first successful run, and the resident set size of the process right after it, read from /proc (Linux only).
+ *
+ * Arguments are --iterations=5, --jar=target/battleship-0.0.1-SNAPSHOT.jar and --cds-directory=target/cds.
+ */
+public class StartupBenchmark {
+
+    private static final String SETTINGS = "{\"caliber\":110,\"location\":\"Bow\",\"rotation_start_point\":20,"
+            + "\"rotation_end_point\":120,\"rotations\":3}";
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    public static void main(String[] args) throws Exception {
+        var iterations = Integer.parseInt(option(args, "iterations", "5"));
+        var jar = Path.of(option(args, "jar", "target/battleship-0.0.1-SNAPSHOT.jar"));
+        var cdsDirectory = Path.of(option(args, "cds-directory", "target/cds"));
+        var extractedJar = cdsDirectory.resolve(jar.getFileName());
+        var archive = cdsDirectory.resolve(jar.getFileName().toString().replaceFirst("\\.jar$", ".jsa"));
+        for (var file : List.of(jar, extractedJar, archive)) {
+            if (!Files.exists(file)) {
+                throw new IllegalStateException(file + " is missing, build it with mvn -Pfast-startup package");
+            }
+        }
+
+        var java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        var builds = List.of(
+                new Build("default", List.of(java, "-jar", jar.toString())),
+                new Build("fast-startup", List.of(java, "-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true",
+                        "-jar", extractedJar.toString(), "--spring.profiles.active=fast-startup")));
+
+        System.out.printf("%-13s %18s %18s %12s%n", "build", "first run ms p50", "first run ms min", "RSS MB p50");
+        for (var build : builds) {
+            start(build, 0); // warms up the page cache, not measured
+            List<Sample> samples = new ArrayList<>(iterations);
+            for (int iteration = 1; iteration <= iterations; iteration++) {
+                samples.add(start(build, iteration));
+            }
+            var millis = samples.stream().mapToLong(Sample::firstRunMillis).sorted().toArray();
+            var rss = samples.stream().mapToLong(Sample::rssKilobytes).sorted().toArray();
+            System.out.printf("%-13s %18d %18d %12.1f%n",
+                    build.name(), millis[millis.length / 2], millis[0], rss[rss.length / 2] / 1024.0);
+        }
+    }
+
+    private static Sample start(Build build, int iteration) throws Exception {
+        var port = freePort();
+        var directory = Files.createTempDirectory("startup-" + build.name() + "-" + iteration);
+        List<String> command = new ArrayList<>(build.command());
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=jdbc:h2:file:" + directory.resolve("battleship"));
+        command.add("--battleship-calibration.audit.directory=" + directory.resolve("audit"));
+        command.add("--battleship-calibration.cors.ui=*");
+        command.add("--logging.level.root=WARN");
+
+        var launched = System.nanoTime();
+        var process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        try (var httpClient = HttpClient.newHttpClient()) {
+            var settings = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/calibration/settings"))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(SETTINGS))
+                    .build();
+            var run = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/calibration/run"))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(build.name() + " exited with " + process.exitValue());
+                }
+                if (System.nanoTime() - launched > TIMEOUT.toNanos()) {
+                    throw new IllegalStateException(build.name() + " did not run within " + TIMEOUT);
+                }
+                try {
+                    if (httpClient.send(settings, HttpResponse.BodyHandlers.discarding()).statusCode() == 202
+                            && httpClient.send(run, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        var firstRunMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launched);
+                        return new Sample(firstRunMillis, rssKilobytes(process.pid()));
+                    }
+                } catch (ConnectException e) {
+                    // not listening yet
+                }
+                Thread.sleep(5);
+            }
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+            delete(directory);
+        }
+    }
+
+    private static long rssKilobytes(long pid) throws IOException {
+        var status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        try (var lines = Files.lines(status)) {
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                    .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                    .findFirst()
+                    .orElse(0);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (var serverSocket = new ServerSocket(0)) {
+            return serverSocket.getLocalPort();
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (var path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        return Arrays.stream(args)
+                .filter(arg -> arg.startsWith("--" + name + "="))
+                .map(arg -> arg.substring(name.length() + 3))
+                .findFirst()
+                .orElse(defaultValue);
+    }
+
+    private record Build(String name, List<String> command) {
+    }
+
+    private record Sample(long firstRunMillis, long rssKilobytes) {
+    }
+}
@@ -0,0 +1,80 @@
+package org.coding.challenge.battleship.benchmark;
+
+import org.coding.challenge.battleship.dto.SweepSimulation;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.pending.PendingSetting;
+import org.coding.challenge.battleship.simulation.TurretSweepSimulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures TurretSweepSimulator.simulateAll on a batch of random settings, over every caliber and rotation range,
+ * with the default profiles and time step, for fork-join pools of 1 to 8 threads.
+ * The time per batch should drop in proportion to the threads, up to the number of cores.
+ * A single setting of the heaviest caliber over 180 degrees is measured too, as the latency a run adds.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SweepSimulationBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    int parallelism;
+
+    @Param({"10000"})
+    int batchSize;
+
+    private TurretSweepSimulator turretSweepSimulator;
+    private List<PendingSetting> pendingSettings;
+    private PendingSetting heaviestSetting;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        turretSweepSimulator = new TurretSweepSimulator(40, 80, 150, 8, 6, 1500, 1, parallelism, 64, 16);
+        var random = new Random(42);
+        pendingSettings = new ArrayList<>(batchSize);
+        for (int index = 0; index < batchSize; index++) {
+            var rotationStartPoint = random.nextInt(180);
+            var rotationEndPoint = rotationStartPoint + 1 + random.nextInt(180 - rotationStartPoint);
+            var rotations = 1 + random.nextInt(10);
+            pendingSettings.add(new PendingSetting(TurretLocation.values()[index % 2],
+                    (long) rotations * (rotationEndPoint - rotationStartPoint), 102 + random.nextInt(349),
+                    rotationStartPoint, rotationEndPoint, rotations));
+        }
+        heaviestSetting = new PendingSetting(TurretLocation.Bow, 180, 450, 0, 180, 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        turretSweepSimulator.close();
+    }
+
+    @Benchmark
+    public List<SweepSimulation> simulateBatch() {
+        return turretSweepSimulator.simulateAll(pendingSettings);
+    }
+
+    @Benchmark
+    public SweepSimulation simulateHeaviestSetting() {
+        return turretSweepSimulator.simulate(heaviestSetting);
+    }
+}
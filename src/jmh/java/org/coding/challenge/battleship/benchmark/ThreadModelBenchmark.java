@@ -0,0 +1,206 @@
+package org.coding.challenge.battleship.benchmark;
+
+import org.coding.challenge.battleship.BattleshipApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares Tomcat on platform threads, Tomcat on virtual threads and WebFlux on Netty,
+ * from 1k to 50k concurrent clients.
+ *
+ * The application is started once per thread model on a random port, with an in-memory H2 database and the
+ * queued settings mode, so that every client can PUT /calibration/settings and then POST /calibration/run
+ * without replacing the setting of another client. Each run goes through the blocking JPA path on Tomcat,
+ * and through R2DBC on Netty. Clients are closed-loop and run on virtual threads in every case,
+ * so only the server side changes.
+ *
+ * Arguments are the numbers of concurrent clients, 1000 5000 10000 50000 by default,
+ * --duration-seconds=20 to change the duration of each step, and --models=platform,virtual to choose the thread
+ * models. The reactive model needs the reactive Maven profile as well: mvn -Pbenchmark,reactive
+ * Every client keeps its own connection, so the open files limit has to be above twice the number of clients.
+ */
+public class ThreadModelBenchmark {
+
+    private static final String SETTINGS = "{\"caliber\":110,\"location\":\"%s\",\"rotation_start_point\":20,"
+            + "\"rotation_end_point\":120,\"rotations\":3}";
+
+    public static void main(String[] args) throws Exception {
+        var duration = Duration.ofSeconds(Arrays.stream(args)
+                .filter(arg -> arg.startsWith("--duration-seconds="))
+                .mapToLong(arg -> Long.parseLong(arg.substring("--duration-seconds=".length())))
+                .findFirst()
+                .orElse(20));
+        var models = Arrays.stream(args)
+                .filter(arg -> arg.startsWith("--models="))
+                .map(arg -> arg.substring("--models=".length()).split(","))
+                .findFirst()
+                .orElse(new String[]{"platform", "virtual"});
+        var clientCounts = Arrays.stream(args)
+                .filter(arg -> !arg.startsWith("--"))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        if (clientCounts.length == 0) {
+            clientCounts = new int[]{1_000, 5_000, 10_000, 50_000};
+        }
+
+        System.out.printf("%-9s %8s %12s %10s %10s %10s %8s%n",
+                "model", "clients", "runs/s", "p50 ms", "p99 ms", "p99.9 ms", "errors");
+        for (var model : models) {
+            try (var context = start(model)) {
+                var port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                drive(port, 100, Duration.ofSeconds(5)); // warm-up
+                for (var clients : clientCounts) {
+                    var result = drive(port, clients, duration);
+                    System.out.printf("%-9s %8d %12.0f %10.2f %10.2f %10.2f %8d%n",
+                            model, clients,
+                            result.runs() / (double) duration.toSeconds(),
+                            result.latencies().percentileMillis(50), result.latencies().percentileMillis(99),
+                            result.latencies().percentileMillis(99.9), result.errors());
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String model) {
+        if (!List.of("platform", "virtual", "reactive").contains(model)) {
+            throw new IllegalArgumentException("Unknown thread model " + model);
+        }
+        return new SpringApplicationBuilder(BattleshipApplication.class)
+                .profiles("reactive".equals(model) ? new String[]{"reactive"} : new String[0])
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + "virtual".equals(model),
+                        "server.tomcat.max-connections=120000",
+                        "server.tomcat.accept-count=10000",
+                        "spring.datasource.url=jdbc:h2:mem:thread-model-" + model + ";DB_CLOSE_DELAY=-1",
+                        "spring.r2dbc.url=r2dbc:h2:mem:///thread-model-" + model + ";DB_CLOSE_DELAY=-1",
+                        "spring.r2dbc.pool.max-size=16",
+                        "spring.datasource.hikari.maximum-pool-size=16",
+                        "spring.datasource.hikari.connection-timeout=30000",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "battleship-calibration.settings.mode=queued",
+                        "battleship-calibration.settings.queue-capacity=131072",
+                        "battleship-calibration.cors.ui=*",
+                        "logging.level.root=WARN")
+                // compares the thread models themselves, so no request is refused by the admission control
+                .run("--battleship-calibration.admission.enabled=false");
+    }
+
+    private static Result drive(int port, int clients, Duration duration) throws Exception {
+        var settingsUri = URI.create("http://localhost:" + port + "/calibration/settings");
+        var runUri = URI.create("http://localhost:" + port + "/calibration/run");
+        var latencies = new LatencyHistogram();
+        var runs = new LongAdder();
+        var errors = new LongAdder();
+        var deadline = System.nanoTime() + duration.toNanos();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor();
+             var httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(executor)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build()) {
+            List<Future<?>> futures = new ArrayList<>(clients);
+            for (int client = 0; client < clients; client++) {
+                var settings = HttpRequest.newBuilder(settingsUri)
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(SETTINGS.formatted(client % 2 == 0 ? "Bow" : "Stern")))
+                        .build();
+                var run = HttpRequest.newBuilder(runUri).POST(HttpRequest.BodyPublishers.noBody()).build();
+                futures.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            if (httpClient.send(settings, HttpResponse.BodyHandlers.discarding()).statusCode() != 202) {
+                                errors.increment();
+                                continue;
+                            }
+                            var start = System.nanoTime();
+                            var status = httpClient.send(run, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status == 200) {
+                                latencies.record(System.nanoTime() - start);
+                                runs.increment();
+                            } else {
+                                errors.increment();
+                            }
+                        } catch (IOException e) {
+                            errors.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        }
+        return new Result(runs.sum(), errors.sum(), latencies);
+    }
+
+    private record Result(long runs, long errors, LatencyHistogram latencies) {
+    }
+
+    /**
+     * Lock-free latency histogram with 16 linear sub-buckets per power of two of microseconds,
+     * which keeps every percentile within 6.25% of the recorded value.
+     */
+    static final class LatencyHistogram {
+
+        private static final int SUB_BUCKET_BITS = 4;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+        private final AtomicLongArray counts = new AtomicLongArray(64 * SUB_BUCKETS);
+
+        void record(long nanos) {
+            counts.incrementAndGet(index(Math.max(1, nanos / 1_000)));
+        }
+
+        double percentileMillis(double percentile) {
+            long total = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                total += counts.get(i);
+            }
+            var rank = (long) Math.ceil(total * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                seen += counts.get(i);
+                if (seen >= rank && seen > 0) {
+                    return highestMicros(i) / 1_000.0;
+                }
+            }
+            return 0;
+        }
+
+        private static int index(long micros) {
+            var exponent = 63 - Long.numberOfLeadingZeros(micros);
+            if (exponent < SUB_BUCKET_BITS) {
+                return (int) micros;
+            }
+            var subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        private static long highestMicros(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            var exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            var subBucket = index % SUB_BUCKETS;
+            var width = 1L << (exponent - SUB_BUCKET_BITS);
+            return (1L << exponent) + (subBucket + 1) * width - 1;
+        }
+    }
+}
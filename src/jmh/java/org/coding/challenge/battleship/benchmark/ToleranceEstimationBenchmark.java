@@ -0,0 +1,69 @@
+package org.coding.challenge.battleship.benchmark;
+
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.dto.ToleranceEstimate;
+import org.coding.challenge.battleship.dto.ToleranceRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.simulation.ToleranceEstimator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a Monte Carlo tolerance estimation of 10 million samples, for fork-join pools of 1 to 8 threads.
+ * The target is well under a second with 8 threads on 8 cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ToleranceEstimationBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    int parallelism;
+
+    @Param({"10000000"})
+    long samples;
+
+    private ToleranceEstimator toleranceEstimator;
+    private ToleranceRequest toleranceRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        toleranceEstimator = new ToleranceEstimator(parallelism);
+        var settingsRequest = new SettingsRequest();
+        settingsRequest.setCaliber(300);
+        settingsRequest.setLocation(TurretLocation.Bow);
+        settingsRequest.setRotationStartPoint(20);
+        settingsRequest.setRotationEndPoint(120);
+        settingsRequest.setRotations(3);
+        toleranceRequest = new ToleranceRequest();
+        toleranceRequest.setSettings(settingsRequest);
+        toleranceRequest.setSamples(samples);
+        toleranceRequest.setSeed(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        toleranceEstimator.close();
+    }
+
+    @Benchmark
+    public ToleranceEstimate estimate() {
+        return toleranceEstimator.estimate(toleranceRequest);
+    }
+}
@@ -0,0 +1,100 @@
+package org.coding.challenge.battleship.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.coding.challenge.battleship.dto.RunResponse;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares JSON with CBOR and Smile for the bodies of the calibration endpoints: reading a SettingsRequest,
+ * writing a RunResponse and writing the error map of an invalid setting.
+ * The mappers are built like the message converters of the application, and the size of each body
+ * is printed once per format before the measurements.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    String format;
+
+    private ObjectReader settingsRequestReader;
+    private ObjectWriter runResponseWriter;
+    private ObjectWriter errorsWriter;
+    private byte[] settingsRequestBytes;
+    private RunResponse runResponse;
+    private Map<String, String> errors;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        JsonFactory jsonFactory = switch (format) {
+            case "json" -> new JsonFactory();
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().factory(jsonFactory).build();
+        settingsRequestReader = objectMapper.readerFor(SettingsRequest.class);
+        runResponseWriter = objectMapper.writerFor(RunResponse.class);
+        errorsWriter = objectMapper.writerFor(Map.class);
+
+        var settingsRequest = new SettingsRequest();
+        settingsRequest.setCaliber(110);
+        settingsRequest.setLocation(TurretLocation.Bow);
+        settingsRequest.setRotationStartPoint(20);
+        settingsRequest.setRotationEndPoint(120);
+        settingsRequest.setRotations(3);
+        settingsRequestBytes = objectMapper.writeValueAsBytes(settingsRequest);
+        runResponse = RunResponse.builder()
+                .numberOfTests(42)
+                .distanceInDegrees(300)
+                .build();
+        errors = Map.of("caliber", "Minimum value of caliber is 102",
+                "settingsRequest", "Minimum value of caliber is 102");
+
+        System.out.printf("%n%s bytes: settings request %d, run response %d, errors %d%n", format,
+                settingsRequestBytes.length, runResponseWriter.writeValueAsBytes(runResponse).length,
+                errorsWriter.writeValueAsBytes(errors).length);
+    }
+
+    @Benchmark
+    public SettingsRequest readSettingsRequest() throws IOException {
+        return settingsRequestReader.readValue(settingsRequestBytes);
+    }
+
+    @Benchmark
+    public byte[] writeRunResponse() throws IOException {
+        return runResponseWriter.writeValueAsBytes(runResponse);
+    }
+
+    @Benchmark
+    public byte[] writeErrors() throws IOException {
+        return errorsWriter.writeValueAsBytes(errors);
+    }
+}
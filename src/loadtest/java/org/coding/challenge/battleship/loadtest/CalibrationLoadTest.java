@@ -0,0 +1,291 @@
+package org.coding.challenge.battleship.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.coding.challenge.battleship.BattleshipApplication;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays the traffic of the calibration stations, a PUT /calibration/settings followed by a POST /calibration/run,
+ * against the application started on a random port with its H2 file database under target/loadtest.
+ *
+ * Sessions are started in open loop: session i is due at start + i / rate, whatever happened to the previous ones,
+ * and runs on its own virtual thread. Latencies are measured from the time a session was due rather than from the
+ * time it was sent, so a slow server shows up in the percentiles instead of slowing the load down
+ * (coordinated omission). The run latency is measured from the end of its settings call.
+ *
+ * Options:
+ * --rate=200 sessions per second, --duration=60 and --warmup=10 seconds, --mix=Bow:1,Stern:1 turret weights,
+ * --max-in-flight=10000 sessions before new ones are dropped and counted as errors,
+ * --output=target/loadtest-result.json.
+ * Any other --name=value argument is passed to the application, e.g. --battleship-calibration.settings.mode=queued.
+ */
+public class CalibrationLoadTest {
+
+    private static final String SETTINGS = "{\"caliber\":110,\"location\":\"%s\",\"rotation_start_point\":20,"
+            + "\"rotation_end_point\":120,\"rotations\":3}";
+
+    private final Options options;
+    private final HttpRequest[] settingsRequests = new HttpRequest[TurretLocation.values().length];
+    private final HttpRequest runRequest;
+    private final Histogram settingsLatency = new ConcurrentHistogram(3);
+    private final Histogram runLatency = new ConcurrentHistogram(3);
+    private final Histogram sessionLatency = new ConcurrentHistogram(3);
+    private final LongAdder sessions = new LongAdder();
+    private final LongAdder completedSessions = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    CalibrationLoadTest(int port, Options options) {
+        this.options = options;
+        for (var turretLocation : TurretLocation.values()) {
+            settingsRequests[turretLocation.ordinal()] = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/calibration/settings"))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(SETTINGS.formatted(turretLocation.name())))
+                    .build();
+        }
+        runRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/calibration/run"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        var options = Options.parse(args);
+        Map<String, Object> result;
+        try (var context = start(options.applicationArgs())) {
+            var port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            result = new CalibrationLoadTest(port, options).run();
+        }
+        var json = new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(result);
+        Files.createDirectories(options.output().toAbsolutePath().getParent());
+        Files.writeString(options.output(), json);
+        System.out.println(json);
+    }
+
+    private static ConfigurableApplicationContext start(String[] applicationArgs) {
+        return new SpringApplicationBuilder(BattleshipApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:file:./target/loadtest/battleship",
+                        "battleship-calibration.counter.journal-path=./target/loadtest/turret-test-counter.journal",
+                        "battleship-calibration.cors.ui=*",
+                        "logging.level.root=WARN")
+                .run(applicationArgs);
+    }
+
+    Map<String, Object> run() {
+        var random = new SplittableRandom(42);
+        var intervalNanos = 1e9 / options.rate();
+        var start = System.nanoTime();
+        var measureFrom = start + options.warmup().toNanos();
+        var end = measureFrom + options.duration().toNanos();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor();
+             var httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(executor)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build()) {
+            for (long session = 0; ; session++) {
+                var due = start + (long) (session * intervalNanos);
+                if (due >= end) {
+                    break;
+                }
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                var measured = due >= measureFrom;
+                var turretLocation = options.pickTurret(random.nextDouble());
+                if (measured) {
+                    sessions.increment();
+                }
+                if (inFlight.get() >= options.maxInFlight()) {
+                    if (measured) {
+                        error("dropped");
+                    }
+                    continue;
+                }
+                inFlight.incrementAndGet();
+                executor.execute(() -> runSession(httpClient, turretLocation, due, measured));
+            }
+        }
+        return result();
+    }
+
+    private void runSession(HttpClient httpClient, TurretLocation turretLocation, long due, boolean measured) {
+        var step = "settings";
+        try {
+            var status = httpClient.send(settingsRequests[turretLocation.ordinal()],
+                    HttpResponse.BodyHandlers.discarding()).statusCode();
+            var settingsDone = System.nanoTime();
+            if (measured) {
+                settingsLatency.recordValue(settingsDone - due);
+            }
+            if (status != 202) {
+                if (measured) {
+                    error(step + " " + status);
+                }
+                return;
+            }
+
+            step = "run";
+            status = httpClient.send(runRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+            var runDone = System.nanoTime();
+            if (!measured) {
+                return;
+            }
+            runLatency.recordValue(runDone - settingsDone);
+            sessionLatency.recordValue(runDone - due);
+            if (status == 200) {
+                completedSessions.increment();
+            } else {
+                error(step + " " + status);
+            }
+        } catch (IOException e) {
+            if (measured) {
+                error(step + " " + e.getClass().getSimpleName());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void error(String kind) {
+        errors.computeIfAbsent(kind, k -> new LongAdder()).increment();
+    }
+
+    private Map<String, Object> result() {
+        var seconds = options.duration().toNanos() / 1e9;
+        var errorCount = errors.values().stream().mapToLong(LongAdder::sum).sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rate_per_second", options.rate());
+        result.put("duration_seconds", seconds);
+        result.put("warmup_seconds", options.warmup().toNanos() / 1e9);
+        result.put("turret_mix", options.mix());
+        result.put("sessions", sessions.sum());
+        result.put("completed_sessions", completedSessions.sum());
+        result.put("throughput_per_second", completedSessions.sum() / seconds);
+        result.put("error_rate", sessions.sum() == 0 ? 0 : (double) errorCount / sessions.sum());
+        Map<String, Long> errorsByKind = new TreeMap<>();
+        errors.forEach((kind, count) -> errorsByKind.put(kind, count.sum()));
+        result.put("errors", errorsByKind);
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("settings", percentiles(settingsLatency));
+        latency.put("run", percentiles(runLatency));
+        latency.put("session", percentiles(sessionLatency));
+        result.put("latency_ms", latency);
+        return result;
+    }
+
+    private static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        percentiles.put("count", histogram.getTotalCount());
+        percentiles.put("mean", histogram.getMean() / 1e6);
+        for (var percentile : new double[]{50, 90, 99, 99.9, 99.99}) {
+            percentiles.put("p" + String.valueOf(percentile).replace(".0", "").replace('.', '_'),
+                    histogram.getValueAtPercentile(percentile) / 1e6);
+        }
+        percentiles.put("max", histogram.getMaxValue() / 1e6);
+        return percentiles;
+    }
+
+    record Options(double rate, Duration duration, Duration warmup, Map<TurretLocation, Double> mix,
+                   int maxInFlight, Path output, String[] applicationArgs) {
+
+        static Options parse(String[] args) {
+            var rate = 200.0;
+            var duration = Duration.ofSeconds(60);
+            var warmup = Duration.ofSeconds(10);
+            var mix = "Bow:1,Stern:1";
+            var maxInFlight = 10_000;
+            var output = Path.of("target/loadtest-result.json");
+            List<String> applicationArgs = new ArrayList<>();
+            for (var arg : args) {
+                var separator = arg.indexOf('=');
+                if (!arg.startsWith("--") || separator < 0) {
+                    throw new IllegalArgumentException("Arguments must be --name=value: " + arg);
+                }
+                var value = arg.substring(separator + 1);
+                switch (arg.substring(2, separator)) {
+                    case "rate" -> rate = Double.parseDouble(value);
+                    case "duration" -> duration = Duration.ofSeconds(Long.parseLong(value));
+                    case "warmup" -> warmup = Duration.ofSeconds(Long.parseLong(value));
+                    case "mix" -> mix = value;
+                    case "max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                    case "output" -> output = Path.of(value);
+                    default -> applicationArgs.add(arg);
+                }
+            }
+            if (rate <= 0 || duration.isZero() || duration.isNegative() || warmup.isNegative() || maxInFlight < 1) {
+                throw new IllegalArgumentException("rate, duration and max-in-flight must be positive");
+            }
+            return new Options(rate, duration, warmup, parseMix(mix), maxInFlight, output,
+                    applicationArgs.toArray(String[]::new));
+        }
+
+        /**
+         * @param mix turret weights, e.g. Bow:3,Stern:1
+         * @return the share of each turret, adding up to 1
+         */
+        private static Map<TurretLocation, Double> parseMix(String mix) {
+            Map<TurretLocation, Double> weights = new EnumMap<>(TurretLocation.class);
+            for (var entry : mix.split(",")) {
+                var parts = entry.split(":");
+                var weight = parts.length > 1 ? Double.parseDouble(parts[1]) : 1;
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Turret weights must not be negative: " + mix);
+                }
+                weights.merge(TurretLocation.valueOf(parts[0].trim()), weight, Double::sum);
+            }
+            var total = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+            if (total <= 0) {
+                throw new IllegalArgumentException("At least one turret weight must be positive: " + mix);
+            }
+            weights.replaceAll((turretLocation, weight) -> weight / total);
+            return weights;
+        }
+
+        TurretLocation pickTurret(double uniform) {
+            TurretLocation picked = null;
+            var cumulative = 0.0;
+            for (var entry : mix.entrySet()) {
+                if (entry.getValue() > 0) {
+                    picked = entry.getKey();
+                    cumulative += entry.getValue();
+                    if (uniform < cumulative) {
+                        break;
+                    }
+                }
+            }
+            return picked;
+        }
+    }
+}
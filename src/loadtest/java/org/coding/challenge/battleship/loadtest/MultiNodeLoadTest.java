@@ -0,0 +1,238 @@
+package org.coding.challenge.battleship.loadtest;
+
+import org.coding.challenge.battleship.BattleshipApplication;
+import org.h2.tools.Server;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shows how the shared settings mode scales out: for 1, 2 and 4 instances of the application on one H2 server,
+ * each with the same number of request threads, it measures the throughput of PUT /calibration/settings
+ * followed by POST /calibration/run, with every run sent to another instance than its settings.
+ *
+ * Every round starts an empty database on an H2 TCP server running in this JVM, then the instances with the
+ * multi-node profile, one after the other so only one of them creates the tables. Clients run in closed loop,
+ * a fixed number per instance. After the round, it checks against the database that each setting was run
+ * at most once: the test counts add up to the successful runs, and the pending rows to the settings never run.
+ *
+ * Throughput grows linearly with the instances as long as the machine has cores for them and the H2 server
+ * is not saturated; the efficiency column is the throughput per instance relative to one instance.
+ *
+ * Options:
+ * --nodes=1,2,4, --duration=30 and --warmup=10 seconds per round, --node-threads=8 Tomcat threads per instance,
+ * --clients-per-node=16, --directory=target/multi-node for the databases and audit journals.
+ * Any other --name=value argument is passed to every instance.
+ */
+public class MultiNodeLoadTest {
+
+    private static final String SETTINGS = "{\"caliber\":110,\"location\":\"%s\",\"rotation_start_point\":20,"
+            + "\"rotation_end_point\":120,\"rotations\":3}";
+    private static final String[] LOCATIONS = {"Bow", "Stern"};
+
+    public static void main(String[] args) throws Exception {
+        var nodeCounts = new ArrayList<Integer>();
+        var duration = Duration.ofSeconds(30);
+        var warmup = Duration.ofSeconds(10);
+        var nodeThreads = 8;
+        var clientsPerNode = 16;
+        var directory = Path.of("target/multi-node");
+        List<String> applicationArgs = new ArrayList<>();
+        for (var arg : args) {
+            var separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Arguments must be --name=value: " + arg);
+            }
+            var value = arg.substring(separator + 1);
+            switch (arg.substring(2, separator)) {
+                case "nodes" -> Arrays.stream(value.split(",")).map(String::trim).map(Integer::valueOf).forEach(nodeCounts::add);
+                case "duration" -> duration = Duration.ofSeconds(Long.parseLong(value));
+                case "warmup" -> warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "node-threads" -> nodeThreads = Integer.parseInt(value);
+                case "clients-per-node" -> clientsPerNode = Integer.parseInt(value);
+                case "directory" -> directory = Path.of(value);
+                default -> applicationArgs.add(arg);
+            }
+        }
+        if (nodeCounts.isEmpty()) {
+            nodeCounts.addAll(List.of(1, 2, 4));
+        }
+        if (duration.isZero() || duration.isNegative() || warmup.isNegative() || nodeThreads < 1 || clientsPerNode < 1
+                || nodeCounts.stream().anyMatch(nodes -> nodes < 1)) {
+            throw new IllegalArgumentException("nodes, duration, node-threads and clients-per-node must be positive");
+        }
+        Files.createDirectories(directory);
+
+        var server = Server.createTcpServer("-tcpPort", String.valueOf(freePort()), "-ifNotExists",
+                "-baseDir", directory.toAbsolutePath().toString()).start();
+        try {
+            System.out.printf("%5s %12s %12s %10s %10s %16s%n",
+                    "nodes", "runs/s", "runs/s/node", "speedup", "efficiency", "failed sessions");
+            double baseline = 0;
+            for (var nodes : nodeCounts) {
+                var round = new Round(nodes, server.getPort(), directory.toAbsolutePath().resolve("round-" + nodes),
+                        nodeThreads, clientsPerNode, applicationArgs);
+                var throughput = round.run(warmup, duration);
+                if (baseline == 0) {
+                    baseline = throughput / nodes;
+                }
+                System.out.printf("%5d %12.1f %12.1f %10.2f %9.0f%% %16d%n", nodes, throughput, throughput / nodes,
+                        throughput / baseline, 100 * throughput / nodes / baseline, round.failedSessions.sum());
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (var serverSocket = new ServerSocket(0)) {
+            return serverSocket.getLocalPort();
+        }
+    }
+
+    private static final class Round {
+
+        private final int nodes;
+        private final int clientsPerNode;
+        private final String jdbcUrl;
+        private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+        private final HttpRequest[][] settingsRequests; // [node][turret]
+        private final HttpRequest[] runRequests;
+        private final LongAdder acceptedSettings = new LongAdder();
+        private final LongAdder successfulRuns = new LongAdder();
+        private final LongAdder measuredRuns = new LongAdder();
+        private final LongAdder failedSessions = new LongAdder();
+
+        Round(int nodes, int h2Port, Path directory, int nodeThreads, int clientsPerNode,
+              List<String> applicationArgs) throws IOException {
+            this.nodes = nodes;
+            this.clientsPerNode = clientsPerNode;
+            var database = "round-" + nodes + "-" + System.currentTimeMillis();
+            this.jdbcUrl = "jdbc:h2:tcp://localhost:" + h2Port + "/" + database;
+            this.settingsRequests = new HttpRequest[nodes][LOCATIONS.length];
+            this.runRequests = new HttpRequest[nodes];
+            Files.createDirectories(directory);
+            for (int node = 0; node < nodes; node++) {
+                // command line arguments, so they take precedence over the multi-node profile
+                List<String> args = new ArrayList<>(List.of(
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=" + nodeThreads,
+                        "--spring.datasource.url=" + jdbcUrl,
+                        "--spring.datasource.hikari.maximum-pool-size=" + nodeThreads,
+                        "--battleship-calibration.audit.directory=" + directory.resolve("audit-" + node),
+                        "--battleship-calibration.settings.queue-capacity=1000000",
+                        "--battleship-calibration.cors.ui=*",
+                        "--logging.level.root=WARN"));
+                args.addAll(applicationArgs);
+                var context = new SpringApplicationBuilder(BattleshipApplication.class)
+                        .profiles("multi-node")
+                        .run(args.toArray(String[]::new));
+                contexts.add(context);
+                var port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                for (int turret = 0; turret < LOCATIONS.length; turret++) {
+                    settingsRequests[node][turret] = HttpRequest.newBuilder(
+                                    URI.create("http://localhost:" + port + "/calibration/settings"))
+                            .header("Content-Type", "application/json")
+                            .PUT(HttpRequest.BodyPublishers.ofString(SETTINGS.formatted(LOCATIONS[turret])))
+                            .build();
+                }
+                runRequests[node] = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/calibration/run"))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build();
+            }
+        }
+
+        /**
+         * @return successful runs per second after the warmup
+         */
+        double run(Duration warmup, Duration duration) throws Exception {
+            try {
+                var start = System.nanoTime();
+                var measureFrom = start + warmup.toNanos();
+                var end = measureFrom + duration.toNanos();
+                try (var executor = Executors.newVirtualThreadPerTaskExecutor();
+                     var httpClient = HttpClient.newBuilder()
+                             .version(HttpClient.Version.HTTP_1_1)
+                             .executor(executor)
+                             .connectTimeout(Duration.ofSeconds(10))
+                             .build()) {
+                    for (int client = 0; client < nodes * clientsPerNode; client++) {
+                        var settingsNode = client % nodes;
+                        var runNode = (client + 1) % nodes;
+                        var turret = client % LOCATIONS.length;
+                        executor.execute(() -> runSessions(httpClient, settingsNode, runNode, turret, measureFrom, end));
+                    }
+                }
+                verifyConsumedOnce();
+                return measuredRuns.sum() / (duration.toNanos() / 1e9);
+            } finally {
+                contexts.forEach(ConfigurableApplicationContext::close);
+            }
+        }
+
+        private void runSessions(HttpClient httpClient, int settingsNode, int runNode, int turret,
+                                 long measureFrom, long end) {
+            long now;
+            while ((now = System.nanoTime()) < end) {
+                try {
+                    if (httpClient.send(settingsRequests[settingsNode][turret],
+                            HttpResponse.BodyHandlers.discarding()).statusCode() != 202) {
+                        failedSessions.increment();
+                        continue;
+                    }
+                    acceptedSettings.increment();
+                    if (httpClient.send(runRequests[runNode], HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                        failedSessions.increment();
+                        continue;
+                    }
+                    successfulRuns.increment();
+                    if (now >= measureFrom) {
+                        measuredRuns.increment();
+                    }
+                } catch (IOException e) {
+                    failedSessions.increment();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private void verifyConsumedOnce() throws SQLException {
+            try (var connection = DriverManager.getConnection(jdbcUrl, "sa", "");
+                 var statement = connection.createStatement()) {
+                long numberOfTests;
+                long pendingSettings;
+                try (var resultSet = statement.executeQuery("SELECT COALESCE(SUM(NUMBER_OF_TESTS), 0) FROM CALIBRATION_SETTING")) {
+                    resultSet.next();
+                    numberOfTests = resultSet.getLong(1);
+                }
+                try (var resultSet = statement.executeQuery("SELECT COUNT(*) FROM PENDING_SETTING")) {
+                    resultSet.next();
+                    pendingSettings = resultSet.getLong(1);
+                }
+                if (numberOfTests != successfulRuns.sum() || pendingSettings != acceptedSettings.sum() - numberOfTests) {
+                    throw new IllegalStateException(("%d instances: %d tests counted for %d successful runs, "
+                            + "%d settings pending out of %d accepted").formatted(nodes, numberOfTests,
+                            successfulRuns.sum(), pendingSettings, acceptedSettings.sum()));
+                }
+            }
+        }
+    }
+}
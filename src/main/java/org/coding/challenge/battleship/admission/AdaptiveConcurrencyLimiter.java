@@ -0,0 +1,111 @@
+package org.coding.challenge.battleship.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global limit of concurrent requests, adapted to their latency by additive increase and multiplicative decrease.
+ *
+ * A request slower than the target latency shrinks the limit by 10%, at most once per target latency so that the
+ * requests already in flight during an overload only count once. Faster requests grow the limit by about one
+ * per limit requests, but only while at least half of the limit is in use, so an idle service does not drift
+ * up to the maximum. The limit stays between the minimum and maximum concurrency.
+ *
+ * Requests over the limit are refused rather than queued. Everything is compare-and-set on atomics, and the
+ * limit is kept in 1/1024 units so that the additive increase does not need a lock either.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int SCALE = 1024;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong scaledLimit = new AtomicLong();
+    private final AtomicLong lastDecreaseNanos = new AtomicLong(System.nanoTime());
+    private volatile Bounds bounds;
+
+    public AdaptiveConcurrencyLimiter(int initialConcurrency, int minConcurrency, int maxConcurrency,
+                                      long targetLatencyMillis) {
+        update(minConcurrency, maxConcurrency, targetLatencyMillis);
+        scaledLimit.set((long) Math.clamp(initialConcurrency, minConcurrency, maxConcurrency) * SCALE);
+    }
+
+    /**
+     * Changes the bounds and target latency, and brings the current limit within the new bounds.
+     */
+    public void update(int minConcurrency, int maxConcurrency, long targetLatencyMillis) {
+        if (minConcurrency < 1 || maxConcurrency < minConcurrency || targetLatencyMillis < 1) {
+            throw new IllegalArgumentException(
+                    "Concurrency must be 1 <= min <= max, and the target latency at least 1 ms");
+        }
+        var bounds = new Bounds(minConcurrency, maxConcurrency, targetLatencyMillis * 1_000_000);
+        this.bounds = bounds;
+        scaledLimit.updateAndGet(limit -> clamp(limit, bounds));
+    }
+
+    /**
+     * @return true if the request is admitted, and must then be released
+     */
+    public boolean tryAcquire() {
+        var limit = limit();
+        var current = inFlight.get();
+        while (current < limit) {
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = inFlight.get();
+        }
+        return false;
+    }
+
+    /**
+     * Releases an admitted request without adjusting the limit.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Releases an admitted request and adjusts the limit to its latency.
+     */
+    public void release(long latencyNanos, long nowNanos) {
+        var bounds = this.bounds;
+        var current = inFlight.getAndDecrement();
+        if (latencyNanos > bounds.targetLatencyNanos()) {
+            var lastDecrease = lastDecreaseNanos.get();
+            if (nowNanos - lastDecrease >= bounds.targetLatencyNanos()
+                    && lastDecreaseNanos.compareAndSet(lastDecrease, nowNanos)) {
+                scaledLimit.updateAndGet(limit -> clamp((long) (limit * BACKOFF_RATIO), bounds));
+            }
+        } else if (2 * current >= limit()) {
+            scaledLimit.updateAndGet(limit -> clamp(limit + SCALE * SCALE / Math.max(SCALE, limit), bounds));
+        }
+    }
+
+    public int limit() {
+        return (int) (scaledLimit.get() / SCALE);
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public int minConcurrency() {
+        return bounds.minConcurrency();
+    }
+
+    public int maxConcurrency() {
+        return bounds.maxConcurrency();
+    }
+
+    public long targetLatencyMillis() {
+        return bounds.targetLatencyNanos() / 1_000_000;
+    }
+
+    private static long clamp(long scaledLimit, Bounds bounds) {
+        return Math.clamp(scaledLimit, (long) bounds.minConcurrency() * SCALE, (long) bounds.maxConcurrency() * SCALE);
+    }
+
+    private record Bounds(int minConcurrency, int maxConcurrency, long targetLatencyNanos) {
+    }
+}
@@ -0,0 +1,125 @@
+package org.coding.challenge.battleship.admission;
+
+import org.coding.challenge.battleship.dto.AdmissionLimits;
+import org.coding.challenge.battleship.dto.AdmissionStats;
+import org.coding.challenge.battleship.enums.TurretLocation;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides which calibration requests get in, before their body is read: first the rate of the turret that sent
+ * the request, if it named one, then the adaptive concurrency limit shared by every request.
+ * See {@link TurretRateLimiter} and {@link AdaptiveConcurrencyLimiter}.
+ */
+public class AdmissionControl {
+
+    private static final TurretLocation[] TURRET_LOCATIONS = TurretLocation.values();
+
+    private final TurretRateLimiter turretRateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final LongAdder[] rejectedByTurretRate = new LongAdder[TURRET_LOCATIONS.length];
+    private final LongAdder rejectedByConcurrency = new LongAdder();
+
+    public AdmissionControl(TurretRateLimiter turretRateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.turretRateLimiter = turretRateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        for (int index = 0; index < rejectedByTurretRate.length; index++) {
+            rejectedByTurretRate[index] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param turretLocation turret that sent the request, or null if it is unknown
+     * @return 0 if the turret is within its rate, otherwise the nanoseconds until it can send again
+     */
+    public long acquireTurret(TurretLocation turretLocation, long nowNanos) {
+        if (turretLocation == null) {
+            return 0;
+        }
+        var waitNanos = turretRateLimiter.tryAcquire(turretLocation, nowNanos);
+        if (waitNanos > 0) {
+            rejectedByTurretRate[turretLocation.ordinal()].increment();
+        }
+        return waitNanos;
+    }
+
+    /**
+     * @return true if the request is admitted, and must then be released
+     */
+    public boolean acquireConcurrency() {
+        if (concurrencyLimiter.tryAcquire()) {
+            return true;
+        }
+        rejectedByConcurrency.increment();
+        return false;
+    }
+
+    /**
+     * @param latencyNanos latency of a run, which adjusts the concurrency limit, or -1 for any other request
+     */
+    public void release(long latencyNanos, long nowNanos) {
+        if (latencyNanos < 0) {
+            concurrencyLimiter.release();
+        } else {
+            concurrencyLimiter.release(latencyNanos, nowNanos);
+        }
+    }
+
+    /**
+     * Replaces every limit at once; the buckets and the current concurrency limit are kept.
+     * @throws IllegalArgumentException if a limit is out of range, in which case nothing changes
+     */
+    public synchronized void update(AdmissionLimits admissionLimits) {
+        var ratePerSecond = admissionLimits.getTurretRatePerSecond();
+        if (!(ratePerSecond >= 0) || Double.isInfinite(ratePerSecond) || admissionLimits.getTurretBurst() < 1) {
+            throw new IllegalArgumentException("turret_rate_per_second must be a finite number >= 0 and turret_burst at least 1");
+        }
+        if (admissionLimits.getMinConcurrency() < 1 || admissionLimits.getMaxConcurrency() < admissionLimits.getMinConcurrency()) {
+            throw new IllegalArgumentException("min_concurrency must be at least 1 and max_concurrency at least min_concurrency");
+        }
+        if (admissionLimits.getTargetLatencyMs() < 1) {
+            throw new IllegalArgumentException("target_latency_ms must be at least 1");
+        }
+        turretRateLimiter.update(ratePerSecond, admissionLimits.getTurretBurst());
+        concurrencyLimiter.update(admissionLimits.getMinConcurrency(), admissionLimits.getMaxConcurrency(),
+                admissionLimits.getTargetLatencyMs());
+    }
+
+    public AdmissionLimits limits() {
+        return new AdmissionLimits(turretRateLimiter.ratePerSecond(), turretRateLimiter.burst(),
+                concurrencyLimiter.minConcurrency(), concurrencyLimiter.maxConcurrency(),
+                concurrencyLimiter.targetLatencyMillis());
+    }
+
+    public AdmissionStats stats() {
+        Map<TurretLocation, Long> rejected = new EnumMap<>(TurretLocation.class);
+        for (var turretLocation : TURRET_LOCATIONS) {
+            rejected.put(turretLocation, rejectedByTurretRate(turretLocation));
+        }
+        return AdmissionStats.builder()
+                .limits(limits())
+                .concurrencyLimit(concurrencyLimiter.limit())
+                .inFlight(concurrencyLimiter.inFlight())
+                .rejectedByTurretRate(rejected)
+                .rejectedByConcurrency(rejectedByConcurrency())
+                .build();
+    }
+
+    public long rejectedByTurretRate(TurretLocation turretLocation) {
+        return rejectedByTurretRate[turretLocation.ordinal()].sum();
+    }
+
+    public long rejectedByConcurrency() {
+        return rejectedByConcurrency.sum();
+    }
+
+    public int concurrencyLimit() {
+        return concurrencyLimiter.limit();
+    }
+
+    public int inFlight() {
+        return concurrencyLimiter.inFlight();
+    }
+}
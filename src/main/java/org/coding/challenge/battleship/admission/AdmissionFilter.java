@@ -0,0 +1,108 @@
+package org.coding.challenge.battleship.admission;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Admission control of PUT /calibration/settings and POST /calibration/run (and /run/pending, /run/batch),
+ * in front of the DispatcherServlet. A refused request is answered with 429, a Retry-After header and a
+ * prebuilt error body, before its body is read and before any binding, validation or database access.
+ *
+ * A sweep script names its turret with the X-Turret-Location header (Bow or Stern) to get a rate of its own,
+ * so a flooding turret is refused without slowing down the other one. Requests without it, or with an unknown
+ * turret, only go through the concurrency limit. Only the latency of POST /calibration/run adjusts that limit.
+ */
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    public static final String TURRET_HEADER = "X-Turret-Location";
+
+    private static final TurretLocation[] TURRET_LOCATIONS = TurretLocation.values();
+    private static final String SETTINGS_PATH = "/calibration/settings";
+    private static final String RUN_PATH = "/calibration/run";
+    private static final byte[] OVERLOADED = error("Calibration is overloaded. Please retry later.");
+    private static final byte[][] TURRET_RATE_EXCEEDED = new byte[TURRET_LOCATIONS.length][];
+
+    static {
+        for (var turretLocation : TURRET_LOCATIONS) {
+            TURRET_RATE_EXCEEDED[turretLocation.ordinal()] =
+                    error("Too many calibration requests for turret " + turretLocation + ". Please retry later.");
+        }
+    }
+
+    private final AdmissionControl admissionControl;
+
+    public AdmissionFilter(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        var path = path(request);
+        return switch (request.getMethod()) {
+            case "PUT" -> !path.equals(SETTINGS_PATH);
+            case "POST" -> !path.startsWith(RUN_PATH)
+                    || path.length() > RUN_PATH.length() && path.charAt(RUN_PATH.length()) != '/';
+            default -> true;
+        };
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var start = System.nanoTime();
+        var turretLocation = turretLocation(request.getHeader(TURRET_HEADER));
+        var waitNanos = admissionControl.acquireTurret(turretLocation, start);
+        if (waitNanos > 0) {
+            reject(response, TURRET_RATE_EXCEEDED[turretLocation.ordinal()], (waitNanos + 999_999_999) / 1_000_000_000);
+            return;
+        }
+        if (!admissionControl.acquireConcurrency()) {
+            reject(response, OVERLOADED, 1);
+            return;
+        }
+        var run = path(request).equals(RUN_PATH);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            var end = System.nanoTime();
+            admissionControl.release(run ? end - start : -1, end);
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static TurretLocation turretLocation(String header) {
+        if (header != null) {
+            for (var turretLocation : TURRET_LOCATIONS) {
+                if (turretLocation.name().equalsIgnoreCase(header)) {
+                    return turretLocation;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void reject(HttpServletResponse response, byte[] body, long retryAfterSeconds) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static byte[] error(String message) {
+        return ("{\"error\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+}
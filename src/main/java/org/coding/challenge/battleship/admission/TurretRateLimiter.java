@@ -0,0 +1,76 @@
+package org.coding.challenge.battleship.admission;
+
+import org.coding.challenge.battleship.enums.TurretLocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * One token bucket per turret, kept as the generic cell rate algorithm: a single theoretical arrival time per
+ * turret, which every admitted request pushes forward by one emission interval (1 / rate). A request conforms
+ * while the theoretical arrival time is at most burst - 1 intervals ahead of now, so a turret idle for a while
+ * can send a burst of requests at once, then rate requests per second.
+ *
+ * Admitting a request is one compare-and-set on the turret's arrival time, without locks or refill threads.
+ * The rate and burst can be changed at any time; the buckets keep their state.
+ */
+public class TurretRateLimiter {
+
+    private static final TurretLocation[] TURRET_LOCATIONS = TurretLocation.values();
+
+    private final AtomicLongArray theoreticalArrivals = new AtomicLongArray(TURRET_LOCATIONS.length);
+    private volatile Limits limits;
+
+    /**
+     * @param ratePerSecond requests per second of each turret, 0 for no limit
+     * @param burst requests a turret can send at once after being idle
+     */
+    public TurretRateLimiter(double ratePerSecond, int burst) {
+        var now = System.nanoTime();
+        for (int index = 0; index < TURRET_LOCATIONS.length; index++) {
+            theoreticalArrivals.set(index, now);
+        }
+        update(ratePerSecond, burst);
+    }
+
+    public void update(double ratePerSecond, int burst) {
+        if (!(ratePerSecond >= 0) || Double.isInfinite(ratePerSecond) || burst < 1) {
+            throw new IllegalArgumentException("The turret rate must be a finite number >= 0 and the burst at least 1");
+        }
+        var intervalNanos = ratePerSecond == 0 ? 0 : Math.max(1, (long) (1e9 / ratePerSecond));
+        limits = new Limits(ratePerSecond, burst, intervalNanos, (burst - 1) * intervalNanos);
+    }
+
+    /**
+     * @param nowNanos System.nanoTime() of the request
+     * @return 0 if the request is admitted, otherwise the nanoseconds until the turret can send again
+     */
+    public long tryAcquire(TurretLocation turretLocation, long nowNanos) {
+        var limits = this.limits;
+        if (limits.intervalNanos() == 0) {
+            return 0;
+        }
+        var index = turretLocation.ordinal();
+        while (true) {
+            var theoreticalArrival = theoreticalArrivals.get(index);
+            var ahead = theoreticalArrival - nowNanos;
+            if (ahead > limits.toleranceNanos()) {
+                return ahead - limits.toleranceNanos();
+            }
+            var next = (ahead > 0 ? theoreticalArrival : nowNanos) + limits.intervalNanos();
+            if (theoreticalArrivals.compareAndSet(index, theoreticalArrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public double ratePerSecond() {
+        return limits.ratePerSecond();
+    }
+
+    public int burst() {
+        return limits.burst();
+    }
+
+    private record Limits(double ratePerSecond, int burst, long intervalNanos, long toleranceNanos) {
+    }
+}
@@ -0,0 +1,27 @@
+package org.coding.challenge.battleship.audit;
+
+import org.coding.challenge.battleship.dto.AuditEvent;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Audit trail of every saved setting and every run.
+ */
+public interface AuditJournal {
+
+    void recordSettings(SettingsRequest settingsRequest);
+
+    void recordRun(TurretLocation turretLocation, long distanceInDegrees, int numberOfTests);
+
+    /**
+     * @param turretLocation turret of the events, or null for every turret
+     * @param from earliest event time, inclusive, or null
+     * @param to latest event time, exclusive, or null
+     * @param limit maximum number of events
+     * @return the matching events, oldest first
+     */
+    List<AuditEvent> query(TurretLocation turretLocation, Instant from, Instant to, int limit);
+}
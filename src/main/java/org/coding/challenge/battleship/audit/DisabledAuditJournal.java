@@ -0,0 +1,54 @@
+package org.coding.challenge.battleship.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.coding.challenge.battleship.dto.AuditEvent;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Default, used unless battleship-calibration.audit.enabled=true.
+ * Nothing is kept to be queried, but every saved setting and every run is logged at INFO level instead.
+ */
+@Component
+@ConditionalOnProperty(name = "battleship-calibration.audit.enabled", havingValue = "false", matchIfMissing = true)
+@Slf4j
+public class DisabledAuditJournal implements AuditJournal {
+
+    private final boolean logged;
+
+    public DisabledAuditJournal() {
+        this(true);
+    }
+
+    /**
+     * @param logged false for traffic that is not real, like the warm-up replay, which is not logged
+     */
+    public DisabledAuditJournal(boolean logged) {
+        this.logged = logged;
+    }
+
+    @Override
+    public void recordSettings(SettingsRequest settingsRequest) {
+        if (logged) {
+            log.info("Saved turret setting: {}", settingsRequest);
+        }
+    }
+
+    @Override
+    public void recordRun(TurretLocation turretLocation, long distanceInDegrees, int numberOfTests) {
+        if (logged) {
+            log.info("Ran turret setting on turret {}: distance_in_degrees {}, number_of_tests {}",
+                    turretLocation, distanceInDegrees, numberOfTests);
+        }
+    }
+
+    @Override
+    public List<AuditEvent> query(TurretLocation turretLocation, Instant from, Instant to, int limit) {
+        throw new IllegalArgumentException("The audit journal is disabled");
+    }
+}
@@ -0,0 +1,383 @@
+package org.coding.challenge.battleship.audit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.coding.challenge.battleship.dto.AuditEvent;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Memory-mapped audit journal, enabled with battleship-calibration.audit.enabled=true.
+ *
+ * Events are fixed-width records written straight into memory-mapped segment files under
+ * battleship-calibration.audit.directory, so recording an event is a few stores into the page cache,
+ * with no allocation, formatting or system call. Each writer claims the next record with one atomic increment.
+ * The time of the record is stored last with release semantics, so a reader never sees a record without its fields,
+ * and a time of 0 marks a record that has not been written.
+ *
+ * Record layout, 40 bytes in little endian:
+ * time in epoch millis (8), event (1), turret ordinal or -1 (1), reserved (2), caliber (4), rotation_start_point (4),
+ * rotation_end_point (4), rotations or number_of_tests (4), reserved (4), distance_in_degrees (8).
+ *
+ * A segment holds battleship-calibration.audit.segment-records records. Every start of the application opens a new
+ * segment, and only the last battleship-calibration.audit.max-segments segments are kept. A writer that claimed its
+ * record in a segment that has been deleted since drops the record rather than create the segment again.
+ * Queries read up to the last claimed record of each segment, skipping the records that are not written, and keep the
+ * read-only mappings of the older segments until they are deleted.
+ * Mapped pages reach the disk when the OS writes them back, on every flush interval and at shutdown,
+ * so events survive a crash of the application but may be lost on a crash of the machine.
+ */
+@Component
+@ConditionalOnProperty(name = "battleship-calibration.audit.enabled", havingValue = "true")
+@Slf4j
+public class MappedAuditJournal implements AuditJournal {
+
+    static final int RECORD_SIZE = 40;
+    private static final byte SETTINGS = 1;
+    private static final byte RUN = 2;
+    private static final byte NO_TURRET = -1;
+    private static final TurretLocation[] TURRET_LOCATIONS = TurretLocation.values();
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    /**
+     * Writers claim their record first and read the clock just after, so a record can hold a later time than
+     * the records claimed after it, by as long as its writer was paused between the claim and the clock read:
+     * a preemption or a safepoint, well under a second. The slow roll to a new segment comes after the clock read,
+     * so it adds nothing. A longer pause, or the wall clock stepping back, can make a query stop early and miss
+     * records written just before its end.
+     */
+    private static final long CLOCK_SKEW_MILLIS = 1_000;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("audit-(\\d{12})\\.seg");
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final int maxSegments;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final Map<Long, Segment> openSegments = new ConcurrentHashMap<>();
+    private final Map<Long, ReadOnlySegment> readOnlySegments = new ConcurrentHashMap<>();
+    private final ReentrantLock rollLock = new ReentrantLock();
+    private volatile Segment current;
+    private volatile long retainedFrom; // oldest segment index kept by the retention
+    private long runFrom; // first segment index of this start of the application
+
+    public MappedAuditJournal(@Value("${battleship-calibration.audit.directory}") String directory,
+                              @Value("${battleship-calibration.audit.segment-records}") int segmentRecords,
+                              @Value("${battleship-calibration.audit.max-segments}") int maxSegments) {
+        if (segmentRecords < 1 || segmentRecords > Integer.MAX_VALUE / RECORD_SIZE || maxSegments < 1) {
+            throw new IllegalArgumentException("The audit journal needs at least one segment of 1 to "
+                    + Integer.MAX_VALUE / RECORD_SIZE + " records");
+        }
+        this.directory = Path.of(directory);
+        this.segmentRecords = segmentRecords;
+        this.maxSegments = maxSegments;
+    }
+
+    /**
+     * Opens a new segment after the segments of the previous runs.
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        var segmentIndexes = segmentIndexes();
+        var index = segmentIndexes.isEmpty() ? 0 : segmentIndexes.get(segmentIndexes.size() - 1) + 1;
+        nextSequence.set(index * segmentRecords);
+        runFrom = index;
+        current = map(index, true);
+        openSegments.put(index, current);
+        deleteOldSegments(index);
+        log.info("Audit journal opened at {}", current.path());
+    }
+
+    @Override
+    public void recordSettings(SettingsRequest settingsRequest) {
+        var rotationStartPoint = settingsRequest.getRotationStartPoint();
+        var rotationEndPoint = settingsRequest.getRotationEndPoint();
+        append(claim(), SETTINGS, settingsRequest.getLocation(), (int) settingsRequest.getCaliber(), (int) rotationStartPoint,
+                (int) rotationEndPoint, settingsRequest.getRotations(),
+                settingsRequest.getRotations() * (rotationEndPoint - rotationStartPoint));
+    }
+
+    @Override
+    public void recordRun(TurretLocation turretLocation, long distanceInDegrees, int numberOfTests) {
+        recordRun(claim(), turretLocation, distanceInDegrees, numberOfTests);
+    }
+
+    void recordRun(long sequence, TurretLocation turretLocation, long distanceInDegrees, int numberOfTests) {
+        append(sequence, RUN, turretLocation, 0, 0, 0, numberOfTests, distanceInDegrees);
+    }
+
+    /**
+     * @return sequence of the next record
+     */
+    long claim() {
+        return nextSequence.getAndIncrement();
+    }
+
+    private void append(long sequence, byte event, TurretLocation turretLocation, int caliber, int rotationStartPoint,
+                        int rotationEndPoint, int count, long distanceInDegrees) {
+        var time = System.currentTimeMillis();
+        var segmentIndex = sequence / segmentRecords;
+        var segment = current;
+        if (segment.index() != segmentIndex) {
+            segment = segment(segmentIndex);
+            if (segment == null) {
+                log.warn("Audit record {} dropped, its segment {} has already been deleted", sequence, segmentIndex);
+                return;
+            }
+        }
+        var buffer = segment.buffer();
+        var offset = (int) (sequence - segmentIndex * segmentRecords) * RECORD_SIZE;
+        buffer.put(offset + 8, event);
+        buffer.put(offset + 9, turretLocation == null ? NO_TURRET : (byte) turretLocation.ordinal());
+        buffer.putInt(offset + 12, caliber);
+        buffer.putInt(offset + 16, rotationStartPoint);
+        buffer.putInt(offset + 20, rotationEndPoint);
+        buffer.putInt(offset + 24, count);
+        buffer.putLong(offset + 32, distanceInDegrees);
+        LONGS.setRelease(buffer, offset, time); // publishes the record
+    }
+
+    /**
+     * Slow path of a writer whose record is not in the current segment, taken once per segment
+     * by the first writer past its end, and by the writers that claimed their record before a roll and write it after.
+     * @return the segment, or null if the retention has deleted it
+     */
+    private Segment segment(long index) {
+        var segment = openSegments.get(index);
+        if (segment != null) {
+            return segment;
+        }
+        rollLock.lock();
+        try {
+            segment = openSegments.get(index);
+            if (segment != null) {
+                return segment;
+            }
+            if (index > current.index()) {
+                segment = map(index, true);
+                openSegments.put(index, segment);
+                current.buffer().force();
+                current = segment;
+                openSegments.keySet().removeIf(openIndex -> openIndex < index - 1);
+                deleteOldSegments(index);
+                return segment;
+            }
+            if (index < retainedFrom) {
+                return null;
+            }
+            segment = map(index, false);
+            if (segment != null) {
+                openSegments.put(index, segment);
+            }
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open audit segment " + index, e);
+        } finally {
+            rollLock.unlock();
+        }
+    }
+
+    @Override
+    public List<AuditEvent> query(TurretLocation turretLocation, Instant from, Instant to, int limit) {
+        var fromMillis = from == null ? Long.MIN_VALUE : from.toEpochMilli();
+        var toMillis = to == null ? Long.MAX_VALUE : to.toEpochMilli();
+        var currentSegment = current;
+        List<AuditEvent> auditEvents = new ArrayList<>();
+        try {
+            for (var index : segmentIndexes()) {
+                if (index < retainedFrom) {
+                    continue; // being deleted
+                }
+                var openSegment = index >= currentSegment.index() ? openSegments.get(index) : null;
+                ByteBuffer buffer;
+                long records;
+                if (openSegment != null) {
+                    buffer = openSegment.buffer();
+                    records = claimedRecords(index);
+                } else {
+                    var readOnlySegment = readOnlySegment(index);
+                    if (readOnlySegment == null) {
+                        continue; // deleted since it was listed
+                    }
+                    buffer = readOnlySegment.buffer();
+                    records = index >= runFrom ? claimedRecords(index) : readOnlySegment.writtenRecords();
+                }
+                for (int record = 0; record < records; record++) {
+                    var offset = record * RECORD_SIZE;
+                    var time = (long) LONGS.getAcquire(buffer, offset);
+                    if (time == 0) {
+                        continue; // claimed by a writer that has not finished yet, or lost in a crash
+                    }
+                    if (time >= toMillis) {
+                        if (time - CLOCK_SKEW_MILLIS >= toMillis) {
+                            return auditEvents; // records are in time order, give or take the clock skew
+                        }
+                        continue;
+                    }
+                    if (time < fromMillis || !matches(buffer, offset, turretLocation)) {
+                        continue;
+                    }
+                    auditEvents.add(read(buffer, offset, time));
+                    if (auditEvents.size() >= limit) {
+                        return auditEvents;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the audit journal", e);
+        }
+        return auditEvents;
+    }
+
+    /**
+     * Records of a segment of this start of the application claimed by the writers so far.
+     */
+    private long claimedRecords(long index) {
+        return Math.clamp(nextSequence.get() - index * segmentRecords, 0, segmentRecords);
+    }
+
+    private static boolean matches(ByteBuffer buffer, int offset, TurretLocation turretLocation) {
+        return turretLocation == null || buffer.get(offset + 9) == turretLocation.ordinal();
+    }
+
+    private static AuditEvent read(ByteBuffer buffer, int offset, long time) {
+        var turret = buffer.get(offset + 9);
+        var auditEvent = AuditEvent.builder()
+                .time(Instant.ofEpochMilli(time))
+                .location(turret == NO_TURRET ? null : TURRET_LOCATIONS[turret])
+                .distanceInDegrees(buffer.getLong(offset + 32));
+        if (buffer.get(offset + 8) == SETTINGS) {
+            auditEvent.event("settings")
+                    .caliber((long) buffer.getInt(offset + 12))
+                    .rotationStartPoint((long) buffer.getInt(offset + 16))
+                    .rotationEndPoint((long) buffer.getInt(offset + 20))
+                    .rotations(buffer.getInt(offset + 24));
+        } else {
+            auditEvent.event("run")
+                    .numberOfTests(buffer.getInt(offset + 24));
+        }
+        return auditEvent.build();
+    }
+
+    /**
+     * Writes the current segment back to disk.
+     */
+    @Scheduled(fixedDelayString = "${battleship-calibration.audit.flush-interval-ms}")
+    public void flush() {
+        current.buffer().force();
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+        log.info("Audit journal closed");
+    }
+
+    /**
+     * @param create whether to create the segment, only for a new segment after the current one
+     * @return the mapped segment, or null if it does not exist and create is false
+     */
+    private Segment map(long index, boolean create) throws IOException {
+        var path = segmentPath(index);
+        var options = create
+                ? new StandardOpenOption[]{StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (var channel = FileChannel.open(path, options)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * RECORD_SIZE);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return new Segment(index, path, buffer);
+        } catch (NoSuchFileException e) {
+            if (create) {
+                throw e;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Read-only mapping of an older segment, mapped by the first query that reads it and kept until it is deleted.
+     * @return the mapping, or null if the segment has been deleted
+     */
+    private ReadOnlySegment readOnlySegment(long index) {
+        var readOnlySegment = readOnlySegments.get(index);
+        if (readOnlySegment != null) {
+            return readOnlySegment;
+        }
+        var path = segmentPath(index);
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            var writtenRecords = (int) (channel.size() / RECORD_SIZE);
+            // the segments of previous runs no longer change, and end after their last written record
+            while (index < runFrom && writtenRecords > 0
+                    && (long) LONGS.getAcquire(buffer, (writtenRecords - 1) * RECORD_SIZE) == 0) {
+                writtenRecords--;
+            }
+            readOnlySegment = new ReadOnlySegment(buffer, writtenRecords);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read audit segment " + index, e);
+        }
+        if (index < retainedFrom) {
+            return readOnlySegment; // deleted meanwhile, not cached
+        }
+        var cached = readOnlySegments.putIfAbsent(index, readOnlySegment);
+        return cached == null ? readOnlySegment : cached;
+    }
+
+    private void deleteOldSegments(long currentIndex) throws IOException {
+        retainedFrom = currentIndex - maxSegments + 1;
+        readOnlySegments.keySet().removeIf(index -> index < retainedFrom);
+        for (var index : segmentIndexes()) {
+            if (index < retainedFrom) {
+                Files.deleteIfExists(segmentPath(index));
+            }
+        }
+    }
+
+    private List<Long> segmentIndexes() throws IOException {
+        try (var paths = Files.list(directory)) {
+            return paths.map(path -> SEGMENT_NAME.matcher(path.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve("audit-%012d.seg".formatted(index));
+    }
+
+    private record Segment(long index, Path path, MappedByteBuffer buffer) {
+    }
+
+    private record ReadOnlySegment(ByteBuffer buffer, int writtenRecords) {
+    }
+}
@@ -0,0 +1,13 @@
+package org.coding.challenge.battleship.campaign;
+
+import org.coding.challenge.battleship.dto.SettingsRequest;
+
+import java.time.Instant;
+
+/**
+ * A stored calibration campaign. Its ticks are due every intervalMs after createdAt, so a restart keeps the same phase.
+ * @param settingsRequest validated settings with a turret location
+ */
+public record Campaign(String name, SettingsRequest settingsRequest, long intervalMs, int batchSize,
+                       Instant createdAt) {
+}
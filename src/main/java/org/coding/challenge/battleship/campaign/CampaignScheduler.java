@@ -0,0 +1,265 @@
+package org.coding.challenge.battleship.campaign;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.coding.challenge.battleship.dto.CampaignStats;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.repository.CalibrationCampaignRepository;
+import org.coding.challenge.battleship.service.CalibrationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs the stored calibration campaigns in-process, enabled with battleship-calibration.campaign.enabled=true.
+ *
+ * Each campaign is a virtual thread that sleeps until its next tick, then runs batch-size copies of its settings
+ * with CalibrationService.runBatch, so ticks neither go through HTTP nor touch the pending settings of the
+ * calibration endpoints. Ticks are due every interval after the creation of the campaign, which keeps the same
+ * phase after a restart, and are delayed by a random jitter of up to max-jitter-ms (and half the interval), so
+ * campaigns of the same interval do not all run at once. At most max-concurrent-runs ticks run at a time; the
+ * others wait for their turn, and that wait shows in their lag. A tick still waiting or running when the next one
+ * is due delays it, and the ticks missed by more than an interval are skipped.
+ *
+ * Campaigns are scheduled once the application is ready, so they do not run during the warm-up.
+ * Meters: calibration.campaign.runs counter tagged by campaign and outcome, calibration.campaign.lag timer and
+ * calibration.campaign.ticks.skipped counter tagged by campaign.
+ */
+@Component
+@ConditionalOnProperty(name = "battleship-calibration.campaign.enabled", havingValue = "true")
+@Slf4j
+public class CampaignScheduler {
+
+    private final CalibrationCampaignRepository calibrationCampaignRepository;
+    private final CalibrationService calibrationService;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore runPermits;
+    private final long maxJitterMs;
+    private final ThreadFactory threadFactory = Thread.ofVirtual().name("campaign-", 0).factory();
+    private final Map<String, ScheduledCampaign> scheduledCampaigns = new ConcurrentHashMap<>();
+    private volatile boolean started;
+
+    public CampaignScheduler(CalibrationCampaignRepository calibrationCampaignRepository,
+                             CalibrationService calibrationService, MeterRegistry meterRegistry,
+                             @Value("${battleship-calibration.campaign.max-concurrent-runs}") int maxConcurrentRuns,
+                             @Value("${battleship-calibration.campaign.max-jitter-ms}") long maxJitterMs) {
+        if (maxConcurrentRuns < 1 || maxJitterMs < 0) {
+            throw new IllegalArgumentException("Campaigns need at least 1 concurrent run and a non-negative jitter");
+        }
+        this.calibrationCampaignRepository = calibrationCampaignRepository;
+        this.calibrationService = calibrationService;
+        this.meterRegistry = meterRegistry;
+        this.runPermits = new Semaphore(maxConcurrentRuns, true);
+        this.maxJitterMs = maxJitterMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        started = true;
+        var campaigns = calibrationCampaignRepository.findAll();
+        campaigns.forEach(this::schedule);
+        log.info("Scheduled {} calibration campaigns", campaigns.size());
+    }
+
+    /**
+     * Stores the campaign, replacing the campaign of the same name, and schedules it.
+     * @param campaign validated settings with a turret location
+     */
+    public synchronized CampaignStats save(Campaign campaign) {
+        calibrationCampaignRepository.save(campaign);
+        var scheduledCampaign = schedule(campaign);
+        return scheduledCampaign == null ? stats(campaign, null) : scheduledCampaign.stats();
+    }
+
+    /**
+     * @return false if there is no campaign of that name
+     */
+    public synchronized boolean delete(String name) {
+        cancel(name);
+        return calibrationCampaignRepository.delete(name);
+    }
+
+    public List<CampaignStats> campaigns() {
+        List<CampaignStats> campaignStats = new ArrayList<>();
+        for (var campaign : calibrationCampaignRepository.findAll()) {
+            var scheduledCampaign = scheduledCampaigns.get(campaign.name());
+            campaignStats.add(scheduledCampaign != null ? scheduledCampaign.stats() : stats(campaign, null));
+        }
+        return campaignStats;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() throws InterruptedException {
+        started = false;
+        List<ScheduledCampaign> cancelled = new ArrayList<>(scheduledCampaigns.values());
+        cancelled.forEach(scheduledCampaign -> cancel(scheduledCampaign.campaign.name()));
+        for (var scheduledCampaign : cancelled) {
+            scheduledCampaign.thread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    private ScheduledCampaign schedule(Campaign campaign) {
+        cancel(campaign.name());
+        if (!started) {
+            return null; // scheduled once the application is ready
+        }
+        var scheduledCampaign = new ScheduledCampaign(campaign);
+        scheduledCampaigns.put(campaign.name(), scheduledCampaign);
+        scheduledCampaign.thread.start();
+        return scheduledCampaign;
+    }
+
+    private void cancel(String name) {
+        var scheduledCampaign = scheduledCampaigns.remove(name);
+        if (scheduledCampaign != null) {
+            scheduledCampaign.cancel();
+        }
+    }
+
+    private static CampaignStats stats(Campaign campaign, Instant nextRunAt) {
+        return CampaignStats.builder()
+                .name(campaign.name())
+                .settings(campaign.settingsRequest())
+                .intervalMs(campaign.intervalMs())
+                .batchSize(campaign.batchSize())
+                .createdAt(campaign.createdAt())
+                .nextRunAt(nextRunAt)
+                .build();
+    }
+
+    /**
+     * The virtual thread of a campaign and its statistics on this instance.
+     */
+    private final class ScheduledCampaign {
+
+        private final Campaign campaign;
+        private final List<SettingsRequest> batch;
+        private final Thread thread;
+        private final long scheduledAtNanos = System.nanoTime();
+        private final LongAdder runs = new LongAdder();
+        private final LongAdder failedRuns = new LongAdder();
+        private final LongAdder skippedTicks = new LongAdder();
+        private final AtomicLong lastLagMs = new AtomicLong();
+        private final LongAccumulator maxLagMs = new LongAccumulator(Math::max, 0);
+        private final Counter successCounter;
+        private final Counter errorCounter;
+        private final Counter skippedCounter;
+        private final Timer lagTimer;
+        private volatile long nextRunAtMs;
+        private volatile boolean cancelled;
+
+        private ScheduledCampaign(Campaign campaign) {
+            this.campaign = campaign;
+            this.batch = Collections.nCopies(campaign.batchSize(), campaign.settingsRequest());
+            this.successCounter = runsCounter("success");
+            this.errorCounter = runsCounter("error");
+            this.skippedCounter = Counter.builder("calibration.campaign.ticks.skipped")
+                    .description("Campaign ticks skipped because the previous tick was late")
+                    .tag("campaign", campaign.name())
+                    .register(meterRegistry);
+            this.lagTimer = Timer.builder("calibration.campaign.lag")
+                    .description("Delay between the time a campaign tick was due and the time it started running")
+                    .tag("campaign", campaign.name())
+                    .register(meterRegistry);
+            // first tick due at or after now, at least one interval after the creation of the campaign
+            var createdAtMs = campaign.createdAt().toEpochMilli();
+            var ticks = Math.max(1, Math.ceilDiv(System.currentTimeMillis() - createdAtMs, campaign.intervalMs()));
+            this.nextRunAtMs = createdAtMs + ticks * campaign.intervalMs();
+            this.thread = threadFactory.newThread(this::loop);
+        }
+
+        private Counter runsCounter(String outcome) {
+            return Counter.builder("calibration.campaign.runs")
+                    .description("Settings run by a campaign")
+                    .tag("campaign", campaign.name())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+
+        private void loop() {
+            var intervalMs = campaign.intervalMs();
+            var tickMs = nextRunAtMs;
+            while (!cancelled) {
+                var dueMs = tickMs + ThreadLocalRandom.current().nextLong(Math.min(maxJitterMs, intervalMs / 2) + 1);
+                nextRunAtMs = dueMs;
+                long waitMs;
+                while (!cancelled && (waitMs = dueMs - System.currentTimeMillis()) > 0) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(waitMs));
+                }
+                runPermits.acquireUninterruptibly();
+                try {
+                    if (cancelled) {
+                        return;
+                    }
+                    var lagMs = Math.max(0, System.currentTimeMillis() - dueMs);
+                    lastLagMs.set(lagMs);
+                    maxLagMs.accumulate(lagMs);
+                    lagTimer.record(lagMs, TimeUnit.MILLISECONDS);
+                    run();
+                } finally {
+                    runPermits.release();
+                }
+                tickMs += intervalMs;
+                var missedTicks = (System.currentTimeMillis() - tickMs) / intervalMs;
+                if (missedTicks > 0) {
+                    skippedTicks.add(missedTicks);
+                    skippedCounter.increment(missedTicks);
+                    tickMs += missedTicks * intervalMs;
+                }
+            }
+        }
+
+        private void run() {
+            try {
+                calibrationService.runBatch(batch);
+                runs.add(batch.size());
+                successCounter.increment(batch.size());
+            } catch (RuntimeException e) {
+                failedRuns.add(batch.size());
+                errorCounter.increment(batch.size());
+                log.warn("Calibration campaign {} failed to run", campaign.name(), e);
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+            LockSupport.unpark(thread);
+            meterRegistry.remove(successCounter);
+            meterRegistry.remove(errorCounter);
+            meterRegistry.remove(skippedCounter);
+            meterRegistry.remove(lagTimer);
+        }
+
+        private CampaignStats stats() {
+            var stats = CampaignScheduler.stats(campaign, cancelled ? null : Instant.ofEpochMilli(nextRunAtMs));
+            var seconds = (System.nanoTime() - scheduledAtNanos) / 1e9;
+            stats.setRuns(runs.sum());
+            stats.setFailedRuns(failedRuns.sum());
+            stats.setSkippedTicks(skippedTicks.sum());
+            stats.setRunsPerSecond(seconds > 0 ? runs.sum() / seconds : 0);
+            stats.setLastLagMs(lastLagMs.get());
+            stats.setMaxLagMs(maxLagMs.get());
+            return stats;
+        }
+    }
+}
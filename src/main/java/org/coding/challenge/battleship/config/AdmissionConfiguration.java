@@ -0,0 +1,51 @@
+package org.coding.challenge.battleship.config;
+
+import org.coding.challenge.battleship.admission.AdaptiveConcurrencyLimiter;
+import org.coding.challenge.battleship.admission.AdmissionControl;
+import org.coding.challenge.battleship.admission.AdmissionFilter;
+import org.coding.challenge.battleship.admission.TurretRateLimiter;
+import org.coding.challenge.battleship.metrics.AdmissionMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Admission control in front of the calibration endpoints, enabled with battleship-calibration.admission.enabled=true.
+ * The filter is registered with the servlet container rather than as a component, so it stays out of the MVC test
+ * slices. It runs right after the request timing filter of FlightRecordingConfiguration and before any other filter.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "battleship-calibration.admission.enabled", havingValue = "true")
+public class AdmissionConfiguration {
+
+    public static final int FILTER_ORDER = FlightRecordingConfiguration.FILTER_ORDER + 1;
+
+    @Bean
+    public AdmissionControl admissionControl(
+            @Value("${battleship-calibration.admission.turret-rate-per-second}") double turretRatePerSecond,
+            @Value("${battleship-calibration.admission.turret-burst}") int turretBurst,
+            @Value("${battleship-calibration.admission.initial-concurrency}") int initialConcurrency,
+            @Value("${battleship-calibration.admission.min-concurrency}") int minConcurrency,
+            @Value("${battleship-calibration.admission.max-concurrency}") int maxConcurrency,
+            @Value("${battleship-calibration.admission.target-latency-ms}") long targetLatencyMillis) {
+        return new AdmissionControl(new TurretRateLimiter(turretRatePerSecond, turretBurst),
+                new AdaptiveConcurrencyLimiter(initialConcurrency, minConcurrency, maxConcurrency, targetLatencyMillis));
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(AdmissionControl admissionControl) {
+        var registration = new FilterRegistrationBean<>(new AdmissionFilter(admissionControl));
+        registration.addUrlPatterns("/calibration/settings", "/calibration/run/*");
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+
+    @Bean
+    public AdmissionMetrics admissionMetrics(AdmissionControl admissionControl) {
+        return new AdmissionMetrics(admissionControl);
+    }
+}
@@ -0,0 +1,30 @@
+package org.coding.challenge.battleship.config;
+
+import org.coding.challenge.battleship.jfr.CalibrationRequestEventFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Times the calibration requests as a whole for the flight recordings,
+ * enabled with battleship-calibration.jfr.enabled=true. The filter runs first, before the admission filter
+ * (see {@link AdmissionConfiguration#FILTER_ORDER}), so the time of a rejected request is recorded too.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "battleship-calibration.jfr.enabled", havingValue = "true")
+public class FlightRecordingConfiguration {
+
+    public static final int FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    @Bean
+    public FilterRegistrationBean<CalibrationRequestEventFilter> calibrationRequestEventFilter() {
+        var registration = new FilterRegistrationBean<>(new CalibrationRequestEventFilter());
+        registration.addUrlPatterns("/calibration/settings", "/calibration/run/*");
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+}
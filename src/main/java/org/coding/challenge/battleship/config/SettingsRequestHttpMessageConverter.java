@@ -0,0 +1,162 @@
+package org.coding.challenge.battleship.config;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.jfr.CalibrationPhaseEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reads a JSON SettingsRequest with the streaming parser of the application ObjectMapper, instead of the
+ * reflective data binding of the Jackson message converter. Being an HttpMessageConverter bean, it is tried
+ * before the default converters, and only for a SettingsRequest in JSON.
+ *
+ * Only the plain form of the body is read here: an object of integer fields and a location name, in any
+ * order, ignoring unknown fields. Anything else (coercions from strings or decimals, nulls, an unknown location,
+ * malformed JSON) is handed to the ObjectMapper, so it is accepted or rejected with the same result and message
+ * as before.
+ *
+ * It only reads: responses, including a SettingsRequest, are written by the Jackson converter.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SettingsRequestHttpMessageConverter implements HttpMessageConverter<SettingsRequest> {
+
+    private static final TurretLocation[] TURRET_LOCATIONS = TurretLocation.values();
+    private static final List<MediaType> SUPPORTED_MEDIA_TYPES = List.of(MediaType.APPLICATION_JSON);
+
+    private final ObjectMapper objectMapper;
+
+    public SettingsRequestHttpMessageConverter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return SettingsRequest.class == clazz && (mediaType == null || MediaType.APPLICATION_JSON.includes(mediaType));
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return SUPPORTED_MEDIA_TYPES;
+    }
+
+    /**
+     * Timed as the binding phase of PUT /calibration/settings by a {@link CalibrationPhaseEvent}.
+     */
+    @Override
+    public SettingsRequest read(Class<? extends SettingsRequest> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        var phase = CalibrationPhaseEvent.start();
+        var body = inputMessage.getBody().readAllBytes();
+        var settingsRequest = read(body);
+        if (settingsRequest == null) {
+            try {
+                settingsRequest = objectMapper.readValue(body, SettingsRequest.class);
+            } catch (JsonProcessingException ex) {
+                phase.finish(CalibrationPhaseEvent.SETTINGS, "binding", null, CalibrationPhaseEvent.INVALID);
+                // same exception as the Jackson converter, for the exception handlers
+                throw new HttpMessageNotReadableException("JSON parse error: " + ex.getOriginalMessage(), ex, inputMessage);
+            }
+        }
+        phase.finish(CalibrationPhaseEvent.SETTINGS, "binding", settingsRequest.getLocation(),
+                CalibrationPhaseEvent.SUCCESS);
+        return settingsRequest;
+    }
+
+    /**
+     * @return the settings request, or null when the body is not in the plain form
+     */
+    SettingsRequest read(byte[] body) {
+        try (var parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            var settingsRequest = new SettingsRequest();
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                var field = parser.currentName();
+                var value = parser.nextToken();
+                switch (field) {
+                    case "caliber" -> {
+                        if (!isLong(parser, value)) {
+                            return null;
+                        }
+                        settingsRequest.setCaliber(parser.getLongValue());
+                    }
+                    case "location" -> {
+                        var turretLocation = value == JsonToken.VALUE_STRING ? turretLocation(parser.getText()) : null;
+                        if (turretLocation == null) {
+                            return null;
+                        }
+                        settingsRequest.setLocation(turretLocation);
+                    }
+                    case "rotation_start_point" -> {
+                        if (!isLong(parser, value)) {
+                            return null;
+                        }
+                        settingsRequest.setRotationStartPoint(parser.getLongValue());
+                    }
+                    case "rotation_end_point" -> {
+                        if (!isLong(parser, value)) {
+                            return null;
+                        }
+                        settingsRequest.setRotationEndPoint(parser.getLongValue());
+                    }
+                    case "rotations" -> {
+                        if (value != JsonToken.VALUE_NUMBER_INT || parser.getNumberType() != JsonParser.NumberType.INT) {
+                            return null;
+                        }
+                        settingsRequest.setRotations(parser.getIntValue());
+                    }
+                    default -> parser.skipChildren(); // ignored, like unknown properties by the ObjectMapper
+                }
+            }
+            if (token != JsonToken.END_OBJECT || parser.nextToken() != null) {
+                return null;
+            }
+            return settingsRequest;
+        } catch (IOException ex) {
+            return null; // the ObjectMapper reports it
+        }
+    }
+
+    private static boolean isLong(JsonParser parser, JsonToken value) throws IOException {
+        return value == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER;
+    }
+
+    private static TurretLocation turretLocation(String name) {
+        for (var turretLocation : TURRET_LOCATIONS) {
+            if (turretLocation.name().equals(name)) {
+                return turretLocation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Never called, as canWrite is always false.
+     */
+    @Override
+    public void write(SettingsRequest settingsRequest, MediaType contentType, HttpOutputMessage outputMessage) {
+        throw new HttpMessageNotWritableException("SettingsRequestHttpMessageConverter only reads settings requests");
+    }
+}
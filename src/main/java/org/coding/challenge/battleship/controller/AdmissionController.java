@@ -0,0 +1,44 @@
+package org.coding.challenge.battleship.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.coding.challenge.battleship.admission.AdmissionControl;
+import org.coding.challenge.battleship.dto.AdmissionLimits;
+import org.coding.challenge.battleship.dto.AdmissionStats;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/calibration/admission")
+@CrossOrigin(origins = "${battleship-calibration.cors.ui}")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "battleship-calibration.admission.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class AdmissionController {
+
+    private final AdmissionControl admissionControl;
+
+    /**
+     * Current limits, adaptive concurrency limit and rejection counts.
+     */
+    @GetMapping
+    public ResponseEntity<AdmissionStats> admission() {
+        return ResponseEntity.ok(admissionControl.stats());
+    }
+
+    /**
+     * Replaces every limit at once, e.g. to throttle a sweep script, without a restart.
+     * The limits go back to the battleship-calibration.admission.* properties on the next start.
+     */
+    @PutMapping
+    public ResponseEntity<AdmissionStats> updateLimits(@RequestBody AdmissionLimits admissionLimits) {
+        admissionControl.update(admissionLimits);
+        return ResponseEntity.ok(admissionControl.stats());
+    }
+}
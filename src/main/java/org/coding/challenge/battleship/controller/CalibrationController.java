@@ -2,37 +2,65 @@ package org.coding.challenge.battleship.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.exc.MismatchedInputException;
-import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.coding.challenge.battleship.dto.AuditEvent;
+import org.coding.challenge.battleship.dto.BatchRunResult;
+import org.coding.challenge.battleship.dto.PendingSettingsStats;
 import org.coding.challenge.battleship.dto.RunResponse;
 import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.jfr.CalibrationPhaseEvent;
 import org.coding.challenge.battleship.service.CalibrationService;
-import org.springframework.http.HttpStatus;
+import org.coding.challenge.battleship.validation.InvalidSettingsException;
+import org.coding.challenge.battleship.validation.SettingsRequestValidator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.CrossOrigin;
-import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/calibration")
 @CrossOrigin(origins = "${battleship-calibration.cors.ui}")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class CalibrationController {
 
     private final CalibrationService calibrationService;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    @Value("${battleship-calibration.batch.max-size}")
+    private int maxBatchSize;
+
+    @Value("${battleship-calibration.audit.max-query-size}")
+    private int maxAuditQuerySize;
+
+    /**
+     * Validated by SettingsRequestValidator rather than @Valid, as the hottest endpoint, with the same errors.
+     */
     @PutMapping("/settings")
-    public ResponseEntity<Void> settings(@RequestBody @Valid SettingsRequest settingsRequest) {
+    public ResponseEntity<Void> settings(@RequestBody SettingsRequest settingsRequest) {
+        var phase = CalibrationPhaseEvent.start();
+        var errors = SettingsRequestValidator.validate(settingsRequest);
+        if (errors != null) {
+            phase.finish(CalibrationPhaseEvent.SETTINGS, "validation", settingsRequest.getLocation(),
+                    CalibrationPhaseEvent.INVALID);
+            throw new InvalidSettingsException(settingsRequest, errors);
+        }
+        phase.finish(CalibrationPhaseEvent.SETTINGS, "validation", settingsRequest.getLocation(),
+                CalibrationPhaseEvent.SUCCESS);
         calibrationService.settings(settingsRequest);
         return ResponseEntity.accepted().build();
     }
@@ -42,28 +70,90 @@ public class CalibrationController {
         return ResponseEntity.ok(calibrationService.run());
     }
 
-    @ExceptionHandler({IllegalArgumentException.class})
-    public ResponseEntity<Map<String, String>> handleIllegalArgumentException(IllegalArgumentException ex) {
-        Map<String, String> errors = new HashMap<>();
-        errors.put("error", ex.getMessage());
-        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+    /**
+     * Runs up to max pending settings in the order they were saved, for the queued settings mode.
+     */
+    @PostMapping("/run/pending")
+    public ResponseEntity<List<RunResponse>> runPending(@RequestParam(defaultValue = "100") int max) {
+        if (max < 1 || max > maxBatchSize) {
+            throw new IllegalArgumentException("max must be between 1 and " + maxBatchSize);
+        }
+        return ResponseEntity.ok(calibrationService.runPending(max));
     }
 
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        Map<String, String> errors = new HashMap<>();
-        ex.getBindingResult().getFieldErrors().forEach(error ->
-                errors.put(error.getField(), error.getDefaultMessage()));
-        ex.getBindingResult().getAllErrors().forEach(error ->
-                errors.put(error.getObjectName(), error.getDefaultMessage()));
-        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+    /**
+     * Depth, capacity and rejection counts of the pending settings, to size the settings queue.
+     */
+    @GetMapping("/settings/queue")
+    public ResponseEntity<PendingSettingsStats> pendingSettingsStats() {
+        return ResponseEntity.ok(calibrationService.pendingSettingsStats());
+    }
+
+    /**
+     * Settings and run events of the audit journal, oldest first, optionally for one turret
+     * and between from (inclusive) and to (exclusive), given as ISO-8601 instants.
+     */
+    @GetMapping("/audit")
+    public ResponseEntity<List<AuditEvent>> audit(@RequestParam(required = false) TurretLocation location,
+                                                  @RequestParam(required = false) Instant from,
+                                                  @RequestParam(required = false) Instant to,
+                                                  @RequestParam(defaultValue = "1000") int limit) {
+        if (limit < 1 || limit > maxAuditQuerySize) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxAuditQuerySize);
+        }
+        return ResponseEntity.ok(calibrationService.audit(location, from, to, limit));
     }
 
-    @ExceptionHandler({MismatchedInputException.class})
-    public ResponseEntity<Map<String, String>> handleMismatchedInputException(MismatchedInputException ex) {
+    /**
+     * Validates and runs many settings in one request. Invalid settings are reported with the same error keys
+     * as a single settings request and do not prevent the valid ones from running.
+     * Results are returned in the order of the request.
+     */
+    @PostMapping("/run/batch")
+    public ResponseEntity<List<BatchRunResult>> runBatch(@RequestBody List<SettingsRequest> settingsRequests) {
+        if (settingsRequests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("A batch can contain at most " + maxBatchSize + " settings");
+        }
+        List<BatchRunResult> batchRunResults = new ArrayList<>(settingsRequests.size());
+        List<SettingsRequest> validSettingsRequests = new ArrayList<>(settingsRequests.size());
+        for (int index = 0; index < settingsRequests.size(); index++) {
+            var errors = validate(settingsRequests.get(index));
+            if (errors.isEmpty()) {
+                validSettingsRequests.add(settingsRequests.get(index));
+                batchRunResults.add(null); // filled in once the valid settings have run
+            } else {
+                batchRunResults.add(BatchRunResult.builder().index(index).errors(errors).build());
+            }
+        }
+
+        var runResponses = calibrationService.runBatch(validSettingsRequests).iterator();
+        for (int index = 0; index < batchRunResults.size(); index++) {
+            if (batchRunResults.get(index) == null) {
+                batchRunResults.set(index, BatchRunResult.builder().index(index).result(runResponses.next()).build());
+            }
+        }
+        return ResponseEntity.ok(batchRunResults);
+    }
+
+    /**
+     * Builds the same error keys as CalibrationExceptionHandler.handleValidationExceptions:
+     * the field name for each field error and the object name for every error.
+     */
+    private Map<String, String> validate(SettingsRequest settingsRequest) {
         Map<String, String> errors = new HashMap<>();
-        errors.put("error", ex.getMessage());
-        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+        if (settingsRequest == null) {
+            errors.put("error", "Settings request must not be null");
+            return errors;
+        }
+        var constraintErrors = SettingsRequestValidator.validate(settingsRequest);
+        if (constraintErrors != null) {
+            errors.putAll(constraintErrors);
+        }
+        if (settingsRequest.getLocation() == null) {
+            errors.put("location", "location must not be null");
+        }
+        return errors;
     }
 
 }
+
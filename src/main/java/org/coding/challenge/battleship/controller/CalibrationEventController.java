@@ -0,0 +1,32 @@
+package org.coding.challenge.battleship.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.coding.challenge.battleship.events.SseCalibrationEventPublisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/calibration")
+@CrossOrigin(origins = "${battleship-calibration.cors.ui}")
+@ConditionalOnProperty(name = "battleship-calibration.events.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class CalibrationEventController {
+
+    private final SseCalibrationEventPublisher sseCalibrationEventPublisher;
+
+    /**
+     * Server-sent events of every saved setting and every run of all turrets, from the time of the subscription.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events() {
+        return sseCalibrationEventPublisher.subscribe();
+    }
+
+}
@@ -0,0 +1,85 @@
+package org.coding.challenge.battleship.controller;
+
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import lombok.RequiredArgsConstructor;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.metrics.CalibrationMetrics;
+import org.coding.challenge.battleship.pending.PendingSettingsFullException;
+import org.coding.challenge.battleship.validation.InvalidSettingsException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Error payloads shared by all calibration controllers.
+ */
+@RestControllerAdvice(basePackageClasses = CalibrationExceptionHandler.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class CalibrationExceptionHandler {
+
+    private final CalibrationMetrics calibrationMetrics;
+
+    @ExceptionHandler({IllegalArgumentException.class})
+    public ResponseEntity<Map<String, String>> handleIllegalArgumentException(IllegalArgumentException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        return validationErrors(ex.getBindingResult());
+    }
+
+    @ExceptionHandler(InvalidSettingsException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidSettingsException(InvalidSettingsException ex) {
+        calibrationMetrics.recordInvalidSettings(ex.getSettingsRequest().getLocation());
+        return new ResponseEntity<>(ex.getErrors(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler({MismatchedInputException.class})
+    public ResponseEntity<Map<String, String>> handleMismatchedInputException(MismatchedInputException ex) {
+        calibrationMetrics.recordInvalidSettings(null);
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * A full settings queue is answered right away with 429 and a Retry-After hint, so producers back off
+     * instead of holding a request thread.
+     */
+    @ExceptionHandler({PendingSettingsFullException.class})
+    public ResponseEntity<Map<String, String>> handlePendingSettingsFullException(PendingSettingsFullException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errors);
+    }
+
+    /**
+     * One error per invalid field, keyed by the field name, and one keyed by the object name for every error.
+     */
+    protected ResponseEntity<Map<String, String>> validationErrors(BindingResult bindingResult) {
+        if (bindingResult.getTarget() instanceof SettingsRequest settingsRequest) {
+            calibrationMetrics.recordInvalidSettings(settingsRequest.getLocation());
+        }
+        Map<String, String> errors = new HashMap<>();
+        bindingResult.getFieldErrors().forEach(error ->
+                errors.put(error.getField(), error.getDefaultMessage()));
+        bindingResult.getAllErrors().forEach(error ->
+                errors.put(error.getObjectName(), error.getDefaultMessage()));
+        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+    }
+
+}
@@ -0,0 +1,90 @@
+package org.coding.challenge.battleship.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.coding.challenge.battleship.campaign.Campaign;
+import org.coding.challenge.battleship.campaign.CampaignScheduler;
+import org.coding.challenge.battleship.dto.CampaignRequest;
+import org.coding.challenge.battleship.dto.CampaignStats;
+import org.coding.challenge.battleship.validation.InvalidSettingsException;
+import org.coding.challenge.battleship.validation.SettingsRequestValidator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.regex.Pattern;
+
+@RestController
+@RequestMapping("/calibration/campaigns")
+@CrossOrigin(origins = "${battleship-calibration.cors.ui}")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "battleship-calibration.campaign.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class CampaignController {
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final CampaignScheduler campaignScheduler;
+
+    @Value("${battleship-calibration.campaign.min-interval-ms}")
+    private long minIntervalMs;
+
+    @Value("${battleship-calibration.batch.max-size}")
+    private int maxBatchSize;
+
+    /**
+     * Every stored campaign, with its throughput and lag since it was scheduled on this instance.
+     */
+    @GetMapping
+    public ResponseEntity<List<CampaignStats>> campaigns() {
+        return ResponseEntity.ok(campaignScheduler.campaigns());
+    }
+
+    /**
+     * Creates the campaign, or replaces the campaign of the same name with a new schedule starting now.
+     * Invalid settings are reported with the same errors as PUT /calibration/settings.
+     */
+    @PutMapping("/{name}")
+    public ResponseEntity<CampaignStats> saveCampaign(@PathVariable String name,
+                                                      @RequestBody CampaignRequest campaignRequest) {
+        if (!NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("name must be 1 to 64 letters, digits, '.', '_' or '-'");
+        }
+        var settings = campaignRequest.getSettings();
+        if (settings == null) {
+            throw new IllegalArgumentException("settings must not be null");
+        }
+        var errors = SettingsRequestValidator.validate(settings);
+        if (errors != null) {
+            throw new InvalidSettingsException(settings, errors);
+        }
+        if (settings.getLocation() == null) {
+            throw new IllegalArgumentException("location must not be null");
+        }
+        if (campaignRequest.getIntervalMs() < minIntervalMs) {
+            throw new IllegalArgumentException("interval_ms must be at least " + minIntervalMs);
+        }
+        if (campaignRequest.getBatchSize() < 1 || campaignRequest.getBatchSize() > maxBatchSize) {
+            throw new IllegalArgumentException("batch_size must be between 1 and " + maxBatchSize);
+        }
+        var campaign = new Campaign(name, settings, campaignRequest.getIntervalMs(), campaignRequest.getBatchSize(),
+                Instant.now().truncatedTo(ChronoUnit.MILLIS));
+        return ResponseEntity.ok(campaignScheduler.save(campaign));
+    }
+
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Void> deleteCampaign(@PathVariable String name) {
+        return campaignScheduler.delete(name) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+}
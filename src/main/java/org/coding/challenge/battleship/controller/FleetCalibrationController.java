@@ -0,0 +1,41 @@
+package org.coding.challenge.battleship.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.coding.challenge.battleship.dto.RunResponse;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.service.FleetCalibrationService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/calibration/ships/{shipId}/turrets/{turretId}")
+@CrossOrigin(origins = "${battleship-calibration.cors.ui}")
+@ConditionalOnProperty(name = "battleship-calibration.fleet.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class FleetCalibrationController {
+
+    private final FleetCalibrationService fleetCalibrationService;
+
+    @PutMapping("/settings")
+    public ResponseEntity<Void> settings(@PathVariable String shipId, @PathVariable String turretId,
+                                         @RequestBody @Valid SettingsRequest settingsRequest) {
+        fleetCalibrationService.settings(shipId, turretId, settingsRequest);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/run")
+    public ResponseEntity<RunResponse> run(@PathVariable String shipId, @PathVariable String turretId) {
+        return ResponseEntity.ok(fleetCalibrationService.run(shipId, turretId));
+    }
+
+}
@@ -0,0 +1,70 @@
+package org.coding.challenge.battleship.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.jfr.CalibrationFlightRecorder;
+import org.coding.challenge.battleship.jfr.CalibrationPhaseSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/calibration/recordings")
+@CrossOrigin(origins = "${battleship-calibration.cors.ui}")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "battleship-calibration.jfr.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class FlightRecordingController {
+
+    private final CalibrationFlightRecorder calibrationFlightRecorder;
+
+    @Value("${battleship-calibration.jfr.default-duration-seconds}")
+    private long defaultDurationSeconds;
+
+    /**
+     * Starts recording the phases of the calibration requests, for duration seconds at most.
+     */
+    @PostMapping("/start")
+    public ResponseEntity<Void> start(@RequestParam(required = false) Long duration) {
+        calibrationFlightRecorder.start(Duration.ofSeconds(duration == null ? defaultDurationSeconds : duration));
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Stops the recording and returns it as a .jfr file (format=jfr), or as the latency of each phase
+     * (format=summary), optionally of one turret.
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<?> stop(@RequestParam(defaultValue = "summary") String format,
+                                  @RequestParam(required = false) TurretLocation location) throws IOException {
+        if (!"jfr".equals(format) && !"summary".equals(format)) {
+            throw new IllegalArgumentException("format must be jfr or summary");
+        }
+        var file = calibrationFlightRecorder.stop();
+        try {
+            if ("summary".equals(format)) {
+                return ResponseEntity.ok(CalibrationPhaseSummary.summarize(file, location));
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment().filename("calibration.jfr").build().toString())
+                    .body(Files.readAllBytes(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.coding.challenge.battleship.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.coding.challenge.battleship.dto.RunHistoryPage;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.service.RunHistoryService;
+import org.coding.challenge.battleship.service.RunHistoryService.ExportFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/calibration/history")
+@CrossOrigin(origins = "${battleship-calibration.cors.ui}")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class RunHistoryController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    private final RunHistoryService runHistoryService;
+
+    @Value("${battleship-calibration.history.max-page-size}")
+    private int maxPageSize;
+
+    /**
+     * Runs with an id greater than after, oldest first, optionally for one turret.
+     * The next page is requested with after set to the next_after of this page.
+     */
+    @GetMapping
+    public ResponseEntity<RunHistoryPage> history(@RequestParam(required = false) TurretLocation location,
+                                                  @RequestParam(defaultValue = "0") long after,
+                                                  @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageSize);
+        }
+        return ResponseEntity.ok(runHistoryService.history(location, after, limit));
+    }
+
+    /**
+     * Streams every run as NDJSON or CSV, oldest first, optionally for one turret
+     * and between from (inclusive) and to (exclusive), given as ISO-8601 instants.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(required = false) TurretLocation location,
+                                                        @RequestParam(required = false) Instant from,
+                                                        @RequestParam(required = false) Instant to,
+                                                        @RequestParam(defaultValue = "ndjson") String format) {
+        var exportFormat = switch (format) {
+            case "ndjson" -> ExportFormat.NDJSON;
+            case "csv" -> ExportFormat.CSV;
+            default -> throw new IllegalArgumentException("format must be ndjson or csv");
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat == ExportFormat.CSV ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=run-history." + format)
+                .body(outputStream -> runHistoryService.export(location, from, to, exportFormat, outputStream));
+    }
+}
@@ -0,0 +1,64 @@
+package org.coding.challenge.battleship.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.coding.challenge.battleship.dto.ToleranceEstimate;
+import org.coding.challenge.battleship.dto.ToleranceRequest;
+import org.coding.challenge.battleship.simulation.ToleranceEstimator;
+import org.coding.challenge.battleship.validation.InvalidSettingsException;
+import org.coding.challenge.battleship.validation.SettingsRequestValidator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/calibration")
+@CrossOrigin(origins = "${battleship-calibration.cors.ui}")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "battleship-calibration.tolerance.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ToleranceController {
+
+    private static final int MAX_BINS = 1000;
+
+    private final ToleranceEstimator toleranceEstimator;
+
+    @Value("${battleship-calibration.tolerance.max-samples}")
+    private long maxSamples;
+
+    /**
+     * Estimates how the angular distance of a setting spreads under mechanical noise, without saving or running it.
+     * Invalid settings are reported with the same errors as PUT /calibration/settings.
+     */
+    @PostMapping("/tolerance")
+    public ResponseEntity<ToleranceEstimate> tolerance(@RequestBody ToleranceRequest toleranceRequest) {
+        var settings = toleranceRequest.getSettings();
+        if (settings == null) {
+            throw new IllegalArgumentException("settings must not be null");
+        }
+        var errors = SettingsRequestValidator.validate(settings);
+        if (errors != null) {
+            throw new InvalidSettingsException(settings, errors);
+        }
+        if (toleranceRequest.getSamples() < 1 || toleranceRequest.getSamples() > maxSamples) {
+            throw new IllegalArgumentException("samples must be between 1 and " + maxSamples);
+        }
+        if (!isNonNegative(toleranceRequest.getPointNoise()) || !isNonNegative(toleranceRequest.getCaliberNoise())
+                || !isNonNegative(toleranceRequest.getTolerance())) {
+            throw new IllegalArgumentException("point_noise, caliber_noise and tolerance must not be negative");
+        }
+        if (toleranceRequest.getBins() < 1 || toleranceRequest.getBins() > MAX_BINS) {
+            throw new IllegalArgumentException("bins must be between 1 and " + MAX_BINS);
+        }
+        return ResponseEntity.ok(toleranceEstimator.estimate(toleranceRequest));
+    }
+
+    private static boolean isNonNegative(double value) {
+        return Double.isFinite(value) && value >= 0;
+    }
+}
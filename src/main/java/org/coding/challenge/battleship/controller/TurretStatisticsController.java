@@ -0,0 +1,31 @@
+package org.coding.challenge.battleship.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.coding.challenge.battleship.dto.TurretStats;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.statistics.TurretStatistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/calibration/turrets")
+@CrossOrigin(origins = "${battleship-calibration.cors.ui}")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class TurretStatisticsController {
+
+    private final TurretStatistics turretStatistics;
+
+    /**
+     * Rolling statistics of the recent runs of a turret, read from memory.
+     */
+    @GetMapping("/{location}/stats")
+    public ResponseEntity<TurretStats> stats(@PathVariable TurretLocation location) {
+        return ResponseEntity.ok(turretStatistics.stats(location));
+    }
+}
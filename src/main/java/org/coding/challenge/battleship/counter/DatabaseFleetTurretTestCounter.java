@@ -0,0 +1,19 @@
+package org.coding.challenge.battleship.counter;
+
+import lombok.RequiredArgsConstructor;
+import org.coding.challenge.battleship.repository.FleetCalibrationSettingsRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "battleship-calibration.fleet.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class DatabaseFleetTurretTestCounter implements FleetTurretTestCounter {
+
+    private final FleetCalibrationSettingsRepository fleetCalibrationSettingsRepository;
+
+    @Override
+    public int increment(String turretKey) {
+        return fleetCalibrationSettingsRepository.incrementNumberOfTests(turretKey);
+    }
+}
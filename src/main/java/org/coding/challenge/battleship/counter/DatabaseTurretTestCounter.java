@@ -0,0 +1,76 @@
+package org.coding.challenge.battleship.counter;
+
+import io.micrometer.core.instrument.Timer;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.metrics.CalibrationMetrics;
+import org.coding.challenge.battleship.repository.CalibrationSettingsRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Default counter mode. Every test is written synchronously to CALIBRATION_SETTING.
+ */
+@Component
+@ConditionalOnProperty(name = "battleship-calibration.counter.mode", havingValue = "direct", matchIfMissing = true)
+public class DatabaseTurretTestCounter implements TurretTestCounter {
+
+    private final CalibrationSettingsRepository calibrationSettingsRepository;
+    private final Timer incrementTimer;
+    private final Timer addTimer;
+    private final TransactionTemplate transactionTemplate;
+
+    public DatabaseTurretTestCounter(CalibrationSettingsRepository calibrationSettingsRepository,
+                                     CalibrationMetrics calibrationMetrics,
+                                     PlatformTransactionManager transactionManager) {
+        this.calibrationSettingsRepository = calibrationSettingsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.incrementTimer = calibrationMetrics.repositoryTimer("incrementNumberOfTests");
+        this.addTimer = calibrationMetrics.repositoryTimer("addNumberOfTests");
+    }
+
+    @Override
+    public int increment(TurretLocation turretLocation) {
+        var start = System.nanoTime();
+        try {
+            return calibrationSettingsRepository.incrementNumberOfTests(turretLocation);
+        } finally {
+            incrementTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Adds the tests of every turret in one transaction, with one statement per turret.
+     *
+     * A duplicate key from a run racing to create the row of a turret marks the transaction rollback-only,
+     * so the whole transaction is retried once, outside of the failed one.
+     */
+    @Override
+    public int[] add(int[] numberOfTests) {
+        try {
+            return transactionTemplate.execute(status -> addAll(numberOfTests));
+        } catch (DataIntegrityViolationException e) {
+            return transactionTemplate.execute(status -> addAll(numberOfTests));
+        }
+    }
+
+    private int[] addAll(int[] numberOfTests) {
+        var totals = new int[numberOfTests.length];
+        for (var turretLocation : TurretLocation.values()) {
+            var ordinal = turretLocation.ordinal();
+            if (numberOfTests[ordinal] > 0) {
+                var start = System.nanoTime();
+                try {
+                    totals[ordinal] = calibrationSettingsRepository.addNumberOfTests(turretLocation, numberOfTests[ordinal]);
+                } finally {
+                    addTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,14 @@
+package org.coding.challenge.battleship.counter;
+
+/**
+ * Keeps the number of times each turret of the fleet has been tested.
+ */
+public interface FleetTurretTestCounter {
+
+    /**
+     * Records one more test of a fleet turret.
+     * @param turretKey "shipId/turretId"
+     * @return number of times the turret has been tested, including this one
+     */
+    int increment(String turretKey);
+}
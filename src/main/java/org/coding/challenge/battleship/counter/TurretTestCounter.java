@@ -0,0 +1,24 @@
+package org.coding.challenge.battleship.counter;
+
+import org.coding.challenge.battleship.enums.TurretLocation;
+
+/**
+ * Keeps the number of times each turret has been tested.
+ * The implementation is selected with the property battleship-calibration.counter.mode.
+ */
+public interface TurretTestCounter {
+
+    /**
+     * Records one more test of a turret.
+     * @param turretLocation
+     * @return number of times the turret has been tested, including this one
+     */
+    int increment(TurretLocation turretLocation);
+
+    /**
+     * Records several tests of each turret at once, as a single unit.
+     * @param numberOfTests number of tests to add, indexed by turret ordinal
+     * @return number of times each turret has been tested including the added tests, indexed by turret ordinal
+     */
+    int[] add(int[] numberOfTests);
+}
@@ -0,0 +1,269 @@
+package org.coding.challenge.battleship.counter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.coding.challenge.battleship.enums.TurretLocation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Append-only journal of turret test counts.
+ *
+ * Each record is the turret ordinal (1 byte) followed by the total number of tests of that turret (8 bytes)
+ * after an increment. Because records hold totals instead of deltas, replaying keeps the highest total per turret
+ * and the order or duplication of records does not matter.
+ *
+ * Appenders copy their record into a shared buffer and wait until it has been forced to disk.
+ * A single sync thread writes and forces everything appended since its previous fsync, so concurrent
+ * appenders share one fsync (group commit). Locks are used instead of synchronized so that waiting
+ * virtual threads do not pin their carrier.
+ */
+@Slf4j
+public class TurretTestCounterJournal implements Closeable {
+
+    static final int RECORD_SIZE = Byte.BYTES + Long.BYTES;
+    private static final int BUFFER_CAPACITY = RECORD_SIZE * 4096;
+    private static final TurretLocation[] TURRET_LOCATIONS = TurretLocation.values();
+
+    private final Path path;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition durable = lock.newCondition();
+    private final ReentrantLock ioLock = new ReentrantLock(); // guards channel and writing
+
+    private ByteBuffer pending = ByteBuffer.allocate(BUFFER_CAPACITY);
+    private ByteBuffer writing = ByteBuffer.allocate(BUFFER_CAPACITY);
+    private long appended;
+    private long synced;
+    private boolean closed;
+    private IOException failure;
+    private FileChannel channel;
+    private Thread syncThread;
+
+    public TurretTestCounterJournal(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Reads every complete record of the journal. A torn record at the end of the file is ignored.
+     * @param consumer receives the turret and its total for each record
+     */
+    public void replay(ObjLongConsumer<TurretLocation> consumer) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        var records = 0;
+        try (var replayChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var buffer = ByteBuffer.allocate(BUFFER_CAPACITY);
+            while (replayChannel.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.remaining() >= RECORD_SIZE) {
+                    int ordinal = buffer.get();
+                    long total = buffer.getLong();
+                    if (ordinal >= 0 && ordinal < TURRET_LOCATIONS.length) {
+                        consumer.accept(TURRET_LOCATIONS[ordinal], total);
+                        records++;
+                    }
+                }
+                buffer.compact();
+            }
+        }
+        log.info("Replayed {} turret test count records from {}", records, path);
+    }
+
+    public void open() throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        syncThread = Thread.ofPlatform().daemon().name("turret-test-counter-journal").start(this::syncLoop);
+    }
+
+    /**
+     * Appends the new total of a turret and returns once the record is durable.
+     */
+    public void append(TurretLocation turretLocation, long total) {
+        lock.lock();
+        try {
+            while (pending.remaining() < RECORD_SIZE && !closed && failure == null) {
+                notFull.awaitUninterruptibly();
+            }
+            ensureWritable();
+            pending.put((byte) turretLocation.ordinal()).putLong(total);
+            var sequence = ++appended;
+            notEmpty.signal();
+            while (synced < sequence && failure == null) {
+                durable.awaitUninterruptibly();
+            }
+            if (synced < sequence) {
+                throw new UncheckedIOException("Turret test count could not be journaled", failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the journal with one record per turret holding its current total.
+     * The totals are read while appends are held off, so they cover every record appended so far.
+     * The checkpoint is written to a temporary file and moved over the journal, so a crash at any point
+     * leaves either the old or the new journal in place. The directory is forced after the move, so the pending
+     * records are only dropped once the rename itself is durable.
+     * @param currentTotal current total of a turret
+     */
+    public void checkpoint(ToLongFunction<TurretLocation> currentTotal) throws IOException {
+        ioLock.lock();
+        try {
+            lock.lock();
+            try {
+                ensureWritable();
+                var checkpoint = ByteBuffer.allocate(RECORD_SIZE * TURRET_LOCATIONS.length);
+                for (var turretLocation : TURRET_LOCATIONS) {
+                    checkpoint.put((byte) turretLocation.ordinal()).putLong(currentTotal.applyAsLong(turretLocation));
+                }
+                checkpoint.flip();
+                var temporary = path.resolveSibling(path.getFileName() + ".tmp");
+                try (var checkpointChannel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    while (checkpoint.hasRemaining()) {
+                        checkpointChannel.write(checkpoint);
+                    }
+                    checkpointChannel.force(true);
+                }
+                channel.close();
+                Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                forceDirectory();
+                channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+                // every pending record is covered by the checkpoint
+                pending.clear();
+                notFull.signalAll();
+                markSynced(appended);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /**
+     * Forces every appended record to disk and stops the sync thread.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (syncThread != null) {
+            try {
+                syncThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        ioLock.lock();
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    private void syncLoop() {
+        while (true) {
+            long sequence;
+            lock.lock();
+            try {
+                while (pending.position() == 0 && !closed) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                if (pending.position() == 0) {
+                    return; // closed and drained
+                }
+                var full = pending;
+                pending = writing;
+                writing = full;
+                sequence = appended;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            ioLock.lock();
+            try {
+                writing.flip();
+                while (writing.hasRemaining()) {
+                    channel.write(writing);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                log.error("Failed to write turret test count journal {}", path, e);
+                lock.lock();
+                try {
+                    failure = e;
+                    durable.signalAll();
+                    notFull.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            } finally {
+                writing.clear();
+                ioLock.unlock();
+            }
+
+            lock.lock();
+            try {
+                markSynced(sequence);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Forces the directory entry of the journal, which holds the rename of a checkpoint.
+     */
+    private void forceDirectory() throws IOException {
+        var directory = path.toAbsolutePath().getParent();
+        try (var directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        }
+    }
+
+    private void markSynced(long sequence) {
+        if (sequence > synced) {
+            synced = sequence;
+            durable.signalAll();
+        }
+    }
+
+    private void ensureWritable() {
+        if (failure != null) {
+            throw new UncheckedIOException("Turret test count journal has failed", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Turret test count journal is closed");
+        }
+    }
+}
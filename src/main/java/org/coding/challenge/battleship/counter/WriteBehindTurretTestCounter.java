@@ -0,0 +1,137 @@
+package org.coding.challenge.battleship.counter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.coding.challenge.battleship.entity.CalibrationSetting;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.repository.CalibrationSettingsRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind counter mode, enabled with battleship-calibration.counter.mode=write-behind.
+ *
+ * Test counts are kept in memory and an increment only waits for its record to reach the
+ * {@link TurretTestCounterJournal}. Counts that changed are written to CALIBRATION_SETTING in one transaction
+ * every battleship-calibration.counter.flush-interval-ms and at shutdown, after which the journal is compacted.
+ * On startup the counts from the database and the journal are merged, so no test is lost on a crash.
+ *
+ * Each count has to hand out the exact total of the run that incremented it, which a LongAdder cannot do.
+ * The counts are therefore one AtomicLong per turret, spread over separate cache lines
+ * so that runs on different turrets do not contend.
+ */
+@Component
+@ConditionalOnProperty(name = "battleship-calibration.counter.mode", havingValue = "write-behind")
+@Slf4j
+public class WriteBehindTurretTestCounter implements TurretTestCounter {
+
+    private static final int STRIDE = 16; // 16 longs = 128 bytes between two counts
+    private static final TurretLocation[] TURRET_LOCATIONS = TurretLocation.values();
+
+    private final CalibrationSettingsRepository calibrationSettingsRepository;
+    private final TurretTestCounterJournal journal;
+    private final AtomicLongArray counts = new AtomicLongArray(TURRET_LOCATIONS.length * STRIDE);
+    private final long[] flushed = new long[TURRET_LOCATIONS.length]; // guarded by flushLock
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public WriteBehindTurretTestCounter(CalibrationSettingsRepository calibrationSettingsRepository,
+                                       @Value("${battleship-calibration.counter.journal-path}") String journalPath) {
+        this.calibrationSettingsRepository = calibrationSettingsRepository;
+        this.journal = new TurretTestCounterJournal(Path.of(journalPath));
+    }
+
+    /**
+     * Loads the counts from the database, replays the journal on top of them and writes the result back,
+     * so that the database is up-to-date before the first run.
+     */
+    @PostConstruct
+    public void recover() throws IOException {
+        calibrationSettingsRepository.findAll().forEach(calibrationSetting -> {
+            counts.set(index(calibrationSetting.getTurretLocation()), calibrationSetting.getNumberOfTests());
+            flushed[calibrationSetting.getTurretLocation().ordinal()] = calibrationSetting.getNumberOfTests();
+        });
+        journal.replay((turretLocation, total) -> counts.accumulateAndGet(index(turretLocation), total, Math::max));
+        journal.open();
+        flush();
+        journal.checkpoint(this::currentTotal);
+        log.info("Write-behind turret test counter started");
+    }
+
+    @Override
+    public int increment(TurretLocation turretLocation) {
+        var total = counts.incrementAndGet(index(turretLocation));
+        journal.append(turretLocation, total);
+        return Math.toIntExact(total);
+    }
+
+    @Override
+    public int[] add(int[] numberOfTests) {
+        var totals = new int[numberOfTests.length];
+        for (var turretLocation : TURRET_LOCATIONS) {
+            var ordinal = turretLocation.ordinal();
+            if (numberOfTests[ordinal] > 0) {
+                var total = counts.addAndGet(index(turretLocation), numberOfTests[ordinal]);
+                journal.append(turretLocation, total);
+                totals[ordinal] = Math.toIntExact(total);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Writes the counts that changed since the previous flush in one transaction, then compacts the journal.
+     */
+    @Scheduled(fixedDelayString = "${battleship-calibration.counter.flush-interval-ms}")
+    public void flush() throws IOException {
+        flushLock.lock();
+        try {
+            var changed = new ArrayList<CalibrationSetting>(TURRET_LOCATIONS.length);
+            for (var turretLocation : TURRET_LOCATIONS) {
+                var total = currentTotal(turretLocation);
+                if (total != flushed[turretLocation.ordinal()]) {
+                    changed.add(CalibrationSetting.builder()
+                            .turretLocation(turretLocation)
+                            .numberOfTests(Math.toIntExact(total))
+                            .build());
+                }
+            }
+            if (changed.isEmpty()) {
+                return;
+            }
+            calibrationSettingsRepository.saveAll(changed);
+            changed.forEach(calibrationSetting ->
+                    flushed[calibrationSetting.getTurretLocation().ordinal()] = calibrationSetting.getNumberOfTests());
+            journal.checkpoint(this::currentTotal);
+            log.debug("Flushed test counts of {} turrets", changed.size());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        try {
+            flush();
+        } finally {
+            journal.close();
+        }
+        log.info("Write-behind turret test counter stopped");
+    }
+
+    private long currentTotal(TurretLocation turretLocation) {
+        return counts.get(index(turretLocation));
+    }
+
+    private static int index(TurretLocation turretLocation) {
+        return turretLocation.ordinal() * STRIDE;
+    }
+}
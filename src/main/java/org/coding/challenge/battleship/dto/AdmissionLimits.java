@@ -0,0 +1,23 @@
+package org.coding.challenge.battleship.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Limits of the admission control, read and replaced at run time with GET and PUT /calibration/admission.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class AdmissionLimits {
+
+    private double turretRatePerSecond; // 0 for no limit
+    private int turretBurst;
+    private int minConcurrency;
+    private int maxConcurrency;
+    private long targetLatencyMs;
+}
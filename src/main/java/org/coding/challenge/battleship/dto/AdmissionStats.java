@@ -0,0 +1,21 @@
+package org.coding.challenge.battleship.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Data;
+import org.coding.challenge.battleship.enums.TurretLocation;
+
+import java.util.Map;
+
+@Data
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class AdmissionStats {
+
+    private AdmissionLimits limits;
+    private int concurrencyLimit; // current adaptive limit
+    private int inFlight;
+    private Map<TurretLocation, Long> rejectedByTurretRate;
+    private long rejectedByConcurrency;
+}
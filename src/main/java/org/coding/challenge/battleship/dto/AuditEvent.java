@@ -0,0 +1,31 @@
+package org.coding.challenge.battleship.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Data;
+import org.coding.challenge.battleship.enums.TurretLocation;
+
+import java.time.Instant;
+
+/**
+ * A settings or a run event of the audit journal. Settings events carry the setting,
+ * run events carry the distance and the number of tests.
+ */
+@Data
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AuditEvent {
+
+    private Instant time;
+    private String event;
+    private TurretLocation location;
+    private Long caliber;
+    private Long rotationStartPoint;
+    private Long rotationEndPoint;
+    private Integer rotations;
+    private Long distanceInDegrees;
+    private Integer numberOfTests;
+}
@@ -0,0 +1,23 @@
+package org.coding.challenge.battleship.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Outcome of one entry of a batch run: either its RunResponse or its validation errors.
+ */
+@Data
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchRunResult {
+
+    private int index;
+    private RunResponse result;
+    private Map<String, String> errors;
+}
@@ -0,0 +1,27 @@
+package org.coding.challenge.battleship.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Data;
+import org.coding.challenge.battleship.enums.TurretLocation;
+
+import java.time.Instant;
+
+/**
+ * A settings or a run event pushed to the subscribers of GET /calibration/events.
+ * Settings events carry the setting, run events carry the run response.
+ */
+@Data
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CalibrationEvent {
+
+    private Instant time;
+    private String event;
+    private TurretLocation location;
+    private SettingsRequest settings;
+    private RunResponse run;
+}
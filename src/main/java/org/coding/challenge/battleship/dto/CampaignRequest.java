@@ -0,0 +1,17 @@
+package org.coding.challenge.battleship.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Data;
+
+/**
+ * Definition of a recurring calibration campaign: batch_size runs of the settings every interval_ms.
+ */
+@Data
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class CampaignRequest {
+
+    private SettingsRequest settings;
+    private long intervalMs;
+    private int batchSize = 1;
+}
@@ -0,0 +1,27 @@
+package org.coding.challenge.battleship.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class CampaignStats {
+
+    private String name;
+    private SettingsRequest settings;
+    private long intervalMs;
+    private int batchSize;
+    private Instant createdAt;
+    private Instant nextRunAt;
+    private long runs; // settings run since the campaign was scheduled on this instance
+    private long failedRuns;
+    private long skippedTicks; // ticks missed because the previous one was still waiting or running
+    private double runsPerSecond;
+    private long lastLagMs; // from the time a tick was due to the time it started running
+    private long maxLagMs;
+}
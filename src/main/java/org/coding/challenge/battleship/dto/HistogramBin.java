@@ -0,0 +1,19 @@
+package org.coding.challenge.battleship.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Number of values from lower (inclusive) to upper (exclusive).
+ */
+@Data
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class HistogramBin {
+
+    private double lower;
+    private double upper;
+    private long count;
+}
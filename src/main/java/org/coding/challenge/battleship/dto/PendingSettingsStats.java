@@ -0,0 +1,19 @@
+package org.coding.challenge.battleship.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class PendingSettingsStats {
+
+    private String mode;
+    private int capacity;
+    private int depth;
+    private long accepted;
+    private long rejected; // offered while the queue was full
+    private long overwritten; // replaced by a newer setting before being run
+}
@@ -0,0 +1,26 @@
+package org.coding.challenge.battleship.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Latency of one phase of a calibration endpoint in a flight recording, see CalibrationPhaseSummary.
+ */
+@Data
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class PhaseLatency {
+
+    private String endpoint;
+    private String phase; // "unattributed" is the request time outside every other phase
+    private String outcome;
+    private long count;
+    private double totalMs;
+    private double meanMs;
+    private double p50Ms;
+    private double p99Ms;
+    private double maxMs;
+    private double shareOfRequests; // total time of the phase / total time of the requests of the endpoint
+}
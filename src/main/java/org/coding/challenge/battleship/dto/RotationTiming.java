@@ -0,0 +1,21 @@
+package org.coding.challenge.battleship.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * One rotation of a SweepSimulation: when it starts, reaches the rotation point and settles at settle_point.
+ */
+@Data
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class RotationTiming {
+
+    private int rotation;
+    private double startMs;
+    private double reachedMs;
+    private double settledMs;
+    private long settlePoint;
+}
@@ -0,0 +1,29 @@
+package org.coding.challenge.battleship.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.coding.challenge.battleship.enums.TurretLocation;
+
+import java.time.Instant;
+
+/**
+ * One run of the run history. The id is 0 until the run is written to RUN_HISTORY.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class RunHistoryEntry {
+
+    private long id;
+    private Instant time;
+    private TurretLocation location;
+    private long caliber;
+    private long distanceInDegrees;
+    private int numberOfTests;
+}
@@ -0,0 +1,21 @@
+package org.coding.challenge.battleship.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A page of the run history. next_after is the value of the after parameter of the next page,
+ * and is null on the last page.
+ */
+@Data
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class RunHistoryPage {
+
+    private List<RunHistoryEntry> runs;
+    private Long nextAfter;
+}
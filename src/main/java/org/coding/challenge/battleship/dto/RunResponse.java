@@ -1,5 +1,6 @@
 package org.coding.challenge.battleship.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import lombok.Builder;
@@ -12,4 +13,10 @@ public class RunResponse {
 
     private int numberOfTests;
     private long distanceInDegrees;
+
+    /**
+     * Absent when the simulation is disabled.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private SweepSimulation simulation;
 }
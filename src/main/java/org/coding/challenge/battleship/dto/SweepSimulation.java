@@ -0,0 +1,25 @@
+package org.coding.challenge.battleship.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Simulated sweep of a turret setting, in milliseconds from the start of the first rotation.
+ * Every rotation moves the turret from one rotation point to the other and waits for it to settle there.
+ * Rotation timings are listed for the first rotations only, as every rotation lasts move_ms + settle_ms.
+ */
+@Data
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class SweepSimulation {
+
+    private double sweepDurationMs;
+    private double moveMs;
+    private double settleMs;
+    private double peakVelocity;
+    private List<RotationTiming> rotationTimings;
+}
@@ -0,0 +1,31 @@
+package org.coding.challenge.battleship.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Distribution of the angular distance achieved by the trials of a ToleranceRequest, in degrees.
+ * within_tolerance is the share of trials that landed within tolerance degrees of nominal_distance.
+ */
+@Data
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class ToleranceEstimate {
+
+    private long samples;
+    private long seed;
+    private long nominalDistance;
+    private double tolerance;
+    private double withinTolerance;
+    private double mean;
+    private double stdDev;
+    private double min;
+    private double max;
+    private Map<String, Double> percentiles;
+    private List<HistogramBin> histogram;
+}
@@ -0,0 +1,25 @@
+package org.coding.challenge.battleship.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Data;
+
+/**
+ * Monte Carlo estimation of the angular distance a setting achieves under mechanical noise.
+ * Each trial draws a caliber around the one of the settings (standard deviation caliber_noise, in mm),
+ * and errors on rotation_start_point and rotation_end_point with a standard deviation of point_noise degrees
+ * for the lightest caliber, growing in proportion to the drawn caliber.
+ * The same seed always gives the same estimate.
+ */
+@Data
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class ToleranceRequest {
+
+    private SettingsRequest settings;
+    private long samples = 1_000_000;
+    private long seed;
+    private double pointNoise = 0.5;
+    private double caliberNoise = 1;
+    private double tolerance = 1;
+    private int bins = 20;
+}
@@ -0,0 +1,30 @@
+package org.coding.challenge.battleship.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Data;
+import org.coding.challenge.battleship.enums.TurretLocation;
+
+import java.util.Map;
+
+/**
+ * Runs of a turret over the last window_seconds. The distance fields are null when the window has no run.
+ */
+@Data
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class TurretStats {
+
+    private TurretLocation location;
+    private long windowSeconds;
+    private long runs; // since the start of the application
+    private long windowRuns;
+    private double runsPerSecond;
+    private Long distanceMin;
+    private Double distanceMean;
+    private Long distanceP50;
+    private Long distanceP99;
+    private Long distanceMax;
+    private Map<String, Long> caliberMix; // runs in the window by caliber range
+}
@@ -0,0 +1,27 @@
+package org.coding.challenge.battleship.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of times a turret of the fleet has been tested.
+ * A turret is identified by its ship and its own id, joined as "shipId/turretId".
+ */
+@Entity
+@Table(name = "FLEET_CALIBRATION_SETTING")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FleetCalibrationSetting {
+
+    @Id
+    private String turretKey;
+    private int numberOfTests;
+
+}
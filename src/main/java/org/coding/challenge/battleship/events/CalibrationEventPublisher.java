@@ -0,0 +1,16 @@
+package org.coding.challenge.battleship.events;
+
+import org.coding.challenge.battleship.dto.RunResponse;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+
+/**
+ * Pushes every saved setting and every run to the subscribers of the calibration events.
+ * Publishing never waits for a subscriber.
+ */
+public interface CalibrationEventPublisher {
+
+    void publishSettings(SettingsRequest settingsRequest);
+
+    void publishRun(TurretLocation turretLocation, RunResponse runResponse);
+}
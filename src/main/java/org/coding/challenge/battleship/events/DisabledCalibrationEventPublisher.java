@@ -0,0 +1,23 @@
+package org.coding.challenge.battleship.events;
+
+import org.coding.challenge.battleship.dto.RunResponse;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default, used unless battleship-calibration.events.enabled=true. Nothing is published.
+ */
+@Component
+@ConditionalOnProperty(name = "battleship-calibration.events.enabled", havingValue = "false", matchIfMissing = true)
+public class DisabledCalibrationEventPublisher implements CalibrationEventPublisher {
+
+    @Override
+    public void publishSettings(SettingsRequest settingsRequest) {
+    }
+
+    @Override
+    public void publishRun(TurretLocation turretLocation, RunResponse runResponse) {
+    }
+}
@@ -0,0 +1,226 @@
+package org.coding.challenge.battleship.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.coding.challenge.battleship.dto.CalibrationEvent;
+import org.coding.challenge.battleship.dto.RunResponse;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-sent event publisher, enabled with battleship-calibration.events.enabled=true.
+ * Subscribers receive server-sent events named settings or run, with a CalibrationEvent as JSON data.
+ *
+ * A run only offers its event to a bounded queue, and nothing at all when there is no subscriber.
+ * One dispatcher thread serializes each event once and offers it to the bounded buffer of every subscriber,
+ * and each subscriber with pending events is written to by its own virtual thread, so a slow subscriber
+ * only ever holds up itself. A subscriber whose buffer is full is disconnected and has to subscribe again.
+ * If the dispatcher falls behind, new events are dropped instead of slowing down runs.
+ * A comment is sent every heartbeat interval, so that closed connections are noticed even without events.
+ */
+@Component
+@ConditionalOnProperty(name = "battleship-calibration.events.enabled", havingValue = "true")
+@Slf4j
+public class SseCalibrationEventPublisher implements CalibrationEventPublisher {
+
+    private static final CalibrationEvent HEARTBEAT = CalibrationEvent.builder().build();
+
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<CalibrationEvent> published;
+    private final int subscriberBuffer;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong nextId = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong droppedSubscribers = new AtomicLong();
+    private Thread dispatcher;
+
+    public SseCalibrationEventPublisher(ObjectMapper objectMapper,
+                                        @Value("${battleship-calibration.events.queue-capacity}") int queueCapacity,
+                                        @Value("${battleship-calibration.events.subscriber-buffer}") int subscriberBuffer) {
+        this.objectMapper = objectMapper;
+        this.published = new ArrayBlockingQueue<>(queueCapacity);
+        this.subscriberBuffer = subscriberBuffer;
+    }
+
+    @PostConstruct
+    public void start() {
+        dispatcher = Thread.ofPlatform().daemon().name("calibration-events").start(this::dispatch);
+    }
+
+    /**
+     * @return an emitter that receives every event published from now on, until the client disconnects
+     */
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter());
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        var subscriber = new Subscriber(emitter);
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return subscriber.emitter;
+    }
+
+    public int subscribers() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void publishSettings(SettingsRequest settingsRequest) {
+        if (!subscribers.isEmpty()) {
+            publish(CalibrationEvent.builder()
+                    .time(Instant.now())
+                    .event("settings")
+                    .location(settingsRequest.getLocation())
+                    .settings(settingsRequest)
+                    .build());
+        }
+    }
+
+    @Override
+    public void publishRun(TurretLocation turretLocation, RunResponse runResponse) {
+        if (!subscribers.isEmpty()) {
+            publish(CalibrationEvent.builder()
+                    .time(Instant.now())
+                    .event("run")
+                    .location(turretLocation)
+                    .run(runResponse)
+                    .build());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${battleship-calibration.events.heartbeat-interval-ms}")
+    public void heartbeat() {
+        if (!subscribers.isEmpty()) {
+            publish(HEARTBEAT);
+        }
+    }
+
+    private void publish(CalibrationEvent calibrationEvent) {
+        if (!published.offer(calibrationEvent)) {
+            droppedEvents.incrementAndGet();
+        }
+    }
+
+    private void dispatch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                var calibrationEvent = published.take();
+                Set<DataWithMediaType> data;
+                try {
+                    data = serialize(calibrationEvent);
+                } catch (JsonProcessingException e) {
+                    log.error("Could not serialize calibration event {}", calibrationEvent, e);
+                    continue;
+                }
+                for (var subscriber : subscribers) {
+                    subscriber.offer(data);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Set<DataWithMediaType> serialize(CalibrationEvent calibrationEvent) throws JsonProcessingException {
+        if (calibrationEvent == HEARTBEAT) {
+            return SseEmitter.event().comment("heartbeat").build();
+        }
+        return SseEmitter.event()
+                .id(String.valueOf(nextId.incrementAndGet()))
+                .name(calibrationEvent.getEvent())
+                .data(objectMapper.writeValueAsString(calibrationEvent))
+                .build();
+    }
+
+    @PreDestroy
+    public void stop() {
+        dispatcher.interrupt();
+        subscribers.forEach(Subscriber::disconnect);
+        senders.shutdown();
+        log.info("Calibration events stopped, {} events and {} slow subscribers dropped",
+                droppedEvents.get(), droppedSubscribers.get());
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> pending = new ArrayBlockingQueue<>(subscriberBuffer);
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean disconnected;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Called by the dispatcher only, never blocks.
+         */
+        private void offer(Set<DataWithMediaType> data) {
+            if (!pending.offer(data)) {
+                droppedSubscribers.incrementAndGet();
+                log.debug("Disconnected a calibration events subscriber that fell {} events behind", subscriberBuffer);
+                disconnect();
+                return;
+            }
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        /**
+         * The emitter is completed by the sender thread, as it may be blocked in a write to the client.
+         */
+        private void disconnect() {
+            disconnected = true;
+            subscribers.remove(this);
+            pending.clear();
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        private void send() {
+            try {
+                do {
+                    Set<DataWithMediaType> data;
+                    while (!disconnected && (data = pending.poll()) != null) {
+                        emitter.send(data);
+                    }
+                    if (disconnected) {
+                        emitter.complete();
+                        return;
+                    }
+                    sending.set(false);
+                    // a disconnect between the check above and now found sending set, so it is completed here
+                } while ((disconnected || !pending.isEmpty()) && sending.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
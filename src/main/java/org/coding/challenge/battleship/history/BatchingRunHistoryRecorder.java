@@ -0,0 +1,85 @@
+package org.coding.challenge.battleship.history;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.coding.challenge.battleship.dto.RunHistoryEntry;
+import org.coding.challenge.battleship.pending.PendingSetting;
+import org.coding.challenge.battleship.repository.RunHistoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Run history, enabled with battleship-calibration.history.enabled=true.
+ *
+ * Runs wait in a bounded queue and are inserted into RUN_HISTORY by batch-size JDBC batches,
+ * every flush-interval-ms and at shutdown, so a run never waits for its history row.
+ * When the queue is full, the run flushes the queue itself, which slows runs down instead of losing history.
+ * A batch that cannot be inserted is logged and dropped; it does not fail the runs.
+ * Batches are inserted one at a time under flushLock, which the keyset reads of RunHistoryRepository rely on,
+ * so only one node may write the run history of a database.
+ */
+@Component
+@ConditionalOnProperty(name = "battleship-calibration.history.enabled", havingValue = "true")
+@Slf4j
+public class BatchingRunHistoryRecorder implements RunHistoryRecorder {
+
+    private final RunHistoryRepository runHistoryRepository;
+    private final BlockingQueue<RunHistoryEntry> pending;
+    private final int batchSize;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public BatchingRunHistoryRecorder(RunHistoryRepository runHistoryRepository,
+                                      @Value("${battleship-calibration.history.queue-capacity}") int queueCapacity,
+                                      @Value("${battleship-calibration.history.batch-size}") int batchSize) {
+        this.runHistoryRepository = runHistoryRepository;
+        this.pending = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void record(PendingSetting pendingSetting, int numberOfTests) {
+        var runHistoryEntry = RunHistoryEntry.builder()
+                .time(Instant.now())
+                .location(pendingSetting.turretLocation())
+                .caliber(pendingSetting.caliber())
+                .distanceInDegrees(pendingSetting.totalDistance())
+                .numberOfTests(numberOfTests)
+                .build();
+        while (!pending.offer(runHistoryEntry)) {
+            flush();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${battleship-calibration.history.flush-interval-ms}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<RunHistoryEntry> batch = new ArrayList<>(batchSize);
+            while (pending.drainTo(batch, batchSize) > 0) {
+                try {
+                    runHistoryRepository.insertAll(batch);
+                } catch (DataAccessException e) {
+                    log.error("Dropped {} runs that could not be written to the run history", batch.size(), e);
+                }
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
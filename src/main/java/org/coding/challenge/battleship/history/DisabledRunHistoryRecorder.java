@@ -0,0 +1,17 @@
+package org.coding.challenge.battleship.history;
+
+import org.coding.challenge.battleship.pending.PendingSetting;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default, used unless battleship-calibration.history.enabled=true. Runs are not kept.
+ */
+@Component
+@ConditionalOnProperty(name = "battleship-calibration.history.enabled", havingValue = "false", matchIfMissing = true)
+public class DisabledRunHistoryRecorder implements RunHistoryRecorder {
+
+    @Override
+    public void record(PendingSetting pendingSetting, int numberOfTests) {
+    }
+}
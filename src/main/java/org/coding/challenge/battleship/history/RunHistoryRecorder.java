@@ -0,0 +1,11 @@
+package org.coding.challenge.battleship.history;
+
+import org.coding.challenge.battleship.pending.PendingSetting;
+
+/**
+ * Keeps every run in RUN_HISTORY.
+ */
+public interface RunHistoryRecorder {
+
+    void record(PendingSetting pendingSetting, int numberOfTests);
+}
@@ -0,0 +1,91 @@
+package org.coding.challenge.battleship.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * One on-demand flight recording of the {@link CalibrationPhaseEvent} events at a time, enabled with
+ * battleship-calibration.jfr.enabled=true.
+ *
+ * The recording keeps at most max-size-mb on disk and stops by itself after its duration, so a forgotten
+ * recording does not grow without bound. Stopping it dumps the events to a temporary file for the caller.
+ */
+@Component
+@ConditionalOnProperty(name = "battleship-calibration.jfr.enabled", havingValue = "true")
+@Slf4j
+public class CalibrationFlightRecorder {
+
+    private final long maxSizeBytes;
+    private final Duration maxDuration;
+    private Recording recording; // guarded by this
+
+    public CalibrationFlightRecorder(@Value("${battleship-calibration.jfr.max-size-mb}") long maxSizeMb,
+                                     @Value("${battleship-calibration.jfr.max-duration-seconds}") long maxDurationSeconds) {
+        if (maxSizeMb < 1 || maxDurationSeconds < 1) {
+            throw new IllegalArgumentException("Flight recordings need a size and a duration of at least 1");
+        }
+        this.maxSizeBytes = maxSizeMb << 20;
+        this.maxDuration = Duration.ofSeconds(maxDurationSeconds);
+    }
+
+    /**
+     * @param duration time after which the recording stops by itself, at most max-duration-seconds
+     */
+    public synchronized void start(Duration duration) {
+        if (recording != null) {
+            throw new IllegalArgumentException("A calibration recording is already in progress. Please stop it first.");
+        }
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("duration must be between 1 and " + maxDuration.toSeconds() + " seconds");
+        }
+        var newRecording = new Recording();
+        newRecording.setName("calibration");
+        newRecording.enable(CalibrationPhaseEvent.NAME).withThreshold(Duration.ZERO).withoutStackTrace();
+        newRecording.setToDisk(true);
+        newRecording.setMaxSize(maxSizeBytes);
+        newRecording.setDuration(duration);
+        newRecording.start();
+        recording = newRecording;
+        log.info("Started a calibration flight recording for at most {} seconds", duration.toSeconds());
+    }
+
+    /**
+     * Stops the recording if it is still running and dumps it.
+     * @return temporary .jfr file, to be deleted by the caller
+     */
+    public synchronized Path stop() throws IOException {
+        if (recording == null) {
+            throw new IllegalArgumentException("No calibration recording is in progress. Please start one first.");
+        }
+        try {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            var file = Files.createTempFile("calibration-", ".jfr");
+            recording.dump(file);
+            log.info("Stopped the calibration flight recording, {} bytes", Files.size(file));
+            return file;
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
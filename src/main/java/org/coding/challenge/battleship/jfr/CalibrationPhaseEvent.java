@@ -0,0 +1,81 @@
+package org.coding.challenge.battleship.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import org.coding.challenge.battleship.enums.TurretLocation;
+
+/**
+ * JDK Flight Recorder event timing one phase of PUT /calibration/settings or POST /calibration/run.
+ *
+ * The event is disabled unless a recording enables it, e.g. through POST /calibration/recordings/start. While it is
+ * disabled, begin, end and shouldCommit do nothing and the JIT removes the allocation, so the phases cost nothing
+ * measurable. Use it as:
+ * <pre>
+ * var event = CalibrationPhaseEvent.start();
+ * ... the phase ...
+ * event.finish(CalibrationPhaseEvent.RUN, "count", turretLocation, CalibrationPhaseEvent.SUCCESS);
+ * </pre>
+ */
+@Name(CalibrationPhaseEvent.NAME)
+@Label("Calibration Phase")
+@Description("Duration of one phase of a calibration request")
+@Category({"Battleship", "Calibration"})
+@Enabled(false)
+@StackTrace(false)
+@Threshold("0 ms")
+public class CalibrationPhaseEvent extends Event {
+
+    public static final String NAME = "org.coding.challenge.battleship.CalibrationPhase";
+
+    public static final String SETTINGS = "settings";
+    public static final String RUN = "run";
+
+    /** Whole request, from the servlet filter, including the phases below and the response serialization. */
+    public static final String REQUEST = "request";
+
+    public static final String SUCCESS = "success";
+    public static final String INVALID = "invalid";
+    public static final String REJECTED = "rejected";
+    public static final String NO_SETTINGS = "no_settings";
+    public static final String ERROR = "error";
+
+    @Label("Endpoint")
+    @Description("settings or run")
+    String endpoint;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Turret")
+    @Description("Bow or Stern, or null when not known yet")
+    String turret;
+
+    @Label("Outcome")
+    String outcome;
+
+    public static CalibrationPhaseEvent start() {
+        var event = new CalibrationPhaseEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the phase and commits the event if a recording enables it and it is over its threshold.
+     */
+    public void finish(String endpoint, String phase, TurretLocation turretLocation, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.endpoint = endpoint;
+            this.phase = phase;
+            this.turret = turretLocation == null ? null : turretLocation.name();
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
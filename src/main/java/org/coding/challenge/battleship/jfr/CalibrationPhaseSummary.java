@@ -0,0 +1,181 @@
+package org.coding.challenge.battleship.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.coding.challenge.battleship.dto.PhaseLatency;
+import org.coding.challenge.battleship.enums.TurretLocation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Turns a flight recording of {@link CalibrationPhaseEvent} events into a latency breakdown by endpoint, phase and
+ * outcome: count, total, mean, p50, p99 and max in milliseconds, and the share of the request time of the endpoint.
+ *
+ * Phases are matched to their request by thread and time, as a request runs on a single thread, and the request time
+ * outside every phase is reported as the unattributed phase. Used by POST /calibration/recordings/stop?format=summary,
+ * and from the command line on a downloaded recording:
+ * <pre>
+ * java -cp target/classes org.coding.challenge.battleship.jfr.CalibrationPhaseSummary calibration.jfr [--location=Bow]
+ * </pre>
+ */
+public final class CalibrationPhaseSummary {
+
+    static final String UNATTRIBUTED = "unattributed";
+
+    private CalibrationPhaseSummary() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: CalibrationPhaseSummary <recording.jfr> [--location=Bow|Stern]");
+            System.exit(2);
+        }
+        var location = Arrays.stream(args)
+                .filter(arg -> arg.startsWith("--location="))
+                .map(arg -> TurretLocation.valueOf(arg.substring("--location=".length())))
+                .findFirst()
+                .orElse(null);
+
+        System.out.printf("%-9s %-13s %-12s %9s %11s %9s %9s %9s %9s %8s%n", "endpoint", "phase", "outcome",
+                "count", "total ms", "mean ms", "p50 ms", "p99 ms", "max ms", "share");
+        for (var phaseLatency : summarize(Path.of(args[0]), location)) {
+            System.out.printf("%-9s %-13s %-12s %9d %11.1f %9.3f %9.3f %9.3f %9.3f %7.1f%%%n",
+                    phaseLatency.getEndpoint(), phaseLatency.getPhase(), phaseLatency.getOutcome(),
+                    phaseLatency.getCount(), phaseLatency.getTotalMs(), phaseLatency.getMeanMs(),
+                    phaseLatency.getP50Ms(), phaseLatency.getP99Ms(), phaseLatency.getMaxMs(),
+                    phaseLatency.getShareOfRequests() * 100);
+        }
+    }
+
+    /**
+     * @param turretLocation only the phases of this turret, and the requests that ran them, or null for every turret
+     * @return one row per endpoint, phase and outcome, the request phase first for each endpoint
+     */
+    public static List<PhaseLatency> summarize(Path recording, TurretLocation turretLocation) throws IOException {
+        List<Phase> requests = new ArrayList<>();
+        Map<Long, List<Phase>> phasesByThread = new HashMap<>();
+        for (var recordedEvent : RecordingFile.readAllEvents(recording)) {
+            if (recordedEvent.getEventType().getName().equals(CalibrationPhaseEvent.NAME)) {
+                var phase = Phase.of(recordedEvent);
+                if (CalibrationPhaseEvent.REQUEST.equals(phase.phase)) {
+                    requests.add(phase);
+                } else {
+                    phasesByThread.computeIfAbsent(phase.threadId, threadId -> new ArrayList<>()).add(phase);
+                }
+            }
+        }
+        phasesByThread.values().forEach(phases -> phases.sort(Comparator.comparingLong(phase -> phase.startNanos)));
+
+        var turret = turretLocation == null ? null : turretLocation.name();
+        Map<String, List<Long>> durations = new TreeMap<>();
+        Map<String, Long> requestNanos = new HashMap<>();
+        for (var request : requests) {
+            var phases = phasesOf(request, phasesByThread.getOrDefault(request.threadId, List.of()));
+            var requestTurret = request.turret;
+            for (int index = 0; requestTurret == null && index < phases.size(); index++) {
+                requestTurret = phases.get(index).turret;
+            }
+            if (turret != null && !turret.equals(requestTurret)) {
+                continue;
+            }
+            var unattributedNanos = request.durationNanos;
+            for (var phase : phases) {
+                unattributedNanos -= phase.durationNanos;
+            }
+            add(durations, request.endpoint, request.phase, request.outcome, request.durationNanos);
+            add(durations, request.endpoint, UNATTRIBUTED, request.outcome, Math.max(0, unattributedNanos));
+            requestNanos.merge(request.endpoint, request.durationNanos, Long::sum);
+        }
+        for (var phases : phasesByThread.values()) {
+            for (var phase : phases) {
+                if (turret == null || turret.equals(phase.turret)) {
+                    add(durations, phase.endpoint, phase.phase, phase.outcome, phase.durationNanos);
+                }
+            }
+        }
+
+        List<PhaseLatency> phaseLatencies = new ArrayList<>(durations.size());
+        for (var entry : durations.entrySet()) {
+            var key = entry.getKey().split("\u0000", -1);
+            var sorted = entry.getValue().stream().mapToLong(Long::longValue).sorted().toArray();
+            var total = Arrays.stream(sorted).sum();
+            var endpointNanos = requestNanos.getOrDefault(key[0], 0L);
+            phaseLatencies.add(PhaseLatency.builder()
+                    .endpoint(key[0])
+                    .phase(key[1])
+                    .outcome(key[2])
+                    .count(sorted.length)
+                    .totalMs(total / 1e6)
+                    .meanMs(total / 1e6 / sorted.length)
+                    .p50Ms(percentile(sorted, 0.5) / 1e6)
+                    .p99Ms(percentile(sorted, 0.99) / 1e6)
+                    .maxMs(sorted[sorted.length - 1] / 1e6)
+                    .shareOfRequests(endpointNanos == 0 ? 0 : (double) total / endpointNanos)
+                    .build());
+        }
+        phaseLatencies.sort(Comparator.comparing(PhaseLatency::getEndpoint)
+                .thenComparing(phaseLatency -> !CalibrationPhaseEvent.REQUEST.equals(phaseLatency.getPhase()))
+                .thenComparing(Comparator.comparingDouble(PhaseLatency::getTotalMs).reversed()));
+        return phaseLatencies;
+    }
+
+    /**
+     * Phases of the thread of the request that started and ended within it.
+     */
+    private static List<Phase> phasesOf(Phase request, List<Phase> threadPhases) {
+        var requestEnd = request.startNanos + request.durationNanos;
+        int low = 0;
+        int high = threadPhases.size();
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (threadPhases.get(middle).startNanos < request.startNanos) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        List<Phase> phases = new ArrayList<>();
+        for (int index = low; index < threadPhases.size() && threadPhases.get(index).startNanos <= requestEnd; index++) {
+            var phase = threadPhases.get(index);
+            if (phase.startNanos + phase.durationNanos <= requestEnd) {
+                phases.add(phase);
+            }
+        }
+        return phases;
+    }
+
+    private static void add(Map<String, List<Long>> durations, String endpoint, String phase, String outcome,
+                            long durationNanos) {
+        durations.computeIfAbsent(endpoint + '\u0000' + phase + '\u0000' + outcome, key -> new ArrayList<>())
+                .add(durationNanos);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[(int) Math.max(0, Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private record Phase(String endpoint, String phase, String turret, String outcome, long threadId,
+                         long startNanos, long durationNanos) {
+
+        private static Phase of(RecordedEvent recordedEvent) {
+            var thread = recordedEvent.getThread();
+            return new Phase(recordedEvent.getString("endpoint"), recordedEvent.getString("phase"),
+                    recordedEvent.getString("turret"), recordedEvent.getString("outcome"),
+                    thread == null ? -1 : thread.getJavaThreadId(), epochNanos(recordedEvent.getStartTime()),
+                    recordedEvent.getDuration().toNanos());
+        }
+
+        private static long epochNanos(Instant instant) {
+            return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.coding.challenge.battleship.jfr;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.coding.challenge.battleship.admission.AdmissionFilter;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Times the whole of PUT /calibration/settings and POST /calibration/run as the request phase of a
+ * {@link CalibrationPhaseEvent}, so the time outside the other phases (Tomcat, Spring MVC, response serialization,
+ * logging) shows up in the summary of a recording. The turret is the one of the X-Turret-Location header, if any.
+ */
+public class CalibrationRequestEventFilter extends OncePerRequestFilter {
+
+    private static final String SETTINGS_PATH = "/calibration/settings";
+    private static final String RUN_PATH = "/calibration/run";
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        var path = request.getRequestURI().substring(request.getContextPath().length());
+        return switch (request.getMethod()) {
+            case "PUT" -> !path.equals(SETTINGS_PATH);
+            case "POST" -> !path.equals(RUN_PATH);
+            default -> true;
+        };
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var event = CalibrationPhaseEvent.start();
+        var outcome = CalibrationPhaseEvent.ERROR;
+        try {
+            filterChain.doFilter(request, response);
+            outcome = outcome(request.getMethod(), response.getStatus());
+        } finally {
+            if (event.isEnabled()) {
+                event.finish("PUT".equals(request.getMethod()) ? CalibrationPhaseEvent.SETTINGS : CalibrationPhaseEvent.RUN,
+                        CalibrationPhaseEvent.REQUEST, turretLocation(request.getHeader(AdmissionFilter.TURRET_HEADER)),
+                        outcome);
+            }
+        }
+    }
+
+    private static String outcome(String method, int status) {
+        if (status < 400) {
+            return CalibrationPhaseEvent.SUCCESS;
+        }
+        if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return CalibrationPhaseEvent.REJECTED;
+        }
+        if (status == HttpStatus.BAD_REQUEST.value()) {
+            return "PUT".equals(method) ? CalibrationPhaseEvent.INVALID : CalibrationPhaseEvent.NO_SETTINGS;
+        }
+        return CalibrationPhaseEvent.ERROR;
+    }
+
+    private static TurretLocation turretLocation(String header) {
+        if (header != null) {
+            for (var turretLocation : TurretLocation.values()) {
+                if (turretLocation.name().equalsIgnoreCase(header)) {
+                    return turretLocation;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,43 @@
+package org.coding.challenge.battleship.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.coding.challenge.battleship.admission.AdmissionControl;
+import org.coding.challenge.battleship.enums.TurretLocation;
+
+/**
+ * State of the admission control, read when scraped: the calibration.admission.limit and
+ * calibration.admission.in.flight gauges, and the calibration.admission.rejected counter tagged by reason
+ * (turret-rate or concurrency) and turret.
+ */
+@RequiredArgsConstructor
+public class AdmissionMetrics implements MeterBinder {
+
+    private final AdmissionControl admissionControl;
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("calibration.admission.limit", admissionControl, AdmissionControl::concurrencyLimit)
+                .description("Current adaptive limit of concurrent calibration requests")
+                .register(meterRegistry);
+        Gauge.builder("calibration.admission.in.flight", admissionControl, AdmissionControl::inFlight)
+                .description("Admitted calibration requests in progress")
+                .register(meterRegistry);
+        for (var turretLocation : TurretLocation.values()) {
+            FunctionCounter.builder("calibration.admission.rejected", admissionControl,
+                            control -> control.rejectedByTurretRate(turretLocation))
+                    .description("Calibration requests refused with 429 before being read")
+                    .tag("reason", "turret-rate")
+                    .tag("turret", turretLocation.name())
+                    .register(meterRegistry);
+        }
+        FunctionCounter.builder("calibration.admission.rejected", admissionControl, AdmissionControl::rejectedByConcurrency)
+                .description("Calibration requests refused with 429 before being read")
+                .tag("reason", "concurrency")
+                .tag("turret", "none")
+                .register(meterRegistry);
+    }
+}
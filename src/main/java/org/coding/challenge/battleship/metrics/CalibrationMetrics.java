@@ -0,0 +1,97 @@
+package org.coding.challenge.battleship.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the calibration endpoints, exposed at /actuator/prometheus:
+ * calibration.settings and calibration.run timers tagged by turret and outcome,
+ * the calibration.settings.invalid counter tagged by turret, and calibration.repository timers tagged by method.
+ *
+ * Every meter is registered up front and looked up by index, so recording does not build tags or allocate.
+ * A turret tag of "none" means the turret is unknown, e.g. a run without any pending setting.
+ */
+@Component
+public class CalibrationMetrics {
+
+    public enum Outcome {
+        SUCCESS, REJECTED, NO_SETTINGS, ERROR;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final String NO_TURRET = "none";
+    private static final TurretLocation[] TURRET_LOCATIONS = TurretLocation.values();
+
+    private final MeterRegistry meterRegistry;
+    private final Timer[][] settingsTimers;
+    private final Timer[][] runTimers;
+    private final Counter[] invalidSettingsCounters = new Counter[TURRET_LOCATIONS.length + 1];
+
+    public CalibrationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.settingsTimers = timers("calibration.settings", "Latency of PUT /calibration/settings",
+                EnumSet.of(Outcome.SUCCESS, Outcome.REJECTED));
+        this.runTimers = timers("calibration.run", "Latency of POST /calibration/run",
+                EnumSet.of(Outcome.SUCCESS, Outcome.NO_SETTINGS, Outcome.ERROR));
+        for (int index = 0; index < invalidSettingsCounters.length; index++) {
+            invalidSettingsCounters[index] = Counter.builder("calibration.settings.invalid")
+                    .description("Settings refused by validation")
+                    .tag("turret", turretTag(index))
+                    .register(meterRegistry);
+        }
+    }
+
+    public void recordSettings(TurretLocation turretLocation, Outcome outcome, long startNanos) {
+        settingsTimers[index(turretLocation)][outcome.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRun(TurretLocation turretLocation, Outcome outcome, long startNanos) {
+        runTimers[index(turretLocation)][outcome.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordInvalidSettings(TurretLocation turretLocation) {
+        invalidSettingsCounters[index(turretLocation)].increment();
+    }
+
+    /**
+     * @param method repository method, as a tag value
+     * @return the timer to record the calls of this method with; callers keep it
+     */
+    public Timer repositoryTimer(String method) {
+        return Timer.builder("calibration.repository")
+                .description("Latency of the calibration repository calls")
+                .tag("method", method)
+                .register(meterRegistry);
+    }
+
+    private Timer[][] timers(String name, String description, Set<Outcome> outcomes) {
+        var timers = new Timer[TURRET_LOCATIONS.length + 1][Outcome.values().length];
+        for (int index = 0; index < timers.length; index++) {
+            for (var outcome : outcomes) {
+                timers[index][outcome.ordinal()] = Timer.builder(name)
+                        .description(description)
+                        .tag("turret", turretTag(index))
+                        .tag("outcome", outcome.tag)
+                        .register(meterRegistry);
+            }
+        }
+        return timers;
+    }
+
+    private static int index(TurretLocation turretLocation) {
+        return turretLocation == null ? 0 : turretLocation.ordinal() + 1;
+    }
+
+    private static String turretTag(int index) {
+        return index == 0 ? NO_TURRET : TURRET_LOCATIONS[index - 1].name();
+    }
+}
@@ -0,0 +1,69 @@
+package org.coding.challenge.battleship.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.coding.challenge.battleship.dto.PendingSettingsStats;
+import org.coding.challenge.battleship.pending.PendingSettingStore;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * State of the pending settings, read from the store when scraped:
+ * calibration.pending.settings (depth) and calibration.pending.settings.capacity gauges, and the
+ * calibration.pending.settings.offers counter tagged by result (accepted, rejected or overwritten).
+ *
+ * The meters of a scrape all read one stats snapshot, taken by the first of them, as the stats of the
+ * shared settings mode count the PENDING_SETTING rows. A snapshot is reused for SNAPSHOT_NANOS.
+ */
+@Component
+@RequiredArgsConstructor
+public class PendingSettingsMetrics implements MeterBinder {
+
+    private static final long SNAPSHOT_NANOS = 1_000_000_000L;
+
+    private final PendingSettingStore pendingSettingStore;
+    private PendingSettingsStats snapshot;
+    private long snapshotTime;
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        var mode = stats().getMode();
+        Gauge.builder("calibration.pending.settings", this, stat(PendingSettingsStats::getDepth))
+                .description("Settings waiting to be run")
+                .tag("mode", mode)
+                .register(meterRegistry);
+        Gauge.builder("calibration.pending.settings.capacity", this, stat(PendingSettingsStats::getCapacity))
+                .description("Maximum number of settings waiting to be run")
+                .tag("mode", mode)
+                .register(meterRegistry);
+        FunctionCounter.builder("calibration.pending.settings.offers", this, stat(PendingSettingsStats::getAccepted))
+                .tag("mode", mode)
+                .tag("result", "accepted")
+                .register(meterRegistry);
+        FunctionCounter.builder("calibration.pending.settings.offers", this, stat(PendingSettingsStats::getRejected))
+                .tag("mode", mode)
+                .tag("result", "rejected")
+                .register(meterRegistry);
+        FunctionCounter.builder("calibration.pending.settings.offers", this, stat(PendingSettingsStats::getOverwritten))
+                .tag("mode", mode)
+                .tag("result", "overwritten")
+                .register(meterRegistry);
+    }
+
+    private static ToDoubleFunction<PendingSettingsMetrics> stat(ToDoubleFunction<PendingSettingsStats> stat) {
+        return metrics -> stat.applyAsDouble(metrics.stats());
+    }
+
+    synchronized PendingSettingsStats stats() {
+        var now = System.nanoTime();
+        if (snapshot == null || now - snapshotTime >= SNAPSHOT_NANOS) {
+            snapshot = pendingSettingStore.stats();
+            snapshotTime = now;
+        }
+        return snapshot;
+    }
+}
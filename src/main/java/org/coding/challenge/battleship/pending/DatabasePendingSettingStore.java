@@ -0,0 +1,109 @@
+package org.coding.challenge.battleship.pending;
+
+import org.coding.challenge.battleship.dto.PendingSettingsStats;
+import org.coding.challenge.battleship.repository.PendingSettingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared settings mode, enabled with battleship-calibration.settings.mode=shared.
+ *
+ * Settings wait in the PENDING_SETTING table and are run in FIFO order, like in the queued mode, but every
+ * instance connected to the same database sees the same queue: a setting saved on one instance can be run
+ * on any other, and is run at most once, see {@link PendingSettingRepository}.
+ * The test counts must then be shared as well, so this mode needs battleship-calibration.counter.mode=direct.
+ *
+ * The capacity is checked against an approximate depth rather than a SELECT COUNT(*) per setting: the depth is
+ * counted once, then kept up to date by the offers and claims of this instance, and counted again by stats()
+ * and before a setting is rejected. The settings saved by other instances since the last count are not seen,
+ * so instances saving settings at the same time can exceed the capacity by that many rows.
+ * The accepted and rejected counts are those of this instance only.
+ */
+@Component
+@ConditionalOnProperty(name = "battleship-calibration.settings.mode", havingValue = "shared")
+public class DatabasePendingSettingStore implements PendingSettingStore {
+
+    private static final long UNKNOWN_DEPTH = -1;
+
+    private final PendingSettingRepository pendingSettingRepository;
+    private final int capacity;
+    private final long retryAfterSeconds;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicLong depth = new AtomicLong(UNKNOWN_DEPTH);
+
+    public DatabasePendingSettingStore(PendingSettingRepository pendingSettingRepository,
+                                       @Value("${battleship-calibration.settings.queue-capacity}") int queueCapacity,
+                                       @Value("${battleship-calibration.settings.retry-after-seconds}") long retryAfterSeconds,
+                                       @Value("${battleship-calibration.counter.mode}") String counterMode) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be at least 1");
+        }
+        if (!"direct".equals(counterMode)) {
+            throw new IllegalArgumentException("The shared settings mode needs battleship-calibration.counter.mode=direct");
+        }
+        this.pendingSettingRepository = pendingSettingRepository;
+        this.capacity = queueCapacity;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public void offer(PendingSetting pendingSetting) {
+        var approximateDepth = depth.get();
+        if (approximateDepth == UNKNOWN_DEPTH || approximateDepth >= capacity) {
+            approximateDepth = count();
+        }
+        if (approximateDepth >= capacity) {
+            rejected.increment();
+            throw new PendingSettingsFullException(retryAfterSeconds);
+        }
+        pendingSettingRepository.insert(pendingSetting);
+        depth.incrementAndGet();
+        accepted.increment();
+    }
+
+    @Override
+    public PendingSetting claim() {
+        var pendingSetting = pendingSettingRepository.claimOldest();
+        if (pendingSetting != null) {
+            depth.updateAndGet(approximateDepth -> approximateDepth > 0 ? approximateDepth - 1 : approximateDepth);
+        }
+        return pendingSetting;
+    }
+
+    /**
+     * Inserts a claimed setting again. It goes to the back of the queue, and is dropped if the queue is full
+     * or the database cannot be reached, so the failure of the run is reported rather than that of the restore.
+     */
+    @Override
+    public boolean restore(PendingSetting pendingSetting) {
+        try {
+            offer(pendingSetting);
+            return true;
+        } catch (PendingSettingsFullException | DataAccessException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public PendingSettingsStats stats() {
+        return PendingSettingsStats.builder()
+                .mode("shared")
+                .capacity(capacity)
+                .depth(count())
+                .accepted(accepted.sum())
+                .rejected(rejected.sum())
+                .build();
+    }
+
+    private int count() {
+        var count = pendingSettingRepository.count();
+        depth.set(count);
+        return count;
+    }
+}
@@ -0,0 +1,31 @@
+package org.coding.challenge.battleship.pending;
+
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+
+/**
+ * Immutable snapshot of a turret setting waiting to be run.
+ * The turret and its total angular distance always travel together, so a run can never pair
+ * the distance of one setting with the turret of another. The caliber is kept for the run history,
+ * and the caliber, rotation points and rotations for the sweep simulation.
+ */
+public record PendingSetting(TurretLocation turretLocation, long totalDistance, long caliber,
+                             long rotationStartPoint, long rotationEndPoint, int rotations) {
+
+    /**
+     * total angular distance = rotations x (rotation_end_point - rotation_start_point)
+     */
+    public static PendingSetting of(SettingsRequest settingsRequest) {
+        return new PendingSetting(settingsRequest.getLocation(), settingsRequest.getRotations() *
+                (settingsRequest.getRotationEndPoint() - settingsRequest.getRotationStartPoint()),
+                settingsRequest.getCaliber(), settingsRequest.getRotationStartPoint(),
+                settingsRequest.getRotationEndPoint(), settingsRequest.getRotations());
+    }
+
+    /**
+     * Angular distance of one rotation, from rotation_start_point to rotation_end_point.
+     */
+    public long sweep() {
+        return rotationEndPoint - rotationStartPoint;
+    }
+}
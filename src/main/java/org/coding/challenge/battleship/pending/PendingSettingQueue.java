@@ -0,0 +1,129 @@
+package org.coding.challenge.battleship.pending;
+
+import org.coding.challenge.battleship.dto.PendingSettingsStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queued settings mode, enabled with battleship-calibration.settings.mode=queued.
+ *
+ * Settings wait in a bounded, lock-free, multi-producer multi-consumer ring buffer and are run in FIFO order,
+ * so bursts of settings are no longer collapsed into the last one. Every cell carries a sequence number telling
+ * whether it is free for the producer or filled for the consumer at a given position (Dmitry Vyukov's bounded queue).
+ * Producers and consumers only CAS the tail or the head, and never wait for each other.
+ *
+ * When the buffer is full, {@link #offer} fails immediately with a {@link PendingSettingsFullException}
+ * instead of blocking the request thread.
+ */
+@Component
+@ConditionalOnProperty(name = "battleship-calibration.settings.mode", havingValue = "queued")
+public class PendingSettingQueue implements PendingSettingStore {
+
+    private final int capacity;
+    private final int mask;
+    private final long retryAfterSeconds;
+    private final AtomicReferenceArray<PendingSetting> cells;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong(); // next position to offer to
+    private final AtomicLong head = new AtomicLong(); // next position to claim from
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param queueCapacity rounded up to the next power of two
+     */
+    public PendingSettingQueue(@Value("${battleship-calibration.settings.queue-capacity}") int queueCapacity,
+                               @Value("${battleship-calibration.settings.retry-after-seconds}") long retryAfterSeconds) {
+        if (queueCapacity < 1 || queueCapacity > 1 << 30) {
+            throw new IllegalArgumentException("Queue capacity must be between 1 and 2^30");
+        }
+        this.capacity = ceilingPowerOfTwo(queueCapacity);
+        this.mask = capacity - 1;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.cells = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    @Override
+    public void offer(PendingSetting pendingSetting) {
+        var position = tail.get();
+        while (true) {
+            var index = (int) (position & mask);
+            var difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    cells.set(index, pendingSetting);
+                    sequences.set(index, position + 1); // publish to consumers
+                    accepted.increment();
+                    return;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // the cell still holds the setting offered one lap ago
+                rejected.increment();
+                throw new PendingSettingsFullException(retryAfterSeconds);
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    @Override
+    public PendingSetting claim() {
+        var position = head.get();
+        while (true) {
+            var index = (int) (position & mask);
+            var difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    var pendingSetting = cells.getAndSet(index, null);
+                    sequences.set(index, position + capacity); // free for the producer of the next lap
+                    return pendingSetting;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null; // empty
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Offers a claimed setting again. It goes to the back of the queue, and is dropped if the queue is full.
+     */
+    @Override
+    public boolean restore(PendingSetting pendingSetting) {
+        try {
+            offer(pendingSetting);
+            return true;
+        } catch (PendingSettingsFullException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public PendingSettingsStats stats() {
+        var depth = tail.get() - head.get();
+        return PendingSettingsStats.builder()
+                .mode("queued")
+                .capacity(capacity)
+                .depth((int) Math.max(0, Math.min(capacity, depth)))
+                .accepted(accepted.sum())
+                .rejected(rejected.sum())
+                .build();
+    }
+
+    private static int ceilingPowerOfTwo(int value) {
+        return value == 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+}
@@ -0,0 +1,58 @@
+package org.coding.challenge.battleship.pending;
+
+import org.coding.challenge.battleship.dto.PendingSettingsStats;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default settings mode. Holds the latest turret setting until it is run.
+ * A new setting replaces the pending one, and a run claims the pending setting with a single atomic swap,
+ * so each setting is run at most once without any locking.
+ */
+@Component
+@ConditionalOnProperty(name = "battleship-calibration.settings.mode", havingValue = "latest", matchIfMissing = true)
+public class PendingSettingSlot implements PendingSettingStore {
+
+    private final AtomicReference<PendingSetting> pending = new AtomicReference<>(null); // unset at the start
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder overwritten = new LongAdder();
+
+    @Override
+    public void offer(PendingSetting pendingSetting) {
+        accepted.increment();
+        if (pending.getAndSet(pendingSetting) != null) {
+            overwritten.increment();
+        }
+    }
+
+    @Override
+    public PendingSetting claim() {
+        return pending.getAndSet(null);
+    }
+
+    /**
+     * Puts back a claimed setting unless a newer setting has been offered since.
+     */
+    @Override
+    public boolean restore(PendingSetting pendingSetting) {
+        return pending.compareAndSet(null, pendingSetting);
+    }
+
+    public PendingSetting peek() {
+        return pending.get();
+    }
+
+    @Override
+    public PendingSettingsStats stats() {
+        return PendingSettingsStats.builder()
+                .mode("latest")
+                .capacity(1)
+                .depth(pending.get() == null ? 0 : 1)
+                .accepted(accepted.sum())
+                .overwritten(overwritten.sum())
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package org.coding.challenge.battleship.pending;
+
+import org.coding.challenge.battleship.dto.PendingSettingsStats;
+
+/**
+ * Holds the turret settings waiting to be run.
+ * The implementation is selected with the property battleship-calibration.settings.mode.
+ */
+public interface PendingSettingStore {
+
+    /**
+     * @throws PendingSettingsFullException if the setting cannot be accepted right now
+     */
+    void offer(PendingSetting pendingSetting);
+
+    /**
+     * @return the next setting to run, which no other caller can claim anymore, or null if there is none
+     */
+    PendingSetting claim();
+
+    /**
+     * Puts back a claimed setting whose run failed, if the store still has room for it.
+     * A FIFO store puts it at the back, behind the settings offered since it was claimed: a lock-free queue
+     * cannot put it back at the head, and a run that failed is run again later rather than first.
+     * @return true if the setting is pending again
+     */
+    boolean restore(PendingSetting pendingSetting);
+
+    PendingSettingsStats stats();
+}
@@ -0,0 +1,17 @@
+package org.coding.challenge.battleship.pending;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a setting is offered while the bounded queue of pending settings is full.
+ */
+@Getter
+public class PendingSettingsFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PendingSettingsFullException(long retryAfterSeconds) {
+        super("Calibration Settings queue is full. Please retry later.", null, false, false); // no stack trace, rejections must stay cheap
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
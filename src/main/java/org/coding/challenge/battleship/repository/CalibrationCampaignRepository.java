@@ -0,0 +1,70 @@
+package org.coding.challenge.battleship.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.coding.challenge.battleship.campaign.Campaign;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Campaign definitions in CALIBRATION_CAMPAIGN, one row per campaign name.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CalibrationCampaignRepository {
+
+    private static final TurretLocation[] TURRET_LOCATIONS = TurretLocation.values();
+    private static final String MERGE = "MERGE INTO CALIBRATION_CAMPAIGN (NAME, TURRET_LOCATION, CALIBER, " +
+            "ROTATION_START_POINT, ROTATION_END_POINT, ROTATIONS, INTERVAL_MS, BATCH_SIZE, CREATED_AT) " +
+            "KEY (NAME) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_ALL = "SELECT NAME, TURRET_LOCATION, CALIBER, ROTATION_START_POINT, " +
+            "ROTATION_END_POINT, ROTATIONS, INTERVAL_MS, BATCH_SIZE, CREATED_AT FROM CALIBRATION_CAMPAIGN ORDER BY NAME";
+    private static final String DELETE = "DELETE FROM CALIBRATION_CAMPAIGN WHERE NAME = ?";
+    private static final RowMapper<Campaign> ROW_MAPPER = (resultSet, rowNumber) -> {
+        var settingsRequest = new SettingsRequest();
+        settingsRequest.setLocation(TURRET_LOCATIONS[resultSet.getInt(2)]);
+        settingsRequest.setCaliber(resultSet.getLong(3));
+        settingsRequest.setRotationStartPoint(resultSet.getLong(4));
+        settingsRequest.setRotationEndPoint(resultSet.getLong(5));
+        settingsRequest.setRotations(resultSet.getInt(6));
+        return new Campaign(resultSet.getString(1), settingsRequest, resultSet.getLong(7), resultSet.getInt(8),
+                resultSet.getObject(9, OffsetDateTime.class).toInstant());
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the campaign, or replaces the campaign of the same name.
+     */
+    public void save(Campaign campaign) {
+        var settingsRequest = campaign.settingsRequest();
+        jdbcTemplate.update(MERGE, statement -> {
+            statement.setString(1, campaign.name());
+            statement.setInt(2, settingsRequest.getLocation().ordinal());
+            statement.setLong(3, settingsRequest.getCaliber());
+            statement.setLong(4, settingsRequest.getRotationStartPoint());
+            statement.setLong(5, settingsRequest.getRotationEndPoint());
+            statement.setInt(6, settingsRequest.getRotations());
+            statement.setLong(7, campaign.intervalMs());
+            statement.setInt(8, campaign.batchSize());
+            statement.setObject(9, campaign.createdAt().atOffset(ZoneOffset.UTC));
+        });
+    }
+
+    public List<Campaign> findAll() {
+        return jdbcTemplate.query(SELECT_ALL, ROW_MAPPER);
+    }
+
+    /**
+     * @return true if the campaign existed
+     */
+    public boolean delete(String name) {
+        return jdbcTemplate.update(DELETE, name) > 0;
+    }
+}
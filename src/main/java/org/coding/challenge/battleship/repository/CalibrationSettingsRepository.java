@@ -2,8 +2,13 @@ package org.coding.challenge.battleship.repository;
 
 import org.coding.challenge.battleship.entity.CalibrationSetting;
 import org.coding.challenge.battleship.enums.TurretLocation;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Optional;
 
@@ -11,4 +16,49 @@ import java.util.Optional;
 public interface CalibrationSettingsRepository extends JpaRepository<CalibrationSetting, String> {
 
     Optional<CalibrationSetting> findCalibrationSettingByTurretLocation(TurretLocation turretLocation);
+
+    /**
+     * Increments the test count of a turret in a single statement and returns the new count.
+     * The row is created with a count of 1 the first time a turret is run.
+     * No entity is loaded, so concurrent runs on the same turret can never lose an increment.
+     * @param turretLocation
+     * @return number of times the turret has been tested, including this run
+     */
+    default int incrementNumberOfTests(TurretLocation turretLocation) {
+        return addNumberOfTests(turretLocation, 1);
+    }
+
+    /**
+     * Adds several tests to the test count of a turret in a single statement and returns the new count.
+     *
+     * If two runs race to create the row for a new turret, the loser gets a duplicate key violation
+     * once the winner commits. Retrying it once is enough because the row exists from then on.
+     * Within an enclosing transaction the violation is rethrown instead, as that transaction is rollback-only by
+     * then and has to be retried as a whole.
+     * @param turretLocation
+     * @param numberOfTests number of tests to add, at least 1
+     * @return number of times the turret has been tested, including the added tests
+     */
+    default int addNumberOfTests(TurretLocation turretLocation, int numberOfTests) {
+        try {
+            return mergeAddNumberOfTests(turretLocation, numberOfTests);
+        } catch (DataIntegrityViolationException e) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                throw e;
+            }
+            return mergeAddNumberOfTests(turretLocation, numberOfTests);
+        }
+    }
+
+    @Transactional
+    @Query(value = "SELECT NUMBER_OF_TESTS FROM FINAL TABLE (" +
+            "MERGE INTO CALIBRATION_SETTING T " +
+            "USING (VALUES (CAST(:#{#turretLocation.ordinal()} AS TINYINT), CAST(:numberOfTests AS INTEGER))) " +
+            "S(TURRET_LOCATION, NUMBER_OF_TESTS) " +
+            "ON T.TURRET_LOCATION = S.TURRET_LOCATION " +
+            "WHEN MATCHED THEN UPDATE SET NUMBER_OF_TESTS = T.NUMBER_OF_TESTS + S.NUMBER_OF_TESTS " +
+            "WHEN NOT MATCHED THEN INSERT (TURRET_LOCATION, NUMBER_OF_TESTS) VALUES (S.TURRET_LOCATION, S.NUMBER_OF_TESTS))",
+            nativeQuery = true)
+    int mergeAddNumberOfTests(@Param("turretLocation") TurretLocation turretLocation,
+                              @Param("numberOfTests") int numberOfTests);
 }
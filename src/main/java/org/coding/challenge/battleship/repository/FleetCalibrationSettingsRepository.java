@@ -0,0 +1,38 @@
+package org.coding.challenge.battleship.repository;
+
+import org.coding.challenge.battleship.entity.FleetCalibrationSetting;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface FleetCalibrationSettingsRepository extends JpaRepository<FleetCalibrationSetting, String> {
+
+    /**
+     * Increments the test count of a fleet turret in a single statement and returns the new count,
+     * the same way as {@link CalibrationSettingsRepository#incrementNumberOfTests}.
+     * Each turret has its own row, so runs on different turrets never wait for each other.
+     * @param turretKey
+     * @return number of times the turret has been tested, including this run
+     */
+    default int incrementNumberOfTests(String turretKey) {
+        try {
+            return mergeIncrementNumberOfTests(turretKey);
+        } catch (DataIntegrityViolationException e) {
+            return mergeIncrementNumberOfTests(turretKey);
+        }
+    }
+
+    @Transactional
+    @Query(value = "SELECT NUMBER_OF_TESTS FROM FINAL TABLE (" +
+            "MERGE INTO FLEET_CALIBRATION_SETTING T " +
+            "USING (VALUES (CAST(:turretKey AS VARCHAR(129)))) S(TURRET_KEY) " +
+            "ON T.TURRET_KEY = S.TURRET_KEY " +
+            "WHEN MATCHED THEN UPDATE SET NUMBER_OF_TESTS = T.NUMBER_OF_TESTS + 1 " +
+            "WHEN NOT MATCHED THEN INSERT (TURRET_KEY, NUMBER_OF_TESTS) VALUES (S.TURRET_KEY, 1))",
+            nativeQuery = true)
+    int mergeIncrementNumberOfTests(@Param("turretKey") String turretKey);
+}
@@ -0,0 +1,71 @@
+package org.coding.challenge.battleship.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.pending.PendingSetting;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * PENDING_SETTING is a FIFO queue shared by every instance connected to the same database.
+ * A setting is claimed by locking the oldest row no other transaction holds (FOR UPDATE SKIP LOCKED)
+ * and deleting it in the same transaction, so concurrent claimers never wait for each other
+ * and each row is claimed by exactly one of them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PendingSettingRepository {
+
+    private static final TurretLocation[] TURRET_LOCATIONS = TurretLocation.values();
+    private static final String INSERT = "INSERT INTO PENDING_SETTING (TURRET_LOCATION, TOTAL_DISTANCE, CALIBER, " +
+            "ROTATION_START_POINT, ROTATION_END_POINT, ROTATIONS) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_OLDEST = "SELECT ID, TURRET_LOCATION, TOTAL_DISTANCE, CALIBER, " +
+            "ROTATION_START_POINT, ROTATION_END_POINT, ROTATIONS FROM PENDING_SETTING " +
+            "ORDER BY ID FETCH FIRST ROW ONLY FOR UPDATE SKIP LOCKED";
+    private static final String DELETE = "DELETE FROM PENDING_SETTING WHERE ID = ?";
+    private static final String COUNT = "SELECT COUNT(*) FROM PENDING_SETTING";
+    private static final RowMapper<ClaimedSetting> ROW_MAPPER = (resultSet, rowNumber) -> new ClaimedSetting(
+            resultSet.getLong(1),
+            new PendingSetting(TURRET_LOCATIONS[resultSet.getInt(2)], resultSet.getLong(3), resultSet.getLong(4),
+                    resultSet.getLong(5), resultSet.getLong(6), resultSet.getInt(7)));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(PendingSetting pendingSetting) {
+        jdbcTemplate.update(INSERT, statement -> {
+            statement.setInt(1, pendingSetting.turretLocation().ordinal());
+            statement.setLong(2, pendingSetting.totalDistance());
+            statement.setLong(3, pendingSetting.caliber());
+            statement.setLong(4, pendingSetting.rotationStartPoint());
+            statement.setLong(5, pendingSetting.rotationEndPoint());
+            statement.setInt(6, pendingSetting.rotations());
+        });
+    }
+
+    /**
+     * Deletes the oldest setting not locked by another transaction.
+     * The claim is committed as soon as this method returns, unless a transaction is already in progress.
+     * @return the deleted setting, or null if every pending setting is gone or being claimed
+     */
+    @Transactional
+    public PendingSetting claimOldest() {
+        var claimedSettings = jdbcTemplate.query(SELECT_OLDEST, ROW_MAPPER);
+        if (claimedSettings.isEmpty()) {
+            return null;
+        }
+        var claimedSetting = claimedSettings.getFirst();
+        // the row is locked by this transaction, so the delete cannot miss
+        jdbcTemplate.update(DELETE, claimedSetting.id());
+        return claimedSetting.pendingSetting();
+    }
+
+    public int count() {
+        var count = jdbcTemplate.queryForObject(COUNT, Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    private record ClaimedSetting(long id, PendingSetting pendingSetting) {
+    }
+}
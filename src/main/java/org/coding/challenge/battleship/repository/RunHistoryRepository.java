@@ -0,0 +1,118 @@
+package org.coding.challenge.battleship.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.coding.challenge.battleship.dto.RunHistoryEntry;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * RUN_HISTORY is append-only and read in id order, so it is written with JDBC batches and read with keyset queries
+ * (WHERE ID > last id seen ORDER BY ID LIMIT n), which cost the same on the first and on the millionth page.
+ * JPA is not used here because Hibernate cannot batch inserts into an identity column.
+ *
+ * Keyset reads assume that ids become visible in id order, which holds because batches are only inserted by
+ * BatchingRunHistoryRecorder.flush, one at a time within a single JVM. If two writers committed concurrently,
+ * a batch with lower ids could commit after a reader had moved past them, and those runs would be skipped.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RunHistoryRepository {
+
+    private static final TurretLocation[] TURRET_LOCATIONS = TurretLocation.values();
+    private static final String INSERT = "INSERT INTO RUN_HISTORY " +
+            "(RUN_TIME, TURRET_LOCATION, CALIBER, DISTANCE_IN_DEGREES, NUMBER_OF_TESTS) VALUES (?, ?, ?, ?, ?)";
+    private static final String SELECT = "SELECT ID, RUN_TIME, TURRET_LOCATION, CALIBER, DISTANCE_IN_DEGREES, " +
+            "NUMBER_OF_TESTS FROM RUN_HISTORY WHERE ID > ?";
+    private static final RowMapper<RunHistoryEntry> ROW_MAPPER = (resultSet, rowNumber) -> RunHistoryEntry.builder()
+            .id(resultSet.getLong(1))
+            .time(resultSet.getObject(2, OffsetDateTime.class).toInstant())
+            .location(TURRET_LOCATIONS[resultSet.getInt(3)])
+            .caliber(resultSet.getLong(4))
+            .distanceInDegrees(resultSet.getLong(5))
+            .numberOfTests(resultSet.getInt(6))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the runs in one transaction and one JDBC batch.
+     */
+    @Transactional
+    public void insertAll(List<RunHistoryEntry> runHistoryEntries) {
+        jdbcTemplate.batchUpdate(INSERT, runHistoryEntries, runHistoryEntries.size(), (statement, runHistoryEntry) -> {
+            statement.setObject(1, runHistoryEntry.getTime().atOffset(ZoneOffset.UTC));
+            statement.setInt(2, runHistoryEntry.getLocation().ordinal());
+            statement.setLong(3, runHistoryEntry.getCaliber());
+            statement.setLong(4, runHistoryEntry.getDistanceInDegrees());
+            statement.setInt(5, runHistoryEntry.getNumberOfTests());
+        });
+    }
+
+    /**
+     * @param turretLocation turret of the runs, or null for every turret
+     * @param afterId id of the last run of the previous page, 0 for the first page
+     * @return up to limit runs after afterId, in id order
+     */
+    public List<RunHistoryEntry> findAfter(TurretLocation turretLocation, long afterId, int limit) {
+        return findAfter(turretLocation, null, null, afterId, limit);
+    }
+
+    /**
+     * Same as findAfter, also filtered on the run time, from (inclusive) to (exclusive), both optional.
+     */
+    public List<RunHistoryEntry> findAfter(TurretLocation turretLocation, Instant from, Instant to, long afterId,
+                                           int limit) {
+        List<RunHistoryEntry> runHistoryEntries = new ArrayList<>(Math.min(limit, 1024));
+        forEachAfter(turretLocation, from, to, afterId, limit, runHistoryEntries::add);
+        return runHistoryEntries;
+    }
+
+    /**
+     * Hands the runs to the consumer one at a time as they are read from the cursor, without keeping them.
+     * The connection is held until the last of the limit rows has been consumed.
+     * @return number of runs read
+     */
+    public int forEachAfter(TurretLocation turretLocation, Instant from, Instant to, long afterId, int limit,
+                            Consumer<RunHistoryEntry> consumer) {
+        var sql = new StringBuilder(SELECT);
+        List<Object> parameters = new ArrayList<>(5);
+        parameters.add(afterId);
+        if (turretLocation != null) {
+            sql.append(" AND TURRET_LOCATION = ?");
+            parameters.add(turretLocation.ordinal());
+        }
+        if (from != null) {
+            sql.append(" AND RUN_TIME >= ?");
+            parameters.add(from.atOffset(ZoneOffset.UTC));
+        }
+        if (to != null) {
+            sql.append(" AND RUN_TIME < ?");
+            parameters.add(to.atOffset(ZoneOffset.UTC));
+        }
+        sql.append(" ORDER BY ID LIMIT ?");
+        parameters.add(limit);
+
+        var rows = new int[1];
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql.toString());
+            statement.setFetchSize(Math.min(limit, 1000));
+            for (int index = 0; index < parameters.size(); index++) {
+                statement.setObject(index + 1, parameters.get(index));
+            }
+            return statement;
+        }, resultSet -> {
+            consumer.accept(ROW_MAPPER.mapRow(resultSet, rows[0]++));
+        });
+        return rows[0];
+    }
+}
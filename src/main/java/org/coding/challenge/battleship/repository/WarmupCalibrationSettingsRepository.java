@@ -0,0 +1,48 @@
+package org.coding.challenge.battleship.repository;
+
+import org.coding.challenge.battleship.entity.CalibrationSetting;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * The test count upsert of {@link CalibrationSettingsRepository} on the scratch WARMUP.CALIBRATION_SETTING table.
+ * The warm-up replay runs the same Spring Data, Hibernate and JDBC code paths through it, without ever
+ * changing the real test counts.
+ */
+@Repository
+public interface WarmupCalibrationSettingsRepository extends org.springframework.data.repository.Repository<CalibrationSetting, String> {
+
+    /**
+     * Same as {@link CalibrationSettingsRepository#addNumberOfTests}, retried once if two replay threads race
+     * to create the row of a turret.
+     */
+    default int addNumberOfTests(TurretLocation turretLocation, int numberOfTests) {
+        try {
+            return mergeAddNumberOfTests(turretLocation, numberOfTests);
+        } catch (DataIntegrityViolationException e) {
+            return mergeAddNumberOfTests(turretLocation, numberOfTests);
+        }
+    }
+
+    @Transactional
+    @Query(value = "SELECT NUMBER_OF_TESTS FROM FINAL TABLE (" +
+            "MERGE INTO WARMUP.CALIBRATION_SETTING T " +
+            "USING (VALUES (CAST(:#{#turretLocation.ordinal()} AS TINYINT), CAST(:numberOfTests AS INTEGER))) " +
+            "S(TURRET_LOCATION, NUMBER_OF_TESTS) " +
+            "ON T.TURRET_LOCATION = S.TURRET_LOCATION " +
+            "WHEN MATCHED THEN UPDATE SET NUMBER_OF_TESTS = T.NUMBER_OF_TESTS + S.NUMBER_OF_TESTS " +
+            "WHEN NOT MATCHED THEN INSERT (TURRET_LOCATION, NUMBER_OF_TESTS) VALUES (S.TURRET_LOCATION, S.NUMBER_OF_TESTS))",
+            nativeQuery = true)
+    int mergeAddNumberOfTests(@Param("turretLocation") TurretLocation turretLocation,
+                              @Param("numberOfTests") int numberOfTests);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM WARMUP.CALIBRATION_SETTING", nativeQuery = true)
+    int clear();
+}
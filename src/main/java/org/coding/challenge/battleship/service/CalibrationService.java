@@ -1,11 +1,25 @@
 package org.coding.challenge.battleship.service;
 
+import org.coding.challenge.battleship.dto.AuditEvent;
+import org.coding.challenge.battleship.dto.PendingSettingsStats;
 import org.coding.challenge.battleship.dto.RunResponse;
 import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+
+import java.time.Instant;
+import java.util.List;
 
 public interface CalibrationService {
 
     void settings(SettingsRequest settingsRequest);
 
     RunResponse run();
+
+    List<RunResponse> runBatch(List<SettingsRequest> settingsRequests);
+
+    List<RunResponse> runPending(int maxSettings);
+
+    PendingSettingsStats pendingSettingsStats();
+
+    List<AuditEvent> audit(TurretLocation turretLocation, Instant from, Instant to, int limit);
 }
@@ -1,102 +1,227 @@
 package org.coding.challenge.battleship.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.coding.challenge.battleship.audit.AuditJournal;
+import org.coding.challenge.battleship.counter.TurretTestCounter;
+import org.coding.challenge.battleship.dto.AuditEvent;
+import org.coding.challenge.battleship.dto.PendingSettingsStats;
 import org.coding.challenge.battleship.dto.RunResponse;
 import org.coding.challenge.battleship.dto.SettingsRequest;
-import org.coding.challenge.battleship.entity.CalibrationSetting;
 import org.coding.challenge.battleship.enums.TurretLocation;
-import org.coding.challenge.battleship.repository.CalibrationSettingsRepository;
+import org.coding.challenge.battleship.events.CalibrationEventPublisher;
+import org.coding.challenge.battleship.jfr.CalibrationPhaseEvent;
+import org.coding.challenge.battleship.metrics.CalibrationMetrics;
+import org.coding.challenge.battleship.metrics.CalibrationMetrics.Outcome;
+import org.coding.challenge.battleship.pending.PendingSetting;
+import org.coding.challenge.battleship.pending.PendingSettingStore;
+import org.coding.challenge.battleship.pending.PendingSettingsFullException;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 @Slf4j
 public class CalibrationSettingsImpl implements CalibrationService {
-    private final CalibrationSettingsRepository calibrationSettingsRepository;
-    private final AtomicReference<TurretLocation> turretLocation = new AtomicReference<>(null); // unset at the start
-    private final AtomicLong totalDistance = new AtomicLong(0); // unset at the start
+    private static final int TURRET_LOCATIONS = TurretLocation.values().length;
+    private static final String NO_LOCATION = "Calibration Settings have no turret location, so they were dropped.";
 
-    public CalibrationSettingsImpl(CalibrationSettingsRepository calibrationSettingsRepository) {
-        this.calibrationSettingsRepository = calibrationSettingsRepository;
+    private final TurretTestCounter turretTestCounter;
+    private final PendingSettingStore pendingSettingStore;
+    private final CalibrationMetrics calibrationMetrics;
+    private final AuditJournal auditJournal;
+    private final CalibrationEventPublisher calibrationEventPublisher;
+    private final RunRecorder runRecorder;
+
+    public CalibrationSettingsImpl(TurretTestCounter turretTestCounter, PendingSettingStore pendingSettingStore,
+                                   CalibrationMetrics calibrationMetrics, AuditJournal auditJournal,
+                                   CalibrationEventPublisher calibrationEventPublisher, RunRecorder runRecorder) {
+        this.turretTestCounter = turretTestCounter;
+        this.pendingSettingStore = pendingSettingStore;
+        this.calibrationMetrics = calibrationMetrics;
+        this.auditJournal = auditJournal;
+        this.calibrationEventPublisher = calibrationEventPublisher;
+        this.runRecorder = runRecorder;
     }
 
 
     /**
      * This method is used to create a turret setting for testing.
-     * It saves the total angular distance (in degree) in a class variable following the formula
+     * It computes the total angular distance (in degree) following the formula
      * total angular distance = rotations x (rotation_end_point - rotation_start_point)
      *
-     * It also saves the turret identity specified by its location in a class variable.
-     * This information is stored in class variables following the problem instruction that
+     * The total angular distance and the turret identity specified by its location are saved together
+     * as one immutable snapshot. By default it is saved in a single slot, following the problem instruction that
      * the application stores the settings for one turret only.
      *
-     * In other words, only the latest stored turret setting can be triggered by a subsequent "run"
+     * In other words, only the latest stored turret setting can be triggered by a subsequent "run".
+     * In the queued settings mode, settings are kept in FIFO order instead, and a full queue rejects the setting
+     * with a PendingSettingsFullException.
+     *
+     * Saved settings are recorded in the audit journal and published to the calibration event subscribers.
+     * Each step is timed by a {@link CalibrationPhaseEvent} when a flight recording enables it.
      * @param settingsRequest
      */
     @Override
     public void settings(SettingsRequest settingsRequest) {
-        log.info("Started saving turret setting: {}", settingsRequest.toString());
-        totalDistance.set(settingsRequest.getRotations() *
-                (settingsRequest.getRotationEndPoint() - settingsRequest.getRotationStartPoint()));
-        turretLocation.set(settingsRequest.getLocation());
-        log.info("Successfully saved turret setting");
+        var start = System.nanoTime();
+        var turretLocation = settingsRequest.getLocation();
+        log.debug("Started saving turret setting: {}", settingsRequest);
+        var phase = CalibrationPhaseEvent.start();
+        try {
+            pendingSettingStore.offer(PendingSetting.of(settingsRequest));
+        } catch (PendingSettingsFullException e) {
+            phase.finish(CalibrationPhaseEvent.SETTINGS, "store", turretLocation, CalibrationPhaseEvent.REJECTED);
+            calibrationMetrics.recordSettings(turretLocation, Outcome.REJECTED, start);
+            throw e;
+        }
+        phase.finish(CalibrationPhaseEvent.SETTINGS, "store", turretLocation, CalibrationPhaseEvent.SUCCESS);
+        phase = CalibrationPhaseEvent.start();
+        auditJournal.recordSettings(settingsRequest);
+        phase.finish(CalibrationPhaseEvent.SETTINGS, "audit", turretLocation, CalibrationPhaseEvent.SUCCESS);
+        phase = CalibrationPhaseEvent.start();
+        calibrationEventPublisher.publishSettings(settingsRequest);
+        phase.finish(CalibrationPhaseEvent.SETTINGS, "publish", turretLocation, CalibrationPhaseEvent.SUCCESS);
+        calibrationMetrics.recordSettings(turretLocation, Outcome.SUCCESS, start);
+        log.debug("Successfully saved turret setting");
     }
 
 
     /**
-     * This method runs the latest turret settings. It triggers run if the total angular distance > 0
-     * which signifies a run setting has been created. Else, it does not run.
+     * This method runs the latest turret settings, or the oldest one in the queued and shared settings modes.
+     * It atomically claims the pending setting, which also resets the slot for the next turret setting.
+     * If no setting is pending, it does not run.
+     * Concurrent runs can never claim the same setting, so each setting is run at most once.
      *
-     * It then gets the test count from H2 database based on the turret identity (or location).
+     * It then increments the test count based on the turret identity (or location).
      * Test counts are stored in a non-ephemeral storage, separately for each turret which can withstand application reboots.
-     * If the database does not return a row based on a turret identity, then a new record is created for the turret.
-     * This only happens for the first time for each turret.
+     * By default the increment is a single atomic upsert in H2 database which creates the row for a turret on its first run,
+     * so concurrent runs on the same turret never lose a test. See {@link TurretTestCounter} for the other counter modes.
      *
-     * The total angular distance and turret location is reset at the end of the "run" for the next turret setting without which
-     * it won't trigger a subsequent run again.
+     * If the test count cannot be incremented, the claimed setting is put back if the store has room for it.
+     * A setting without a turret location can never be counted, so it is dropped instead of being put back.
+     * The response also carries the simulated sweep of the setting, and successful runs are recorded and published
+     * by the {@link RunRecorder}.
+     * Each step is timed by a {@link CalibrationPhaseEvent} when a flight recording enables it.
      */
     @Override
     public RunResponse run() {
 
-        var numberOfTests = new AtomicInteger(0);
-        if (totalDistance.get() == 0) {
+        var start = System.nanoTime();
+        var phase = CalibrationPhaseEvent.start();
+        var pendingSetting = pendingSettingStore.claim();
+        if (pendingSetting == null) {
+            phase.finish(CalibrationPhaseEvent.RUN, "claim", null, CalibrationPhaseEvent.NO_SETTINGS);
+            calibrationMetrics.recordRun(null, Outcome.NO_SETTINGS, start);
             throw new IllegalArgumentException("Calibration Settings do not exist. Please set it before running a test.");
         }
-        log.info("Started running turret setting on turret {}", turretLocation.get().toString());
-
-        calibrationSettingsRepository
-                .findCalibrationSettingByTurretLocation(turretLocation.get())
-                .ifPresentOrElse(calibrationSetting -> {
-                    log.info("Found CalibrationSetting in database for turret {}", turretLocation.get().toString());
-                    calibrationSettingsRepository.save(calibrationSetting.incrementNumberOfTests());
-                    numberOfTests.set(calibrationSetting.getNumberOfTests());
-                }, () -> {
-                            log.info("Not found CalibrationSetting in database for turret {}. Creating a new row.", turretLocation.get().toString());
-                            calibrationSettingsRepository.save(CalibrationSetting.builder()
-                                    .numberOfTests(1)
-                                    .turretLocation(turretLocation.get())
-                                    .build());
-                            numberOfTests.set(1);
-
-                        });
-
-        var runResponse =  RunResponse.builder()
-                .distanceInDegrees(totalDistance.get())
-                .numberOfTests(numberOfTests.get())
-                .build();
-        log.info("Run Response for turret {} is {}", turretLocation.get().toString(), runResponse.toString());
-
-        resetSettings();
-        log.info("Turret settings has been reset");
+        var turretLocation = pendingSetting.turretLocation();
+        if (turretLocation == null) {
+            phase.finish(CalibrationPhaseEvent.RUN, "claim", null, CalibrationPhaseEvent.ERROR);
+            calibrationMetrics.recordRun(null, Outcome.ERROR, start);
+            throw new IllegalArgumentException(NO_LOCATION);
+        }
+        phase.finish(CalibrationPhaseEvent.RUN, "claim", turretLocation, CalibrationPhaseEvent.SUCCESS);
+        log.debug("Started running turret setting on turret {}", turretLocation);
+
+        int numberOfTests;
+        phase = CalibrationPhaseEvent.start();
+        try {
+            numberOfTests = turretTestCounter.increment(turretLocation);
+        } catch (RuntimeException e) {
+            phase.finish(CalibrationPhaseEvent.RUN, "count", turretLocation, CalibrationPhaseEvent.ERROR);
+            pendingSettingStore.restore(pendingSetting);
+            calibrationMetrics.recordRun(turretLocation, Outcome.ERROR, start);
+            throw e;
+        }
+        phase.finish(CalibrationPhaseEvent.RUN, "count", turretLocation, CalibrationPhaseEvent.SUCCESS);
+
+        var runResponse = runRecorder.record(pendingSetting, numberOfTests);
+        calibrationMetrics.recordRun(turretLocation, Outcome.SUCCESS, start);
+        log.debug("Run Response for turret {} is {}", turretLocation, runResponse);
 
         return runResponse;
     }
 
-    private void resetSettings() {
-        totalDistance.set(0); // reset for next setting
-        turretLocation.set(null); // reset for next setting
+
+    /**
+     * This method runs many validated turret settings at once, without going through the pending setting.
+     * Tests are counted per turret and all test counts are added as a single unit, so a batch costs one
+     * statement per turret in one transaction instead of one transaction per setting.
+     *
+     * Each setting gets its own number of tests, in the order of the batch, as if it had been run on its own.
+     * The sweeps of the whole batch are simulated in parallel.
+     * @param settingsRequests validated settings with a turret location
+     * @return one RunResponse per setting, in the same order
+     */
+    @Override
+    public List<RunResponse> runBatch(List<SettingsRequest> settingsRequests) {
+        log.debug("Started running a batch of {} turret settings", settingsRequests.size());
+        List<PendingSetting> pendingSettings = new ArrayList<>(settingsRequests.size());
+        for (var settingsRequest : settingsRequests) {
+            pendingSettings.add(PendingSetting.of(settingsRequest));
+        }
+        var numberOfTests = numberOfTestsPerTurret(pendingSettings);
+        var runResponses = runRecorder.recordAll(pendingSettings, numberOfTests, turretTestCounter.add(numberOfTests));
+        log.debug("Successfully ran a batch of {} turret settings", settingsRequests.size());
+        return runResponses;
+    }
+
+
+    /**
+     * This method claims and runs up to maxSettings pending settings at once, in the order they are claimed.
+     * It is meant for the queued settings mode, where many settings can be pending.
+     * The test counts are added as a single unit like in runBatch. If that fails, the claimed settings are put back,
+     * at the back of the queue in the queued and shared settings modes, so they run after the settings saved since.
+     * Once the test counts are added, the settings are run whatever happens next, so their tests are never counted
+     * twice. Claimed settings without a turret location can never be counted, so they are dropped.
+     * @param maxSettings maximum number of settings to run
+     * @return one RunResponse per claimed setting with a turret location, empty if there is none
+     */
+    @Override
+    public List<RunResponse> runPending(int maxSettings) {
+        List<PendingSetting> pendingSettings = new ArrayList<>(Math.min(maxSettings, 1024));
+        var claimed = 0;
+        PendingSetting pendingSetting;
+        while (claimed < maxSettings && (pendingSetting = pendingSettingStore.claim()) != null) {
+            claimed++;
+            if (pendingSetting.turretLocation() == null) {
+                log.warn("Dropped a pending turret setting without a turret location");
+            } else {
+                pendingSettings.add(pendingSetting);
+            }
+        }
+        if (pendingSettings.isEmpty()) {
+            return List.of();
+        }
+        log.debug("Started running {} pending turret settings", pendingSettings.size());
+        var numberOfTests = numberOfTestsPerTurret(pendingSettings);
+        int[] totals;
+        try {
+            totals = turretTestCounter.add(numberOfTests);
+        } catch (RuntimeException e) {
+            pendingSettings.forEach(pendingSettingStore::restore);
+            throw e;
+        }
+        return runRecorder.recordAll(pendingSettings, numberOfTests, totals);
+    }
+
+    @Override
+    public PendingSettingsStats pendingSettingsStats() {
+        return pendingSettingStore.stats();
+    }
+
+    @Override
+    public List<AuditEvent> audit(TurretLocation turretLocation, Instant from, Instant to, int limit) {
+        return auditJournal.query(turretLocation, from, to, limit);
+    }
+
+    private static int[] numberOfTestsPerTurret(List<PendingSetting> pendingSettings) {
+        var numberOfTests = new int[TURRET_LOCATIONS];
+        for (var pendingSetting : pendingSettings) {
+            numberOfTests[pendingSetting.turretLocation().ordinal()]++;
+        }
+        return numberOfTests;
     }
 }
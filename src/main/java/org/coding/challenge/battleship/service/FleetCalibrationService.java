@@ -0,0 +1,11 @@
+package org.coding.challenge.battleship.service;
+
+import org.coding.challenge.battleship.dto.RunResponse;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+
+public interface FleetCalibrationService {
+
+    void settings(String shipId, String turretId, SettingsRequest settingsRequest);
+
+    RunResponse run(String shipId, String turretId);
+}
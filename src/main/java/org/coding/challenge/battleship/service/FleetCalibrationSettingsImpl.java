@@ -0,0 +1,93 @@
+package org.coding.challenge.battleship.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.coding.challenge.battleship.counter.FleetTurretTestCounter;
+import org.coding.challenge.battleship.dto.RunResponse;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.pending.PendingSetting;
+import org.coding.challenge.battleship.simulation.SweepSimulator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Fleet mode, enabled with battleship-calibration.fleet.enabled=true.
+ *
+ * Unlike {@link CalibrationSettingsImpl}, which keeps one pending setting for the whole application,
+ * every turret of every ship has its own pending setting. Settings are kept in a ConcurrentHashMap keyed by
+ * "shipId/turretId", a single String per turret, so a fleet of 100k turrets costs one key, one map node and one
+ * {@link PendingSetting} per turret. Runs on different turrets only touch their own map bin and their own counter row.
+ */
+@Service
+@ConditionalOnProperty(name = "battleship-calibration.fleet.enabled", havingValue = "true")
+@Slf4j
+public class FleetCalibrationSettingsImpl implements FleetCalibrationService {
+
+    private static final Pattern ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final FleetTurretTestCounter fleetTurretTestCounter;
+    private final ConcurrentHashMap<String, PendingSetting> pendingSettings;
+    private final SweepSimulator sweepSimulator;
+
+    public FleetCalibrationSettingsImpl(FleetTurretTestCounter fleetTurretTestCounter,
+                                        @Value("${battleship-calibration.fleet.expected-turrets}") int expectedTurrets,
+                                        SweepSimulator sweepSimulator) {
+        this.fleetTurretTestCounter = fleetTurretTestCounter;
+        this.sweepSimulator = sweepSimulator;
+        this.pendingSettings = new ConcurrentHashMap<>(expectedTurrets);
+    }
+
+    /**
+     * Saves the setting of one turret of a ship, replacing its previous pending setting.
+     * Settings of other turrets are left untouched.
+     */
+    @Override
+    public void settings(String shipId, String turretId, SettingsRequest settingsRequest) {
+        var turretKey = turretKey(shipId, turretId);
+        log.debug("Started saving turret setting for {}: {}", turretKey, settingsRequest);
+        pendingSettings.put(turretKey, PendingSetting.of(settingsRequest));
+    }
+
+    /**
+     * Runs the pending setting of one turret of a ship. Removing the setting from the map claims it,
+     * so each setting is run at most once. If the test count cannot be incremented, the setting is put back
+     * unless a newer setting has been saved for the turret since.
+     */
+    @Override
+    public RunResponse run(String shipId, String turretId) {
+        var turretKey = turretKey(shipId, turretId);
+        var pendingSetting = pendingSettings.remove(turretKey);
+        if (pendingSetting == null) {
+            throw new IllegalArgumentException("Calibration Settings do not exist. Please set it before running a test.");
+        }
+
+        int numberOfTests;
+        try {
+            numberOfTests = fleetTurretTestCounter.increment(turretKey);
+        } catch (RuntimeException e) {
+            pendingSettings.putIfAbsent(turretKey, pendingSetting);
+            throw e;
+        }
+
+        var runResponse = RunResponse.builder()
+                .distanceInDegrees(pendingSetting.totalDistance())
+                .numberOfTests(numberOfTests)
+                .simulation(sweepSimulator.simulate(pendingSetting))
+                .build();
+        log.debug("Run Response for turret {} is {}", turretKey, runResponse);
+        return runResponse;
+    }
+
+    private static String turretKey(String shipId, String turretId) {
+        if (shipId == null || !ID_PATTERN.matcher(shipId).matches()) {
+            throw new IllegalArgumentException("ship_id must be 1 to 64 letters, digits, '_' or '-'");
+        }
+        if (turretId == null || !ID_PATTERN.matcher(turretId).matches()) {
+            throw new IllegalArgumentException("turret_id must be 1 to 64 letters, digits, '_' or '-'");
+        }
+        return shipId + '/' + turretId;
+    }
+}
@@ -0,0 +1,20 @@
+package org.coding.challenge.battleship.service;
+
+import org.coding.challenge.battleship.dto.RunHistoryPage;
+import org.coding.challenge.battleship.enums.TurretLocation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+
+public interface RunHistoryService {
+
+    enum ExportFormat {
+        NDJSON, CSV
+    }
+
+    RunHistoryPage history(TurretLocation turretLocation, long after, int limit);
+
+    void export(TurretLocation turretLocation, Instant from, Instant to, ExportFormat exportFormat,
+                OutputStream outputStream) throws IOException;
+}
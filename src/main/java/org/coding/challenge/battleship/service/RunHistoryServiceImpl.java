@@ -0,0 +1,103 @@
+package org.coding.challenge.battleship.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.coding.challenge.battleship.dto.RunHistoryEntry;
+import org.coding.challenge.battleship.dto.RunHistoryPage;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.repository.RunHistoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+@Service
+@Slf4j
+public class RunHistoryServiceImpl implements RunHistoryService {
+
+    private static final byte[] CSV_HEADER =
+            "id,time,location,caliber,distance_in_degrees,number_of_tests\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final RunHistoryRepository runHistoryRepository;
+    private final int exportChunkSize;
+
+    public RunHistoryServiceImpl(RunHistoryRepository runHistoryRepository,
+                                 @Value("${battleship-calibration.history.export-chunk-size}") int exportChunkSize) {
+        this.runHistoryRepository = runHistoryRepository;
+        this.exportChunkSize = exportChunkSize;
+    }
+
+
+    /**
+     * This method returns up to limit runs with an id greater than after, in id order.
+     * The next page starts after the last run of this page, so a page costs one index range scan
+     * however deep it is, and runs written meanwhile are neither skipped nor returned twice.
+     */
+    @Override
+    public RunHistoryPage history(TurretLocation turretLocation, long after, int limit) {
+        var runs = runHistoryRepository.findAfter(turretLocation, after, limit);
+        return RunHistoryPage.builder()
+                .runs(runs)
+                .nextAfter(runs.size() < limit ? null : runs.get(runs.size() - 1).getId())
+                .build();
+    }
+
+
+    /**
+     * This method writes every run matching the filters to the output stream, in id order, as NDJSON or CSV.
+     *
+     * Runs are read in keyset chunks of export-chunk-size rows. Each chunk is formatted into one buffer that is reused
+     * for the whole export, and is written to the output stream only after the connection has been given back,
+     * so memory does not grow with the number of runs and a slow client never holds a connection.
+     */
+    @Override
+    public void export(TurretLocation turretLocation, Instant from, Instant to, ExportFormat exportFormat,
+                       OutputStream outputStream) throws IOException {
+        var chunk = new ByteArrayOutputStream(exportChunkSize * 128);
+        var line = new StringBuilder(160);
+        var lastId = new long[1];
+        var exported = 0L;
+        if (exportFormat == ExportFormat.CSV) {
+            outputStream.write(CSV_HEADER);
+        }
+        int rows;
+        do {
+            chunk.reset();
+            rows = runHistoryRepository.forEachAfter(turretLocation, from, to, lastId[0], exportChunkSize, run -> {
+                line.setLength(0);
+                if (exportFormat == ExportFormat.CSV) {
+                    appendCsv(run, line);
+                } else {
+                    appendJson(run, line);
+                }
+                chunk.writeBytes(line.toString().getBytes(StandardCharsets.UTF_8));
+                lastId[0] = run.getId();
+            });
+            chunk.writeTo(outputStream);
+            outputStream.flush();
+            exported += rows;
+        } while (rows == exportChunkSize);
+        log.debug("Exported {} runs as {}", exported, exportFormat);
+    }
+
+    private static void appendCsv(RunHistoryEntry run, StringBuilder line) {
+        line.append(run.getId()).append(',')
+                .append(run.getTime()).append(',')
+                .append(run.getLocation()).append(',')
+                .append(run.getCaliber()).append(',')
+                .append(run.getDistanceInDegrees()).append(',')
+                .append(run.getNumberOfTests()).append('\n');
+    }
+
+    private static void appendJson(RunHistoryEntry run, StringBuilder line) {
+        line.append("{\"id\":").append(run.getId())
+                .append(",\"time\":\"").append(run.getTime())
+                .append("\",\"location\":\"").append(run.getLocation())
+                .append("\",\"caliber\":").append(run.getCaliber())
+                .append(",\"distance_in_degrees\":").append(run.getDistanceInDegrees())
+                .append(",\"number_of_tests\":").append(run.getNumberOfTests()).append("}\n");
+    }
+}
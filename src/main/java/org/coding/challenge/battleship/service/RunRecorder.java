@@ -0,0 +1,93 @@
+package org.coding.challenge.battleship.service;
+
+import lombok.RequiredArgsConstructor;
+import org.coding.challenge.battleship.audit.AuditJournal;
+import org.coding.challenge.battleship.dto.RunResponse;
+import org.coding.challenge.battleship.dto.SweepSimulation;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.events.CalibrationEventPublisher;
+import org.coding.challenge.battleship.history.RunHistoryRecorder;
+import org.coding.challenge.battleship.jfr.CalibrationPhaseEvent;
+import org.coding.challenge.battleship.pending.PendingSetting;
+import org.coding.challenge.battleship.simulation.SweepSimulator;
+import org.coding.challenge.battleship.statistics.TurretStatistics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Steps of a run once its test is counted, shared by CalibrationSettingsImpl and ReactiveCalibrationSettingsImpl:
+ * the sweep simulation, then the audit journal, the run history, the turret statistics and the calibration events.
+ */
+@Component
+@RequiredArgsConstructor
+public class RunRecorder {
+
+    private final SweepSimulator sweepSimulator;
+    private final AuditJournal auditJournal;
+    private final RunHistoryRecorder runHistoryRecorder;
+    private final TurretStatistics turretStatistics;
+    private final CalibrationEventPublisher calibrationEventPublisher;
+
+    /**
+     * Records one run of POST /calibration/run, each step timed by a {@link CalibrationPhaseEvent}
+     * when a flight recording enables it.
+     * @param numberOfTests test count of the turret once this run was counted
+     */
+    public RunResponse record(PendingSetting pendingSetting, int numberOfTests) {
+        var phase = CalibrationPhaseEvent.start();
+        var simulation = sweepSimulator.simulate(pendingSetting);
+        phase.finish(CalibrationPhaseEvent.RUN, "simulation", pendingSetting.turretLocation(),
+                CalibrationPhaseEvent.SUCCESS);
+        return record(pendingSetting, numberOfTests, simulation, true);
+    }
+
+    /**
+     * Records the runs of a batch, in order, with their sweeps simulated in parallel.
+     * Batches are not timed by flight recordings.
+     * @param numberOfTests number of tests of each turret in the batch, indexed by ordinal
+     * @param totals test count of each turret once numberOfTests were added
+     */
+    public List<RunResponse> recordAll(List<PendingSetting> pendingSettings, int[] numberOfTests, int[] totals) {
+        var sweepSimulations = sweepSimulator.simulateAll(pendingSettings);
+        var previousTests = new int[numberOfTests.length];
+        for (int ordinal = 0; ordinal < numberOfTests.length; ordinal++) {
+            previousTests[ordinal] = totals[ordinal] - numberOfTests[ordinal];
+        }
+        List<RunResponse> runResponses = new ArrayList<>(pendingSettings.size());
+        for (int index = 0; index < pendingSettings.size(); index++) {
+            var pendingSetting = pendingSettings.get(index);
+            var numberOfTestsOfRun = ++previousTests[pendingSetting.turretLocation().ordinal()];
+            runResponses.add(record(pendingSetting, numberOfTestsOfRun, sweepSimulations.get(index), false));
+        }
+        return runResponses;
+    }
+
+    private RunResponse record(PendingSetting pendingSetting, int numberOfTests, SweepSimulation simulation,
+                               boolean timed) {
+        var turretLocation = pendingSetting.turretLocation();
+        var runResponse = RunResponse.builder()
+                .distanceInDegrees(pendingSetting.totalDistance())
+                .numberOfTests(numberOfTests)
+                .simulation(simulation)
+                .build();
+        var phase = CalibrationPhaseEvent.start();
+        auditJournal.recordRun(turretLocation, pendingSetting.totalDistance(), numberOfTests);
+        finish(phase, "audit", turretLocation, timed);
+        phase = CalibrationPhaseEvent.start();
+        runHistoryRecorder.record(pendingSetting, numberOfTests);
+        turretStatistics.record(pendingSetting);
+        finish(phase, "history", turretLocation, timed);
+        phase = CalibrationPhaseEvent.start();
+        calibrationEventPublisher.publishRun(turretLocation, runResponse);
+        finish(phase, "publish", turretLocation, timed);
+        return runResponse;
+    }
+
+    private static void finish(CalibrationPhaseEvent phase, String name, TurretLocation turretLocation, boolean timed) {
+        if (timed) {
+            phase.finish(CalibrationPhaseEvent.RUN, name, turretLocation, CalibrationPhaseEvent.SUCCESS);
+        }
+    }
+}
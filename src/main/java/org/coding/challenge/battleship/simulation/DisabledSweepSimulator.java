@@ -0,0 +1,27 @@
+package org.coding.challenge.battleship.simulation;
+
+import org.coding.challenge.battleship.dto.SweepSimulation;
+import org.coding.challenge.battleship.pending.PendingSetting;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Default, used unless battleship-calibration.simulation.enabled=true. Runs have no simulation.
+ */
+@Component
+@ConditionalOnProperty(name = "battleship-calibration.simulation.enabled", havingValue = "false", matchIfMissing = true)
+public class DisabledSweepSimulator implements SweepSimulator {
+
+    @Override
+    public SweepSimulation simulate(PendingSetting pendingSetting) {
+        return null;
+    }
+
+    @Override
+    public List<SweepSimulation> simulateAll(List<PendingSetting> pendingSettings) {
+        return Collections.nCopies(pendingSettings.size(), null);
+    }
+}
@@ -0,0 +1,22 @@
+package org.coding.challenge.battleship.simulation;
+
+import org.coding.challenge.battleship.dto.SweepSimulation;
+import org.coding.challenge.battleship.pending.PendingSetting;
+
+import java.util.List;
+
+/**
+ * Simulates how a turret sweeps through the rotations of a setting, for the RunResponse of its run.
+ */
+public interface SweepSimulator {
+
+    /**
+     * @return the simulated sweep, or null when the simulation is disabled
+     */
+    SweepSimulation simulate(PendingSetting pendingSetting);
+
+    /**
+     * @return one simulated sweep per setting, in the same order, or nulls when the simulation is disabled
+     */
+    List<SweepSimulation> simulateAll(List<PendingSetting> pendingSettings);
+}
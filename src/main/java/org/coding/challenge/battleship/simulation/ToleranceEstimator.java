@@ -0,0 +1,258 @@
+package org.coding.challenge.battleship.simulation;
+
+import jakarta.annotation.PreDestroy;
+import org.coding.challenge.battleship.dto.HistogramBin;
+import org.coding.challenge.battleship.dto.ToleranceEstimate;
+import org.coding.challenge.battleship.dto.ToleranceRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs the Monte Carlo trials of a ToleranceRequest on a fork-join pool,
+ * enabled with battleship-calibration.tolerance.enabled=true.
+ *
+ * The samples are cut in chunks of 65536, and each chunk draws from its own SplittableRandom, split from the seed in
+ * chunk order. Chunks are summed pairwise along a tree that only depends on the number of chunks, so the estimate
+ * is the same for a seed whatever the number of threads and the order in which they run.
+ *
+ * Each chunk counts its trials in a fine histogram of the deviation from the nominal distance, spanning 8 standard
+ * deviations of the noisiest caliber on both sides, from which the percentiles are interpolated and the histogram
+ * of the response is grouped. Trials outside of it are counted in the first or last bin.
+ */
+@Component
+@ConditionalOnProperty(name = "battleship-calibration.tolerance.enabled", havingValue = "true")
+public class ToleranceEstimator {
+
+    private static final int CHUNK_SAMPLES = 1 << 16;
+    private static final int FINE_BINS = 8192;
+    private static final double LIGHTEST_CALIBER = 102;
+    private static final double RANGE_STD_DEVS = 8;
+    private static final double[] PERCENTILES = {1, 5, 25, 50, 75, 95, 99};
+
+    private final ForkJoinPool forkJoinPool;
+
+    public ToleranceEstimator(@Value("${battleship-calibration.tolerance.parallelism}") int parallelism) {
+        this.forkJoinPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param toleranceRequest validated request
+     */
+    public ToleranceEstimate estimate(ToleranceRequest toleranceRequest) {
+        var settings = toleranceRequest.getSettings();
+        var nominalDistance = settings.getRotations() * (settings.getRotationEndPoint() - settings.getRotationStartPoint());
+        var noisiestPointNoise = toleranceRequest.getPointNoise()
+                * Math.max(settings.getCaliber() + 6 * toleranceRequest.getCaliberNoise(), 0) / LIGHTEST_CALIBER;
+        var range = RANGE_STD_DEVS * settings.getRotations() * Math.sqrt(2) * noisiestPointNoise;
+        var trials = new Trials(toleranceRequest.getSamples(), settings.getCaliber(), settings.getRotations(),
+                toleranceRequest.getPointNoise(), toleranceRequest.getCaliberNoise(), toleranceRequest.getTolerance(),
+                range > 0 ? range : 1);
+
+        var chunks = (int) ((trials.samples() + CHUNK_SAMPLES - 1) / CHUNK_SAMPLES);
+        var randoms = new SplittableRandom[chunks];
+        var seedRandom = new SplittableRandom(toleranceRequest.getSeed());
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            randoms[chunk] = seedRandom.split();
+        }
+        var accumulator = forkJoinPool.invoke(new TrialTask(trials, randoms, 0, chunks));
+
+        var mean = accumulator.sum / accumulator.count;
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (var percentile : PERCENTILES) {
+            percentiles.put("p" + (int) percentile, nominalDistance + percentile(accumulator, trials, percentile));
+        }
+        return ToleranceEstimate.builder()
+                .samples(accumulator.count)
+                .seed(toleranceRequest.getSeed())
+                .nominalDistance(nominalDistance)
+                .tolerance(trials.tolerance())
+                .withinTolerance((double) accumulator.withinTolerance / accumulator.count)
+                .mean(nominalDistance + mean)
+                .stdDev(Math.sqrt(Math.max(accumulator.sumOfSquares / accumulator.count - mean * mean, 0)))
+                .min(nominalDistance + accumulator.min)
+                .max(nominalDistance + accumulator.max)
+                .percentiles(percentiles)
+                .histogram(histogram(accumulator, trials, nominalDistance, toleranceRequest.getBins()))
+                .build();
+    }
+
+    private static double percentile(Accumulator accumulator, Trials trials, double percentile) {
+        var rank = percentile / 100 * accumulator.count;
+        double cumulated = accumulator.underflow;
+        if (rank <= cumulated) {
+            return accumulator.min;
+        }
+        var binWidth = 2 * trials.range() / FINE_BINS;
+        for (int bin = 0; bin < FINE_BINS; bin++) {
+            var count = accumulator.bins[bin];
+            if (count > 0 && cumulated + count >= rank) {
+                var deviation = -trials.range() + (bin + (rank - cumulated) / count) * binWidth;
+                return Math.clamp(deviation, accumulator.min, accumulator.max);
+            }
+            cumulated += count;
+        }
+        return accumulator.max;
+    }
+
+    /**
+     * Groups the fine bins between the first and the last one that is not empty in at most bins bins.
+     */
+    private static List<HistogramBin> histogram(Accumulator accumulator, Trials trials, long nominalDistance, int bins) {
+        int first = 0;
+        while (first < FINE_BINS && accumulator.bins[first] == 0) {
+            first++;
+        }
+        int last = FINE_BINS;
+        while (last > first && accumulator.bins[last - 1] == 0) {
+            last--;
+        }
+        var binWidth = 2 * trials.range() / FINE_BINS;
+        var span = last - first;
+        List<HistogramBin> histogram = new ArrayList<>(bins);
+        for (int bin = 0; bin < bins; bin++) {
+            var from = first + (int) Math.ceilDiv((long) bin * span, bins);
+            var to = first + (int) Math.ceilDiv((long) (bin + 1) * span, bins);
+            if (from == to) {
+                continue;
+            }
+            long count = 0;
+            for (int fineBin = from; fineBin < to; fineBin++) {
+                count += accumulator.bins[fineBin];
+            }
+            histogram.add(HistogramBin.builder()
+                    .lower(nominalDistance - trials.range() + from * binWidth)
+                    .upper(nominalDistance - trials.range() + to * binWidth)
+                    .count(count)
+                    .build());
+        }
+        if (histogram.isEmpty()) { // every trial outside of the fine histogram
+            histogram.add(HistogramBin.builder()
+                    .lower(nominalDistance + accumulator.min)
+                    .upper(nominalDistance + accumulator.max)
+                    .build());
+        }
+        var firstBin = histogram.getFirst();
+        firstBin.setCount(firstBin.getCount() + accumulator.underflow);
+        firstBin.setLower(Math.min(firstBin.getLower(), nominalDistance + accumulator.min));
+        var lastBin = histogram.getLast();
+        lastBin.setCount(lastBin.getCount() + accumulator.overflow);
+        lastBin.setUpper(Math.max(lastBin.getUpper(), nominalDistance + accumulator.max));
+        return histogram;
+    }
+
+    @PreDestroy
+    public void close() {
+        forkJoinPool.shutdown();
+    }
+
+    private record Trials(long samples, double caliber, int rotations, double pointNoise, double caliberNoise,
+                          double tolerance, double range) {
+    }
+
+    /**
+     * Sums of the deviations of the trials from the nominal distance.
+     */
+    private static final class Accumulator {
+
+        private final long[] bins = new long[FINE_BINS];
+        private long count;
+        private long withinTolerance;
+        private long underflow;
+        private long overflow;
+        private double sum;
+        private double sumOfSquares;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        private Accumulator merge(Accumulator other) {
+            for (int bin = 0; bin < FINE_BINS; bin++) {
+                bins[bin] += other.bins[bin];
+            }
+            count += other.count;
+            withinTolerance += other.withinTolerance;
+            underflow += other.underflow;
+            overflow += other.overflow;
+            sum += other.sum;
+            sumOfSquares += other.sumOfSquares;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            return this;
+        }
+    }
+
+    private static final class TrialTask extends RecursiveTask<Accumulator> {
+
+        private final Trials trials;
+        private final SplittableRandom[] randoms;
+        private final int from;
+        private final int to;
+
+        private TrialTask(Trials trials, SplittableRandom[] randoms, int from, int to) {
+            this.trials = trials;
+            this.randoms = randoms;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Accumulator compute() {
+            if (to - from == 1) {
+                return runChunk(from);
+            }
+            var middle = (from + to) >>> 1;
+            var left = new TrialTask(trials, randoms, from, middle);
+            left.fork();
+            var right = new TrialTask(trials, randoms, middle, to).compute();
+            return left.join().merge(right);
+        }
+
+        private Accumulator runChunk(int chunk) {
+            var random = randoms[chunk];
+            var samples = (int) Math.min(CHUNK_SAMPLES, trials.samples() - (long) chunk * CHUNK_SAMPLES);
+            var binScale = FINE_BINS / (2 * trials.range());
+            var accumulator = new Accumulator();
+            double sum = 0;
+            double sumOfSquares = 0;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            long withinTolerance = 0;
+            for (int sample = 0; sample < samples; sample++) {
+                var caliber = trials.caliber() + trials.caliberNoise() * random.nextGaussian();
+                var pointNoise = trials.pointNoise() * Math.max(caliber, 0) / LIGHTEST_CALIBER;
+                var deviation = trials.rotations() * pointNoise * (random.nextGaussian() - random.nextGaussian());
+
+                sum += deviation;
+                sumOfSquares += deviation * deviation;
+                min = Math.min(min, deviation);
+                max = Math.max(max, deviation);
+                if (Math.abs(deviation) <= trials.tolerance()) {
+                    withinTolerance++;
+                }
+                var bin = (int) Math.floor((deviation + trials.range()) * binScale);
+                if (bin < 0) {
+                    accumulator.underflow++;
+                } else if (bin >= FINE_BINS) {
+                    accumulator.overflow++;
+                } else {
+                    accumulator.bins[bin]++;
+                }
+            }
+            accumulator.count = samples;
+            accumulator.withinTolerance = withinTolerance;
+            accumulator.sum = sum;
+            accumulator.sumOfSquares = sumOfSquares;
+            accumulator.min = min;
+            accumulator.max = max;
+            return accumulator;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package org.coding.challenge.battleship.simulation;
+
+import jakarta.annotation.PreDestroy;
+import org.coding.challenge.battleship.dto.RotationTiming;
+import org.coding.challenge.battleship.dto.SweepSimulation;
+import org.coding.challenge.battleship.pending.PendingSetting;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Caliber-aware sweep simulator, enabled with battleship-calibration.simulation.enabled=true.
+ *
+ * The heavier the caliber, the slower the turret: its maximum angular velocity, its maximum angular acceleration
+ * and the time it takes to settle after a move are interpolated between the light (caliber 102) and the
+ * heavy (caliber 450) profiles. A move from one rotation point to the other is integrated with a fixed time step:
+ * the turret accelerates with a torque that falls off as it approaches its maximum velocity, and brakes at its
+ * maximum acceleration so that it stops on the rotation point. Rotations alternate between both directions, so the
+ * turret settles on rotation_end_point after odd rotations and on rotation_start_point after even ones.
+ *
+ * Every rotation of a setting is the same move, so a setting is integrated once whatever its number of rotations.
+ * Batches are integrated on a fork-join pool over primitive arrays, split in tasks of parallel-threshold settings,
+ * and the integration allocates nothing per step.
+ */
+@Component
+@ConditionalOnProperty(name = "battleship-calibration.simulation.enabled", havingValue = "true")
+public class TurretSweepSimulator implements SweepSimulator {
+
+    // bounds of SettingsRequest.caliber
+    private static final double LIGHTEST_CALIBER = 102;
+    private static final double HEAVIEST_CALIBER = 450;
+
+    private final double lightMaxVelocity;
+    private final double lightMaxAcceleration;
+    private final double lightSettleMs;
+    private final double heavyMaxVelocity;
+    private final double heavyMaxAcceleration;
+    private final double heavySettleMs;
+    private final double timeStepMs;
+    private final int parallelThreshold;
+    private final int maxRotationTimings;
+    private final ForkJoinPool forkJoinPool;
+
+    public TurretSweepSimulator(@Value("${battleship-calibration.simulation.light.max-velocity}") double lightMaxVelocity,
+                                @Value("${battleship-calibration.simulation.light.max-acceleration}") double lightMaxAcceleration,
+                                @Value("${battleship-calibration.simulation.light.settle-ms}") double lightSettleMs,
+                                @Value("${battleship-calibration.simulation.heavy.max-velocity}") double heavyMaxVelocity,
+                                @Value("${battleship-calibration.simulation.heavy.max-acceleration}") double heavyMaxAcceleration,
+                                @Value("${battleship-calibration.simulation.heavy.settle-ms}") double heavySettleMs,
+                                @Value("${battleship-calibration.simulation.time-step-ms}") double timeStepMs,
+                                @Value("${battleship-calibration.simulation.parallelism}") int parallelism,
+                                @Value("${battleship-calibration.simulation.parallel-threshold}") int parallelThreshold,
+                                @Value("${battleship-calibration.simulation.max-rotation-timings}") int maxRotationTimings) {
+        if (lightMaxVelocity <= 0 || lightMaxAcceleration <= 0 || heavyMaxVelocity <= 0 || heavyMaxAcceleration <= 0
+                || timeStepMs <= 0) {
+            throw new IllegalArgumentException("Sweep simulation velocities, accelerations and time step must be positive");
+        }
+        this.lightMaxVelocity = lightMaxVelocity;
+        this.lightMaxAcceleration = lightMaxAcceleration;
+        this.lightSettleMs = lightSettleMs;
+        this.heavyMaxVelocity = heavyMaxVelocity;
+        this.heavyMaxAcceleration = heavyMaxAcceleration;
+        this.heavySettleMs = heavySettleMs;
+        this.timeStepMs = timeStepMs;
+        this.parallelThreshold = Math.max(parallelThreshold, 1);
+        this.maxRotationTimings = maxRotationTimings;
+        this.forkJoinPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public SweepSimulation simulate(PendingSetting pendingSetting) {
+        var moveMs = new double[1];
+        var peakVelocities = new double[1];
+        integrate(new long[]{pendingSetting.caliber()}, new long[]{pendingSetting.sweep()}, moveMs, peakVelocities, 0, 1);
+        return sweepSimulation(pendingSetting, moveMs[0], peakVelocities[0]);
+    }
+
+    @Override
+    public List<SweepSimulation> simulateAll(List<PendingSetting> pendingSettings) {
+        var size = pendingSettings.size();
+        var calibers = new long[size];
+        var sweeps = new long[size];
+        for (int index = 0; index < size; index++) {
+            calibers[index] = pendingSettings.get(index).caliber();
+            sweeps[index] = pendingSettings.get(index).sweep();
+        }
+        var moveMs = new double[size];
+        var peakVelocities = new double[size];
+        if (size <= parallelThreshold) {
+            integrate(calibers, sweeps, moveMs, peakVelocities, 0, size);
+        } else {
+            forkJoinPool.invoke(new IntegrationTask(calibers, sweeps, moveMs, peakVelocities, 0, size));
+        }
+
+        var sweepSimulations = new SweepSimulation[size];
+        for (int index = 0; index < size; index++) {
+            sweepSimulations[index] = sweepSimulation(pendingSettings.get(index), moveMs[index], peakVelocities[index]);
+        }
+        return Arrays.asList(sweepSimulations);
+    }
+
+    /**
+     * Integrates one move of the settings from (inclusive) to to (exclusive), writing its duration in milliseconds
+     * and its peak velocity in degrees per second. Only reads and writes the arrays.
+     */
+    void integrate(long[] calibers, long[] sweeps, double[] moveMs, double[] peakVelocities, int from, int to) {
+        var timeStep = timeStepMs / 1000;
+        for (int index = from; index < to; index++) {
+            var weight = weight(calibers[index]);
+            var maxVelocity = interpolate(lightMaxVelocity, heavyMaxVelocity, weight);
+            var maxAcceleration = interpolate(lightMaxAcceleration, heavyMaxAcceleration, weight);
+            var velocityStep = maxAcceleration * timeStep;
+            var brakingFactor = 1 / (2 * maxAcceleration);
+            double sweep = sweeps[index];
+
+            double position = 0;
+            double velocity = 0;
+            double peakVelocity = 0;
+            long steps = 0;
+            while (position < sweep) {
+                if (sweep - position <= velocity * velocity * brakingFactor + velocity * timeStep) {
+                    velocity = Math.max(velocity - velocityStep, velocityStep); // never stops short of the point
+                } else {
+                    velocity += velocityStep * (1 - velocity / maxVelocity);
+                    peakVelocity = Math.max(peakVelocity, velocity);
+                }
+                position += velocity * timeStep;
+                steps++;
+            }
+            moveMs[index] = steps * timeStepMs;
+            peakVelocities[index] = peakVelocity;
+        }
+    }
+
+    private SweepSimulation sweepSimulation(PendingSetting pendingSetting, double moveMs, double peakVelocity) {
+        var settleMs = interpolate(lightSettleMs, heavySettleMs, weight(pendingSetting.caliber()));
+        var rotationMs = moveMs + settleMs;
+        var timings = Math.max(0, Math.min(pendingSetting.rotations(), maxRotationTimings));
+        List<RotationTiming> rotationTimings = new ArrayList<>(timings);
+        for (int rotation = 1; rotation <= timings; rotation++) {
+            var startMs = (rotation - 1) * rotationMs;
+            rotationTimings.add(RotationTiming.builder()
+                    .rotation(rotation)
+                    .startMs(startMs)
+                    .reachedMs(startMs + moveMs)
+                    .settledMs(rotation * rotationMs)
+                    .settlePoint(rotation % 2 == 1 ? pendingSetting.rotationEndPoint() : pendingSetting.rotationStartPoint())
+                    .build());
+        }
+        return SweepSimulation.builder()
+                .sweepDurationMs(pendingSetting.rotations() * rotationMs)
+                .moveMs(moveMs)
+                .settleMs(settleMs)
+                .peakVelocity(peakVelocity)
+                .rotationTimings(rotationTimings)
+                .build();
+    }
+
+    /**
+     * 0 for the lightest caliber and 1 for the heaviest.
+     */
+    private static double weight(long caliber) {
+        return Math.clamp((caliber - LIGHTEST_CALIBER) / (HEAVIEST_CALIBER - LIGHTEST_CALIBER), 0.0, 1.0);
+    }
+
+    private static double interpolate(double light, double heavy, double weight) {
+        return light + (heavy - light) * weight;
+    }
+
+    @PreDestroy
+    public void close() {
+        forkJoinPool.shutdown();
+    }
+
+    private final class IntegrationTask extends RecursiveAction {
+
+        private final long[] calibers;
+        private final long[] sweeps;
+        private final double[] moveMs;
+        private final double[] peakVelocities;
+        private final int from;
+        private final int to;
+
+        private IntegrationTask(long[] calibers, long[] sweeps, double[] moveMs, double[] peakVelocities, int from, int to) {
+            this.calibers = calibers;
+            this.sweeps = sweeps;
+            this.moveMs = moveMs;
+            this.peakVelocities = peakVelocities;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= parallelThreshold) {
+                integrate(calibers, sweeps, moveMs, peakVelocities, from, to);
+                return;
+            }
+            var middle = (from + to) >>> 1;
+            invokeAll(new IntegrationTask(calibers, sweeps, moveMs, peakVelocities, from, middle),
+                    new IntegrationTask(calibers, sweeps, moveMs, peakVelocities, middle, to));
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package org.coding.challenge.battleship.statistics;
+
+import org.coding.challenge.battleship.dto.TurretStats;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.pending.PendingSetting;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rolling statistics of the runs of each turret over the last window-seconds, kept in memory and served by
+ * GET /calibration/turrets/{location}/stats without any database access.
+ *
+ * The window of a turret is a ring of buckets of window-seconds / buckets each. A bucket holds the number of runs,
+ * the sum, min and max of their distance_in_degrees, a log-linear histogram of the distances (16 bins per power of
+ * two, so a percentile is within about 3% of the exact value) and the caliber mix. The totals of the whole window
+ * are kept up to date as runs are recorded and as the oldest bucket expires, so a read does not depend on the number
+ * of runs either. Every array is allocated up front, so the memory of a turret is constant.
+ */
+@Component
+public class TurretStatistics {
+
+    static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /** Distances are below rotations x 180 < 2^39. */
+    private static final int MAX_EXPONENT = 39;
+    static final int DISTANCE_BINS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+    private static final int MIN_CALIBER = 102;
+    private static final int CALIBER_BIN_WIDTH = 50;
+    private static final String[] CALIBER_BINS = {"102-149", "150-199", "200-249", "250-299", "300-349",
+            "350-399", "400-450"};
+    private static final TurretLocation[] TURRET_LOCATIONS = TurretLocation.values();
+
+    private final long windowNanos;
+    private final long bucketNanos;
+    private final int buckets;
+    private final TurretWindow[] turretWindows = new TurretWindow[TURRET_LOCATIONS.length];
+
+    public TurretStatistics(@Value("${battleship-calibration.turret-stats.window-seconds}") long windowSeconds,
+                            @Value("${battleship-calibration.turret-stats.buckets}") int buckets) {
+        if (buckets < 1 || windowSeconds < 1 || TimeUnit.SECONDS.toMillis(windowSeconds) < buckets) {
+            throw new IllegalArgumentException("Turret statistics need at least 1 bucket of at least 1 ms");
+        }
+        this.windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+        this.bucketNanos = windowNanos / buckets;
+        this.buckets = buckets;
+        for (var turretLocation : TURRET_LOCATIONS) {
+            turretWindows[turretLocation.ordinal()] = new TurretWindow();
+        }
+    }
+
+    public void record(PendingSetting pendingSetting) {
+        record(pendingSetting.turretLocation(), pendingSetting.totalDistance(), pendingSetting.caliber(),
+                System.nanoTime());
+    }
+
+    void record(TurretLocation turretLocation, long distance, long caliber, long nowNanos) {
+        turretWindows[turretLocation.ordinal()].record(distance, caliberBin(caliber), nowNanos);
+    }
+
+    public TurretStats stats(TurretLocation turretLocation) {
+        return stats(turretLocation, System.nanoTime());
+    }
+
+    TurretStats stats(TurretLocation turretLocation, long nowNanos) {
+        return turretWindows[turretLocation.ordinal()].stats(turretLocation, nowNanos);
+    }
+
+    /**
+     * Index of the histogram bin of a distance: exact below 16, then 16 bins per power of two.
+     */
+    static int distanceBin(long distance) {
+        if (distance < SUB_BUCKETS) {
+            return (int) Math.max(distance, 0);
+        }
+        var exponent = 63 - Long.numberOfLeadingZeros(distance);
+        if (exponent > MAX_EXPONENT) {
+            return DISTANCE_BINS - 1;
+        }
+        var subBucket = (int) (distance >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Middle of the distances of a histogram bin.
+     */
+    static long distanceOfBin(int bin) {
+        if (bin < SUB_BUCKETS) {
+            return bin;
+        }
+        var shift = bin / SUB_BUCKETS - 1;
+        var lowest = (long) (SUB_BUCKETS + bin % SUB_BUCKETS) << shift;
+        return lowest + ((1L << shift) - 1) / 2;
+    }
+
+    private static int caliberBin(long caliber) {
+        return (int) Math.clamp((caliber - MIN_CALIBER + 2) / CALIBER_BIN_WIDTH, 0, CALIBER_BINS.length - 1);
+    }
+
+    /**
+     * The ring of buckets of one turret, guarded by its lock.
+     */
+    private final class TurretWindow {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long[] bucketIndexes = new long[buckets];
+        private final int[] bucketRuns = new int[buckets];
+        private final long[] bucketMins = new long[buckets];
+        private final long[] bucketMaxes = new long[buckets];
+        private final long[] bucketSums = new long[buckets];
+        private final int[][] bucketDistanceBins = new int[buckets][DISTANCE_BINS];
+        private final int[][] bucketCaliberBins = new int[buckets][CALIBER_BINS.length];
+        private final long[] windowDistanceBins = new long[DISTANCE_BINS];
+        private final long[] windowCaliberBins = new long[CALIBER_BINS.length];
+        private long windowRuns;
+        private long windowSum;
+        private long runs;
+        private long latestIndex = Long.MIN_VALUE;
+
+        private TurretWindow() {
+            Arrays.fill(bucketIndexes, Long.MIN_VALUE);
+        }
+
+        private void record(long distance, int caliberBin, long nowNanos) {
+            var distanceBin = distanceBin(distance);
+            lock.lock();
+            try {
+                var slot = current(nowNanos);
+                if (bucketRuns[slot] == 0 || distance < bucketMins[slot]) {
+                    bucketMins[slot] = distance;
+                }
+                if (bucketRuns[slot] == 0 || distance > bucketMaxes[slot]) {
+                    bucketMaxes[slot] = distance;
+                }
+                bucketRuns[slot]++;
+                bucketSums[slot] += distance;
+                bucketDistanceBins[slot][distanceBin]++;
+                bucketCaliberBins[slot][caliberBin]++;
+                windowRuns++;
+                windowSum += distance;
+                windowDistanceBins[distanceBin]++;
+                windowCaliberBins[caliberBin]++;
+                runs++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private TurretStats stats(TurretLocation turretLocation, long nowNanos) {
+            long[] distanceBins;
+            long windowRuns;
+            long windowSum;
+            long runs;
+            var min = Long.MAX_VALUE;
+            var max = Long.MIN_VALUE;
+            var caliberMix = new LinkedHashMap<String, Long>();
+            lock.lock();
+            try {
+                current(nowNanos);
+                distanceBins = windowDistanceBins.clone();
+                windowRuns = this.windowRuns;
+                windowSum = this.windowSum;
+                runs = this.runs;
+                for (int slot = 0; slot < buckets; slot++) {
+                    if (bucketRuns[slot] > 0) {
+                        min = Math.min(min, bucketMins[slot]);
+                        max = Math.max(max, bucketMaxes[slot]);
+                    }
+                }
+                for (int bin = 0; bin < CALIBER_BINS.length; bin++) {
+                    caliberMix.put(CALIBER_BINS[bin], windowCaliberBins[bin]);
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            var stats = TurretStats.builder()
+                    .location(turretLocation)
+                    .windowSeconds(TimeUnit.NANOSECONDS.toSeconds(windowNanos))
+                    .runs(runs)
+                    .windowRuns(windowRuns)
+                    .runsPerSecond(windowRuns * 1e9 / windowNanos)
+                    .caliberMix(caliberMix);
+            if (windowRuns > 0) {
+                stats.distanceMin(min)
+                        .distanceMean((double) windowSum / windowRuns)
+                        .distanceP50(percentile(distanceBins, windowRuns, 0.5, min, max))
+                        .distanceP99(percentile(distanceBins, windowRuns, 0.99, min, max))
+                        .distanceMax(max);
+            }
+            return stats.build();
+        }
+
+        /**
+         * Moves the ring to the bucket of nowNanos, expiring the buckets that fell out of the window.
+         * @return slot of the current bucket
+         */
+        private int current(long nowNanos) {
+            // a thread that read the clock before another one recorded must not move the ring backwards
+            var index = Math.max(Math.floorDiv(nowNanos, bucketNanos), latestIndex);
+            latestIndex = index;
+            var slot = (int) Math.floorMod(index, buckets);
+            if (bucketIndexes[slot] != index) {
+                for (int other = 0; other < buckets; other++) {
+                    if (bucketIndexes[other] != Long.MIN_VALUE && bucketIndexes[other] <= index - buckets) {
+                        expire(other);
+                    }
+                }
+                expire(slot);
+                bucketIndexes[slot] = index;
+            }
+            return slot;
+        }
+
+        private void expire(int slot) {
+            if (bucketRuns[slot] > 0) {
+                var distanceBins = bucketDistanceBins[slot];
+                for (int bin = 0; bin < DISTANCE_BINS; bin++) {
+                    windowDistanceBins[bin] -= distanceBins[bin];
+                }
+                Arrays.fill(distanceBins, 0);
+                var caliberBins = bucketCaliberBins[slot];
+                for (int bin = 0; bin < caliberBins.length; bin++) {
+                    windowCaliberBins[bin] -= caliberBins[bin];
+                }
+                Arrays.fill(caliberBins, 0);
+                windowRuns -= bucketRuns[slot];
+                windowSum -= bucketSums[slot];
+                bucketRuns[slot] = 0;
+                bucketSums[slot] = 0;
+            }
+            bucketIndexes[slot] = Long.MIN_VALUE;
+        }
+    }
+
+    private static long percentile(long[] distanceBins, long runs, double quantile, long min, long max) {
+        var rank = Math.max(1, (long) Math.ceil(quantile * runs));
+        long seen = 0;
+        for (int bin = 0; bin < distanceBins.length; bin++) {
+            seen += distanceBins[bin];
+            if (seen >= rank) {
+                return Math.clamp(distanceOfBin(bin), min, max);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,22 @@
+package org.coding.challenge.battleship.validation;
+
+import lombok.Getter;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+
+import java.util.Map;
+
+/**
+ * Thrown when SettingsRequestValidator rejects a settings request, with the errors to answer.
+ */
+@Getter
+public class InvalidSettingsException extends RuntimeException {
+
+    private final SettingsRequest settingsRequest;
+    private final Map<String, String> errors;
+
+    public InvalidSettingsException(SettingsRequest settingsRequest, Map<String, String> errors) {
+        super("Invalid calibration settings", null, false, false); // no stack trace, rejections must stay cheap
+        this.settingsRequest = settingsRequest;
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,63 @@
+package org.coding.challenge.battleship.validation;
+
+import org.coding.challenge.battleship.dto.SettingsRequest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Checks the constraints declared on SettingsRequest without Bean Validation, for the hot settings endpoint.
+ * Errors have the same keys and messages as CalibrationExceptionHandler.handleValidationExceptions:
+ * the field name for each field error and the object name for every error.
+ * The constraints and messages must be kept in line with the annotations of SettingsRequest.
+ */
+public final class SettingsRequestValidator {
+
+    public static final String OBJECT_NAME = "settingsRequest";
+
+    private SettingsRequestValidator() {
+    }
+
+    /**
+     * @return null when the settings request is valid, so that a valid request allocates nothing
+     */
+    public static Map<String, String> validate(SettingsRequest settingsRequest) {
+        Map<String, String> errors = null;
+        if (settingsRequest.getCaliber() < 102) {
+            errors = fieldError(errors, "caliber", "Minimum value of caliber is 102");
+        } else if (settingsRequest.getCaliber() > 450) {
+            errors = fieldError(errors, "caliber", "Maximum value of caliber is 450");
+        }
+        if (settingsRequest.getRotationStartPoint() < 0) {
+            errors = fieldError(errors, "rotationStartPoint", "Minimum value of rotation_start_point is 0");
+        } else if (settingsRequest.getRotationStartPoint() > 180) {
+            errors = fieldError(errors, "rotationStartPoint", "Maximum value of rotation_start_point is 180");
+        }
+        if (settingsRequest.getRotationEndPoint() < 0) {
+            errors = fieldError(errors, "rotationEndPoint", "Minimum value of rotation_end_point is 0");
+        } else if (settingsRequest.getRotationEndPoint() > 180) {
+            errors = fieldError(errors, "rotationEndPoint", "Maximum value of rotation_end_point is 180");
+        }
+        if (settingsRequest.getRotations() < 1) {
+            errors = fieldError(errors, "rotations", "Minimum value of rotations is 1");
+        }
+        if (settingsRequest.getRotationEndPoint() <= settingsRequest.getRotationStartPoint()) {
+            errors = objectError(errors, "rotation_end_point must be greater than rotation_start_point");
+        }
+        return errors;
+    }
+
+    private static Map<String, String> fieldError(Map<String, String> errors, String field, String message) {
+        errors = objectError(errors, message);
+        errors.put(field, message);
+        return errors;
+    }
+
+    private static Map<String, String> objectError(Map<String, String> errors, String message) {
+        if (errors == null) {
+            errors = new HashMap<>(8); // room for every field and the object name
+        }
+        errors.put(OBJECT_NAME, message);
+        return errors;
+    }
+}
@@ -0,0 +1,287 @@
+package org.coding.challenge.battleship.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.coding.challenge.battleship.audit.DisabledAuditJournal;
+import org.coding.challenge.battleship.config.SettingsRequestHttpMessageConverter;
+import org.coding.challenge.battleship.counter.TurretTestCounter;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.events.DisabledCalibrationEventPublisher;
+import org.coding.challenge.battleship.history.DisabledRunHistoryRecorder;
+import org.coding.challenge.battleship.metrics.CalibrationMetrics;
+import org.coding.challenge.battleship.pending.PendingSettingSlot;
+import org.coding.challenge.battleship.repository.WarmupCalibrationSettingsRepository;
+import org.coding.challenge.battleship.service.CalibrationService;
+import org.coding.challenge.battleship.service.CalibrationSettingsImpl;
+import org.coding.challenge.battleship.service.RunRecorder;
+import org.coding.challenge.battleship.simulation.SweepSimulator;
+import org.coding.challenge.battleship.statistics.TurretStatistics;
+import org.coding.challenge.battleship.validation.SettingsRequestValidator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms up the JIT before the application reports ready, by replaying calibration traffic in-process,
+ * enabled with battleship-calibration.warmup.enabled=true.
+ *
+ * The calls come from the recording of {@link WarmupTrafficRecorder} when there is one, or else from synthetic
+ * pairs of a setting and a run. Each setting is read from its JSON body by the settings converter, validated,
+ * and saved, and each run goes through CalibrationSettingsImpl, the sweep simulation, the Hikari pool and the
+ * test count upsert, then its response is written to JSON: the same code paths as the real endpoints, short of
+ * the Tomcat socket. The replay has its own service on each thread, with its own pending setting, metrics
+ * registry, turret statistics and test counts in the scratch WARMUP.CALIBRATION_SETTING table, and without audit,
+ * history or events, so no real setting, test count, journal, history, statistic or metric is touched.
+ *
+ * Calls are replayed in windows of window-size calls on every thread, and the 90th percentile latency of each
+ * window is measured. The warm-up stops once at least min-windows windows are done and the percentile has stayed
+ * within tolerance of the previous window for stable-windows windows, or after max-duration-ms.
+ * Runners are run before the application is marked ready, so /actuator/health/readiness stays out of service
+ * until then, while liveness is already up.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "battleship-calibration.warmup.enabled", havingValue = "true")
+@Slf4j
+public class CalibrationWarmup implements ApplicationRunner {
+
+    private static final long SYNTHETIC_SEED = 42;
+
+    private final WarmupCalibrationSettingsRepository warmupCalibrationSettingsRepository;
+    private final SettingsRequestHttpMessageConverter settingsRequestHttpMessageConverter;
+    private final ObjectMapper objectMapper;
+    private final SweepSimulator sweepSimulator;
+    private final Path recording;
+    private final int syntheticPairs;
+    private final int threads;
+    private final int windowSize;
+    private final int minWindows;
+    private final int stableWindows;
+    private final double tolerance;
+    private final long maxDurationNanos;
+
+    public CalibrationWarmup(WarmupCalibrationSettingsRepository warmupCalibrationSettingsRepository,
+                             SettingsRequestHttpMessageConverter settingsRequestHttpMessageConverter,
+                             ObjectMapper objectMapper, SweepSimulator sweepSimulator,
+                             @Value("${battleship-calibration.warmup.recording}") Path recording,
+                             @Value("${battleship-calibration.warmup.synthetic-pairs}") int syntheticPairs,
+                             @Value("${battleship-calibration.warmup.threads}") int threads,
+                             @Value("${battleship-calibration.warmup.window-size}") int windowSize,
+                             @Value("${battleship-calibration.warmup.min-windows}") int minWindows,
+                             @Value("${battleship-calibration.warmup.stable-windows}") int stableWindows,
+                             @Value("${battleship-calibration.warmup.tolerance}") double tolerance,
+                             @Value("${battleship-calibration.warmup.max-duration-ms}") long maxDurationMs) {
+        if (syntheticPairs < 1 || threads < 1 || windowSize < 1 || minWindows < 1 || stableWindows < 1) {
+            throw new IllegalArgumentException("The warm-up needs at least 1 synthetic pair, thread, window call, "
+                    + "window and stable window");
+        }
+        if (tolerance <= 0 || maxDurationMs < 1) {
+            throw new IllegalArgumentException("The warm-up tolerance and maximum duration must be positive");
+        }
+        this.warmupCalibrationSettingsRepository = warmupCalibrationSettingsRepository;
+        this.settingsRequestHttpMessageConverter = settingsRequestHttpMessageConverter;
+        this.objectMapper = objectMapper;
+        this.sweepSimulator = sweepSimulator;
+        this.recording = recording;
+        this.syntheticPairs = syntheticPairs;
+        this.threads = threads;
+        this.windowSize = windowSize;
+        this.minWindows = minWindows;
+        this.stableWindows = stableWindows;
+        this.tolerance = tolerance;
+        this.maxDurationNanos = TimeUnit.MILLISECONDS.toNanos(maxDurationMs);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        var calls = calls();
+        var bodies = new byte[calls.size()][];
+        for (int index = 0; index < bodies.length; index++) {
+            var settingsRequest = calls.get(index).settingsRequest();
+            if (settingsRequest != null) {
+                bodies[index] = objectMapper.writeValueAsBytes(settingsRequest);
+            }
+        }
+        List<Replay> replays = new ArrayList<>(threads);
+        for (int thread = 0; thread < threads; thread++) {
+            // each thread starts at its own offset, so the threads do not replay the same calls at the same time
+            replays.add(new Replay(service(), bodies, (int) ((long) bodies.length * thread / threads)));
+        }
+
+        var start = System.nanoTime();
+        int windows = 0;
+        int stable = 0;
+        double previous = Double.NaN;
+        double percentile = Double.NaN;
+        try (var executor = Executors.newFixedThreadPool(threads)) {
+            while (windows < minWindows || stable < stableWindows) {
+                if (System.nanoTime() - start > maxDurationNanos) {
+                    log.warn("Calibration warm-up stopped after {} ms before the latency settled, last p90 {} µs",
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), Math.round(percentile / 1e3));
+                    break;
+                }
+                var latencies = window(executor, replays);
+                percentile = latencies[(int) (latencies.length * 0.9)];
+                stable = Math.abs(percentile - previous) <= tolerance * previous ? stable + 1 : 0;
+                previous = percentile;
+                windows++;
+                log.debug("Calibration warm-up window {}: p90 {} µs", windows, Math.round(percentile / 1e3));
+            }
+        } finally {
+            warmupCalibrationSettingsRepository.clear();
+        }
+        log.info("Calibration warm-up replayed {} calls in {} ms, p90 {} µs", (long) windows * windowSize * threads,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), Math.round(percentile / 1e3));
+    }
+
+    private List<WarmupRecording.Call> calls() {
+        if (Files.exists(recording)) {
+            try {
+                var calls = WarmupRecording.read(recording);
+                if (!calls.isEmpty()) {
+                    log.info("Calibration warm-up replays {} recorded calls from {}", calls.size(), recording);
+                    return calls;
+                }
+            } catch (IOException e) {
+                log.warn("Could not read the warm-up recording {}, replaying synthetic traffic", recording, e);
+            }
+        }
+        return WarmupRecording.synthetic(syntheticPairs, SYNTHETIC_SEED);
+    }
+
+    private CalibrationService service() {
+        TurretTestCounter turretTestCounter = new TurretTestCounter() {
+            @Override
+            public int increment(TurretLocation turretLocation) {
+                return warmupCalibrationSettingsRepository.addNumberOfTests(turretLocation, 1);
+            }
+
+            @Override
+            public int[] add(int[] numberOfTests) {
+                var totals = new int[numberOfTests.length];
+                for (int ordinal = 0; ordinal < numberOfTests.length; ordinal++) {
+                    if (numberOfTests[ordinal] > 0) {
+                        totals[ordinal] = warmupCalibrationSettingsRepository.addNumberOfTests(
+                                TurretLocation.values()[ordinal], numberOfTests[ordinal]);
+                    }
+                }
+                return totals;
+            }
+        };
+        var auditJournal = new DisabledAuditJournal(false);
+        var calibrationEventPublisher = new DisabledCalibrationEventPublisher();
+        return new CalibrationSettingsImpl(turretTestCounter, new PendingSettingSlot(),
+                new CalibrationMetrics(new SimpleMeterRegistry()), auditJournal, calibrationEventPublisher,
+                new RunRecorder(sweepSimulator, auditJournal, new DisabledRunHistoryRecorder(),
+                        new TurretStatistics(60, 1), calibrationEventPublisher));
+    }
+
+    /**
+     * @return the sorted latencies of the calls of the window, in nanoseconds
+     */
+    private long[] window(ExecutorService executor, List<Replay> replays)
+            throws InterruptedException {
+        List<Callable<long[]>> tasks = new ArrayList<>(replays.size());
+        for (var replay : replays) {
+            tasks.add(() -> replay.replay(windowSize));
+        }
+        var latencies = new long[windowSize * replays.size()];
+        int offset = 0;
+        for (var future : executor.invokeAll(tasks)) {
+            try {
+                System.arraycopy(future.get(), 0, latencies, offset, windowSize);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Calibration warm-up failed", e.getCause());
+            }
+            offset += windowSize;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    /**
+     * Replays the calls in a loop on one thread, with its own service.
+     */
+    private final class Replay {
+
+        private final CalibrationService calibrationService;
+        private final byte[][] bodies;
+        private int next;
+
+        private Replay(CalibrationService calibrationService, byte[][] bodies, int next) {
+            this.calibrationService = calibrationService;
+            this.bodies = bodies;
+            this.next = next;
+        }
+
+        private long[] replay(int calls) throws IOException {
+            var latencies = new long[calls];
+            for (int call = 0; call < calls; call++) {
+                var body = bodies[next];
+                next = next + 1 == bodies.length ? 0 : next + 1;
+                var start = System.nanoTime();
+                if (body == null) {
+                    run();
+                } else {
+                    settings(body);
+                }
+                latencies[call] = System.nanoTime() - start;
+            }
+            return latencies;
+        }
+
+        private void settings(byte[] body) throws IOException {
+            var settingsRequest = settingsRequestHttpMessageConverter.read(SettingsRequest.class, new HttpInputMessage() {
+                @Override
+                public InputStream getBody() {
+                    return new ByteArrayInputStream(body);
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    var headers = new HttpHeaders();
+                    headers.setContentType(MediaType.APPLICATION_JSON);
+                    headers.setContentLength(body.length);
+                    return headers;
+                }
+            });
+            if (SettingsRequestValidator.validate(settingsRequest) == null) {
+                calibrationService.settings(settingsRequest);
+            }
+        }
+
+        private void run() {
+            try {
+                objectMapper.writeValueAsBytes(calibrationService.run());
+            } catch (IllegalArgumentException e) {
+                // no pending setting, like a run without settings on the real endpoint
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.coding.challenge.battleship.warmup;
+
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Compact binary file of calibration calls, replayed by {@link CalibrationWarmup}.
+ *
+ * After a 4-byte magic number, every call is one tag byte: the turret ordinal for a PUT /calibration/settings,
+ * followed by the caliber (2 bytes), rotation_start_point and rotation_end_point (1 byte each) and rotations
+ * (unsigned varint), or RUN for a POST /calibration/run. Only valid settings are recorded, so every field
+ * fits, and a typical pair of calls takes 7 bytes.
+ */
+public final class WarmupRecording {
+
+    static final int MAGIC = 0x42435731; // BCW1
+    static final byte RUN = (byte) 0xFF;
+    /** Largest size of one call: tag, caliber, two points and a 5-byte varint. */
+    static final int MAX_CALL_BYTES = 10;
+
+    private static final TurretLocation[] TURRET_LOCATIONS = TurretLocation.values();
+
+    private WarmupRecording() {
+    }
+
+    /**
+     * One call of the recording.
+     * @param settingsRequest the settings of a PUT /calibration/settings, or null for a POST /calibration/run
+     */
+    public record Call(SettingsRequest settingsRequest) {
+
+        public boolean isRun() {
+            return settingsRequest == null;
+        }
+    }
+
+    public static void writeHeader(ByteBuffer buffer) {
+        buffer.putInt(MAGIC);
+    }
+
+    /**
+     * @param settingsRequest valid settings with a location, see SettingsRequestValidator, which accepts none
+     */
+    public static void writeSettings(ByteBuffer buffer, SettingsRequest settingsRequest) {
+        buffer.put((byte) settingsRequest.getLocation().ordinal());
+        buffer.putShort((short) settingsRequest.getCaliber());
+        buffer.put((byte) settingsRequest.getRotationStartPoint());
+        buffer.put((byte) settingsRequest.getRotationEndPoint());
+        var rotations = settingsRequest.getRotations();
+        while ((rotations & ~0x7F) != 0) {
+            buffer.put((byte) (rotations & 0x7F | 0x80));
+            rotations >>>= 7;
+        }
+        buffer.put((byte) rotations);
+    }
+
+    public static void writeRun(ByteBuffer buffer) {
+        buffer.put(RUN);
+    }
+
+    /**
+     * @throws IOException if the file cannot be read or is not a recording; a truncated last call is ignored
+     */
+    public static List<Call> read(Path path) throws IOException {
+        var buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.remaining() < 4 || buffer.getInt() != MAGIC) {
+            throw new IOException(path + " is not a warm-up recording");
+        }
+        List<Call> calls = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            var tag = buffer.get();
+            if (tag == RUN) {
+                calls.add(new Call(null));
+                continue;
+            }
+            if (tag < 0 || tag >= TURRET_LOCATIONS.length) {
+                throw new IOException(path + " has an unknown call at byte " + (buffer.position() - 1));
+            }
+            if (buffer.remaining() < 5) {
+                break;
+            }
+            var settingsRequest = new SettingsRequest();
+            settingsRequest.setLocation(TURRET_LOCATIONS[tag]);
+            settingsRequest.setCaliber(Short.toUnsignedInt(buffer.getShort()));
+            settingsRequest.setRotationStartPoint(Byte.toUnsignedInt(buffer.get()));
+            settingsRequest.setRotationEndPoint(Byte.toUnsignedInt(buffer.get()));
+            int rotations = 0;
+            int shift = 0;
+            byte next;
+            do {
+                if (!buffer.hasRemaining()) {
+                    return calls;
+                }
+                next = buffer.get();
+                rotations |= (next & 0x7F) << shift;
+                shift += 7;
+            } while (next < 0 && shift < 35);
+            settingsRequest.setRotations(rotations);
+            calls.add(new Call(settingsRequest));
+        }
+        return calls;
+    }
+
+    /**
+     * Pairs of a valid setting on a random turret and a run, always the same for a given seed,
+     * for the warm-up when nothing has been recorded yet.
+     */
+    public static List<Call> synthetic(int pairs, long seed) {
+        var random = new SplittableRandom(seed);
+        List<Call> calls = new ArrayList<>(2 * pairs);
+        for (int pair = 0; pair < pairs; pair++) {
+            var settingsRequest = new SettingsRequest();
+            settingsRequest.setLocation(TURRET_LOCATIONS[random.nextInt(TURRET_LOCATIONS.length)]);
+            settingsRequest.setCaliber(random.nextInt(102, 451));
+            var points = new int[]{random.nextInt(181), random.nextInt(181)};
+            if (points[0] == points[1]) {
+                points[points[0] == 180 ? 0 : 1] += points[0] == 180 ? -1 : 1;
+            }
+            Arrays.sort(points);
+            settingsRequest.setRotationStartPoint(points[0]);
+            settingsRequest.setRotationEndPoint(points[1]);
+            settingsRequest.setRotations(random.nextInt(1, 11));
+            calls.add(new Call(settingsRequest));
+            calls.add(new Call(null));
+        }
+        return calls;
+    }
+}
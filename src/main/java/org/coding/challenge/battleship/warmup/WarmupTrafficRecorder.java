@@ -0,0 +1,149 @@
+package org.coding.challenge.battleship.warmup;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.coding.challenge.battleship.controller.CalibrationController;
+import org.coding.challenge.battleship.dto.RunResponse;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.validation.SettingsRequestValidator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records the real calibration traffic for the warm-up of the next start, enabled with
+ * battleship-calibration.warmup.record=true.
+ *
+ * Every valid setting with a location read by PUT /calibration/settings and every successful POST /calibration/run
+ * is appended to an in-memory buffer in the format of {@link WarmupRecording}, in the order they are seen.
+ * Once max-calls calls are recorded, or at shutdown, the buffer is written to a temporary file then moved over
+ * the recording file, so the warm-up never reads a partial recording. Recording then stops until the next start.
+ */
+@ControllerAdvice(assignableTypes = CalibrationController.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "battleship-calibration.warmup.record", havingValue = "true")
+@Slf4j
+public class WarmupTrafficRecorder implements RequestBodyAdvice, ResponseBodyAdvice<Object> {
+
+    private final Path recording;
+    private final int maxCalls;
+    private ByteBuffer buffer; // guarded by this, null once written
+    private int calls;
+
+    public WarmupTrafficRecorder(@Value("${battleship-calibration.warmup.recording}") Path recording,
+                                 @Value("${battleship-calibration.warmup.record-max-calls}") int maxCalls) {
+        if (maxCalls < 1) {
+            throw new IllegalArgumentException("The warm-up recording needs at least 1 call");
+        }
+        this.recording = recording;
+        this.maxCalls = maxCalls;
+        this.buffer = ByteBuffer.allocate(4 + maxCalls * WarmupRecording.MAX_CALL_BYTES);
+        WarmupRecording.writeHeader(buffer);
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return targetType == SettingsRequest.class;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        if (body instanceof SettingsRequest settingsRequest && settingsRequest.getLocation() != null
+                && SettingsRequestValidator.validate(settingsRequest) == null) {
+            synchronized (this) {
+                if (buffer != null) {
+                    WarmupRecording.writeSettings(buffer, settingsRequest);
+                    recorded();
+                }
+            }
+        }
+        return body;
+    }
+
+    @Override
+    public Object handleEmptyBody(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                  Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return body;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof RunResponse) {
+            synchronized (this) {
+                if (buffer != null) {
+                    WarmupRecording.writeRun(buffer);
+                    recorded();
+                }
+            }
+        }
+        return body;
+    }
+
+    /**
+     * Writes the recording if it is not written yet.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (buffer == null) {
+            return;
+        }
+        var calls = this.calls;
+        var bytes = buffer.flip();
+        buffer = null;
+        if (calls == 0) {
+            return;
+        }
+        try {
+            var parent = recording.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            var temporary = Files.createTempFile(parent, recording.getFileName().toString(), ".tmp");
+            try (var channel = Files.newByteChannel(temporary, StandardOpenOption.WRITE)) {
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+            }
+            Files.move(temporary, recording, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Recorded {} calibration calls for the warm-up in {}", calls, recording);
+        } catch (IOException e) {
+            log.warn("Could not write the warm-up recording {}", recording, e);
+        }
+    }
+
+    private void recorded() {
+        if (++calls == maxCalls) {
+            close();
+        }
+    }
+}
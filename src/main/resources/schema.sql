@@ -0,0 +1,58 @@
+CREATE TABLE IF NOT EXISTS CALIBRATION_SETTING (
+    TURRET_LOCATION TINYINT NOT NULL CHECK (TURRET_LOCATION BETWEEN 0 AND 1),
+    NUMBER_OF_TESTS INTEGER NOT NULL,
+    PRIMARY KEY (TURRET_LOCATION)
+);
+
+CREATE TABLE IF NOT EXISTS FLEET_CALIBRATION_SETTING (
+    TURRET_KEY VARCHAR(129) NOT NULL,
+    NUMBER_OF_TESTS INTEGER NOT NULL,
+    PRIMARY KEY (TURRET_KEY)
+);
+
+CREATE TABLE IF NOT EXISTS RUN_HISTORY (
+    ID BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    RUN_TIME TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    TURRET_LOCATION TINYINT NOT NULL CHECK (TURRET_LOCATION BETWEEN 0 AND 1),
+    CALIBER INTEGER NOT NULL,
+    DISTANCE_IN_DEGREES BIGINT NOT NULL,
+    NUMBER_OF_TESTS INTEGER NOT NULL,
+    PRIMARY KEY (ID)
+);
+
+CREATE INDEX IF NOT EXISTS RUN_HISTORY_TURRET_LOCATION ON RUN_HISTORY (TURRET_LOCATION, ID);
+CREATE INDEX IF NOT EXISTS RUN_HISTORY_RUN_TIME ON RUN_HISTORY (RUN_TIME);
+
+CREATE TABLE IF NOT EXISTS PENDING_SETTING (
+    ID BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    TURRET_LOCATION TINYINT NOT NULL CHECK (TURRET_LOCATION BETWEEN 0 AND 1),
+    TOTAL_DISTANCE BIGINT NOT NULL,
+    CALIBER INTEGER NOT NULL,
+    ROTATION_START_POINT INTEGER NOT NULL,
+    ROTATION_END_POINT INTEGER NOT NULL,
+    ROTATIONS INTEGER NOT NULL,
+    PRIMARY KEY (ID)
+);
+
+-- scratch copy of CALIBRATION_SETTING for the warm-up replay, so it never touches the real test counts
+CREATE SCHEMA IF NOT EXISTS WARMUP;
+
+CREATE TABLE IF NOT EXISTS WARMUP.CALIBRATION_SETTING (
+    TURRET_LOCATION TINYINT NOT NULL CHECK (TURRET_LOCATION BETWEEN 0 AND 1),
+    NUMBER_OF_TESTS INTEGER NOT NULL,
+    PRIMARY KEY (TURRET_LOCATION)
+);
+
+-- recurring calibration campaigns, scheduled again at every start
+CREATE TABLE IF NOT EXISTS CALIBRATION_CAMPAIGN (
+    NAME VARCHAR(64) NOT NULL,
+    TURRET_LOCATION TINYINT NOT NULL CHECK (TURRET_LOCATION BETWEEN 0 AND 1),
+    CALIBER INTEGER NOT NULL,
+    ROTATION_START_POINT INTEGER NOT NULL,
+    ROTATION_END_POINT INTEGER NOT NULL,
+    ROTATIONS INTEGER NOT NULL,
+    INTERVAL_MS BIGINT NOT NULL,
+    BATCH_SIZE INTEGER NOT NULL,
+    CREATED_AT TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (NAME)
+);
@@ -0,0 +1,93 @@
+package org.coding.challenge.battleship.controller;
+
+import org.coding.challenge.battleship.dto.RunResponse;
+import org.coding.challenge.battleship.metrics.CalibrationMetrics;
+import org.coding.challenge.battleship.service.ReactiveCalibrationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveCalibrationController.class)
+public class ReactiveCalibrationControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ReactiveCalibrationService reactiveCalibrationService;
+
+    @MockitoBean
+    private CalibrationMetrics calibrationMetrics;
+
+    /**
+     * GIVEN a valid SettingsRequest
+     * WHEN call /calibration/settings and then /calibration/run
+     * THEN the setting is accepted and the run returns its result
+     */
+    @Test
+    public void givenValidSettings_whenSettingsThenRun_thenAcceptedAndOk() {
+        when(reactiveCalibrationService.settings(any())).thenReturn(Mono.empty());
+        when(reactiveCalibrationService.run()).thenReturn(Mono.just(RunResponse.builder()
+                .distanceInDegrees(300)
+                .numberOfTests(1)
+                .build()));
+
+        webTestClient.put().uri("/calibration/settings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(settings(150, 20, 120, 3))
+                .exchange()
+                .expectStatus().isAccepted();
+        webTestClient.post().uri("/calibration/run")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.distance_in_degrees").isEqualTo(300)
+                .jsonPath("$.number_of_tests").isEqualTo(1);
+    }
+
+    /**
+     * GIVEN an invalid SettingsRequest with caliber < 102 and rotation_end_point < rotation_start_point
+     * WHEN call /calibration/settings
+     * THEN return the same error payload as the blocking controller
+     */
+    @Test
+    public void givenInvalidSettings_whenSettings_thenReturnValidationErrors() {
+        webTestClient.put().uri("/calibration/settings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(settings(101, 120, 20, 3))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.caliber").isEqualTo("Minimum value of caliber is 102")
+                .jsonPath("$.settingsRequest").exists();
+    }
+
+    /**
+     * GIVEN no SettingsRequest has been set
+     * WHEN call /calibration/run
+     * THEN return 400 with the error message
+     */
+    @Test
+    public void givenNoSettings_whenRun_thenBadRequest() {
+        when(reactiveCalibrationService.run()).thenReturn(Mono.error(new IllegalArgumentException(
+                "Calibration Settings do not exist. Please set it before running a test.")));
+
+        webTestClient.post().uri("/calibration/run")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Calibration Settings do not exist. Please set it before running a test.");
+    }
+
+    private String settings(int caliber, int rotationStartPoint, int rotationEndPoint, int rotations) {
+        return "{\"caliber\":" + caliber + ",\"location\":\"Stern\",\"rotation_start_point\":" + rotationStartPoint
+                + ",\"rotation_end_point\":" + rotationEndPoint + ",\"rotations\":" + rotations + "}";
+    }
+}
@@ -0,0 +1,34 @@
+package org.coding.challenge.battleship.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Same CBOR and Smile bodies as BinaryWireFormatConfiguration, for the WebFlux controllers.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBinaryWireFormatConfiguration {
+
+    @Bean
+    public CodecCustomizer binaryWireFormatCodecCustomizer(Jackson2ObjectMapperBuilder cborObjectMapperBuilder,
+                                                           Jackson2ObjectMapperBuilder smileObjectMapperBuilder) {
+        var cborObjectMapper = cborObjectMapperBuilder.factory(new CBORFactory()).build();
+        var smileObjectMapper = smileObjectMapperBuilder.factory(new SmileFactory()).build();
+        return codecConfigurer -> {
+            codecConfigurer.customCodecs().register(new Jackson2CborEncoder(cborObjectMapper));
+            codecConfigurer.customCodecs().register(new Jackson2CborDecoder(cborObjectMapper));
+            codecConfigurer.customCodecs().register(new Jackson2SmileEncoder(smileObjectMapper));
+            codecConfigurer.customCodecs().register(new Jackson2SmileDecoder(smileObjectMapper));
+        };
+    }
+}
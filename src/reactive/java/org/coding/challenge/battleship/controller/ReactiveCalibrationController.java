@@ -0,0 +1,50 @@
+package org.coding.challenge.battleship.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.coding.challenge.battleship.dto.RunResponse;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.service.ReactiveCalibrationService;
+import org.coding.challenge.battleship.validation.InvalidSettingsException;
+import org.coding.challenge.battleship.validation.SettingsRequestValidator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of CalibrationController, with the same contract for settings and run.
+ * The other calibration endpoints are only served by the blocking build.
+ */
+@RestController
+@RequestMapping("/calibration")
+@CrossOrigin(origins = "${battleship-calibration.cors.ui}")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveCalibrationController {
+
+    private final ReactiveCalibrationService reactiveCalibrationService;
+
+    /**
+     * Validated by SettingsRequestValidator, like CalibrationController.settings, so both builds answer the same errors.
+     */
+    @PutMapping("/settings")
+    public Mono<ResponseEntity<Void>> settings(@RequestBody SettingsRequest settingsRequest) {
+        var errors = SettingsRequestValidator.validate(settingsRequest);
+        if (errors != null) {
+            return Mono.error(new InvalidSettingsException(settingsRequest, errors));
+        }
+        return reactiveCalibrationService.settings(settingsRequest)
+                .then(Mono.just(ResponseEntity.accepted().build()));
+    }
+
+    @PostMapping("/run")
+    public Mono<ResponseEntity<RunResponse>> run() {
+        return reactiveCalibrationService.run().map(ResponseEntity::ok);
+    }
+
+}
@@ -0,0 +1,18 @@
+package org.coding.challenge.battleship.controller;
+
+import org.coding.challenge.battleship.metrics.CalibrationMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Same error payloads as CalibrationExceptionHandler for the WebFlux controllers.
+ * Settings are validated by SettingsRequestValidator in both builds, so every handler is inherited.
+ */
+@RestControllerAdvice(basePackageClasses = CalibrationExceptionHandler.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCalibrationExceptionHandler extends CalibrationExceptionHandler {
+
+    public ReactiveCalibrationExceptionHandler(CalibrationMetrics calibrationMetrics) {
+        super(calibrationMetrics);
+    }
+}
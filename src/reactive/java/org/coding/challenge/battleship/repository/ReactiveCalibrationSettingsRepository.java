@@ -0,0 +1,55 @@
+package org.coding.challenge.battleship.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC counterpart of CalibrationSettingsRepository, with the same single-statement upsert of the test count
+ * on the same CALIBRATION_SETTING table, so the reactive and the blocking builds share their test counts.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveCalibrationSettingsRepository {
+
+    private static final String MERGE_ADD_NUMBER_OF_TESTS = "SELECT NUMBER_OF_TESTS FROM FINAL TABLE (" +
+            "MERGE INTO CALIBRATION_SETTING T " +
+            "USING (VALUES (CAST(:turretLocation AS TINYINT), CAST(:numberOfTests AS INTEGER))) " +
+            "S(TURRET_LOCATION, NUMBER_OF_TESTS) " +
+            "ON T.TURRET_LOCATION = S.TURRET_LOCATION " +
+            "WHEN MATCHED THEN UPDATE SET NUMBER_OF_TESTS = T.NUMBER_OF_TESTS + S.NUMBER_OF_TESTS " +
+            "WHEN NOT MATCHED THEN INSERT (TURRET_LOCATION, NUMBER_OF_TESTS) VALUES (S.TURRET_LOCATION, S.NUMBER_OF_TESTS))";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * @return number of times the turret has been tested, including this run
+     */
+    public Mono<Integer> incrementNumberOfTests(TurretLocation turretLocation) {
+        return addNumberOfTests(turretLocation, 1);
+    }
+
+    /**
+     * Adds several tests to the test count of a turret in a single auto-committed statement.
+     * Like the blocking repository, a duplicate key violation from a race to create the row is retried once.
+     * @return number of times the turret has been tested, including the added tests
+     */
+    public Mono<Integer> addNumberOfTests(TurretLocation turretLocation, int numberOfTests) {
+        return mergeAddNumberOfTests(turretLocation, numberOfTests)
+                .onErrorResume(DataIntegrityViolationException.class,
+                        e -> mergeAddNumberOfTests(turretLocation, numberOfTests));
+    }
+
+    private Mono<Integer> mergeAddNumberOfTests(TurretLocation turretLocation, int numberOfTests) {
+        return databaseClient.sql(MERGE_ADD_NUMBER_OF_TESTS)
+                .bind("turretLocation", turretLocation.ordinal())
+                .bind("numberOfTests", numberOfTests)
+                .map(row -> row.get(0, Integer.class))
+                .one();
+    }
+}
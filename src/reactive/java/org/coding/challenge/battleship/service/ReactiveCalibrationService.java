@@ -0,0 +1,12 @@
+package org.coding.challenge.battleship.service;
+
+import org.coding.challenge.battleship.dto.RunResponse;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveCalibrationService {
+
+    Mono<Void> settings(SettingsRequest settingsRequest);
+
+    Mono<RunResponse> run();
+}
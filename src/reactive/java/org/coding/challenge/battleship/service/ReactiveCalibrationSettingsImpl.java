@@ -0,0 +1,99 @@
+package org.coding.challenge.battleship.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.coding.challenge.battleship.dto.RunResponse;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.metrics.CalibrationMetrics;
+import org.coding.challenge.battleship.metrics.CalibrationMetrics.Outcome;
+import org.coding.challenge.battleship.pending.PendingSetting;
+import org.coding.challenge.battleship.pending.PendingSettingStore;
+import org.coding.challenge.battleship.repository.ReactiveCalibrationSettingsRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveCalibrationSettingsImpl implements ReactiveCalibrationService {
+
+    private final CalibrationService calibrationService;
+    private final ReactiveCalibrationSettingsRepository reactiveCalibrationSettingsRepository;
+    private final PendingSettingStore pendingSettingStore;
+    private final CalibrationMetrics calibrationMetrics;
+    private final RunRecorder runRecorder;
+
+    public ReactiveCalibrationSettingsImpl(CalibrationService calibrationService,
+                                           ReactiveCalibrationSettingsRepository reactiveCalibrationSettingsRepository,
+                                           PendingSettingStore pendingSettingStore,
+                                           CalibrationMetrics calibrationMetrics, RunRecorder runRecorder,
+                                           @Value("${battleship-calibration.counter.mode}") String counterMode) {
+        if (!"direct".equals(counterMode)) {
+            throw new IllegalArgumentException("The reactive build needs battleship-calibration.counter.mode=direct");
+        }
+        this.calibrationService = calibrationService;
+        this.reactiveCalibrationSettingsRepository = reactiveCalibrationSettingsRepository;
+        this.pendingSettingStore = pendingSettingStore;
+        this.calibrationMetrics = calibrationMetrics;
+        this.runRecorder = runRecorder;
+    }
+
+
+    /**
+     * Same as CalibrationSettingsImpl.settings, on a bounded elastic thread,
+     * as the shared settings mode offers the setting with JDBC.
+     */
+    @Override
+    public Mono<Void> settings(SettingsRequest settingsRequest) {
+        return Mono.<Void>fromRunnable(() -> calibrationService.settings(settingsRequest))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+
+    /**
+     * Same as CalibrationSettingsImpl.run, with the test count incremented through R2DBC, so no thread waits
+     * for the database. Once counted, the run is recorded and published by the same {@link RunRecorder}.
+     * The setting is claimed when the run is subscribed, and put back if the increment fails.
+     * Claiming and putting back may use JDBC in the shared settings mode, so they run on a bounded elastic thread.
+     * The counter modes other than direct are not available in the reactive build, which fails to start with them.
+     */
+    @Override
+    public Mono<RunResponse> run() {
+        return Mono.defer(() -> {
+            var start = System.nanoTime();
+            return Mono.fromCallable(pendingSettingStore::claim)
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .switchIfEmpty(Mono.defer(() -> {
+                        calibrationMetrics.recordRun(null, Outcome.NO_SETTINGS, start);
+                        return Mono.error(new IllegalArgumentException(
+                                "Calibration Settings do not exist. Please set it before running a test."));
+                    }))
+                    .flatMap(pendingSetting -> run(pendingSetting, start));
+        });
+    }
+
+    private Mono<RunResponse> run(PendingSetting pendingSetting, long start) {
+        var turretLocation = pendingSetting.turretLocation();
+        if (turretLocation == null) {
+            // never counted, so dropped rather than put back, like in CalibrationSettingsImpl.run
+            calibrationMetrics.recordRun(null, Outcome.ERROR, start);
+            return Mono.error(new IllegalArgumentException(
+                    "Calibration Settings have no turret location, so they were dropped."));
+        }
+        log.debug("Started running turret setting on turret {}", turretLocation);
+
+        return reactiveCalibrationSettingsRepository.incrementNumberOfTests(turretLocation)
+                .doOnError(e -> calibrationMetrics.recordRun(turretLocation, Outcome.ERROR, start))
+                .onErrorResume(e -> Mono.fromRunnable(() -> pendingSettingStore.restore(pendingSetting))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .then(Mono.error(e)))
+                .map(numberOfTests -> {
+                    var runResponse = runRecorder.record(pendingSetting, numberOfTests);
+                    calibrationMetrics.recordRun(turretLocation, Outcome.SUCCESS, start);
+                    log.debug("Run Response for turret {} is {}", turretLocation, runResponse);
+                    return runResponse;
+                });
+    }
+}
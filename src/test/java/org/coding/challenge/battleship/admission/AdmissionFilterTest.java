@@ -0,0 +1,138 @@
+package org.coding.challenge.battleship.admission;
+
+import org.coding.challenge.battleship.dto.AdmissionLimits;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AdmissionFilterTest {
+
+    /**
+     * GIVEN a rate of 1 request per second with bursts of 2 per turret
+     * WHEN the Bow turret sends 3 settings at once, then the Stern turret sends one
+     * THEN the third Bow request is refused with 429 without reaching the controller, and Stern is still admitted
+     */
+    @Test
+    public void givenFloodingTurret_whenOverItsRate_thenRefusedWithoutReachingController() throws Exception {
+        var admissionControl = new AdmissionControl(new TurretRateLimiter(1, 2),
+                new AdaptiveConcurrencyLimiter(16, 1, 16, 1000));
+        var admissionFilter = new AdmissionFilter(admissionControl);
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(filter(admissionFilter, "PUT", "/calibration/settings", "Bow").chain.getRequest()).isNotNull();
+        }
+        var refused = filter(admissionFilter, "PUT", "/calibration/settings", "bow");
+        assertThat(refused.chain.getRequest()).isNull();
+        assertThat(refused.response.getStatus()).isEqualTo(429);
+        assertThat(refused.response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(refused.response.getContentAsString())
+                .isEqualTo("{\"error\":\"Too many calibration requests for turret Bow. Please retry later.\"}");
+
+        assertThat(filter(admissionFilter, "POST", "/calibration/run", "Stern").chain.getRequest()).isNotNull();
+        assertThat(admissionControl.rejectedByTurretRate(TurretLocation.Bow)).isEqualTo(1);
+        assertThat(admissionControl.rejectedByTurretRate(TurretLocation.Stern)).isZero();
+        assertThat(admissionControl.inFlight()).isZero();
+    }
+
+    /**
+     * GIVEN a concurrency limit of 2 with 2 requests in flight
+     * WHEN a third request arrives, and requests to other endpoints arrive
+     * THEN the third request is refused with 429, and the other endpoints are not filtered
+     */
+    @Test
+    public void givenConcurrencyLimitReached_whenRequest_thenRefused() throws Exception {
+        var admissionControl = new AdmissionControl(new TurretRateLimiter(0, 1),
+                new AdaptiveConcurrencyLimiter(2, 2, 2, 1000));
+        var admissionFilter = new AdmissionFilter(admissionControl);
+        assertThat(admissionControl.acquireConcurrency()).isTrue();
+        assertThat(admissionControl.acquireConcurrency()).isTrue();
+
+        var refused = filter(admissionFilter, "POST", "/calibration/run/batch", null);
+        assertThat(refused.chain.getRequest()).isNull();
+        assertThat(refused.response.getStatus()).isEqualTo(429);
+        assertThat(refused.response.getContentAsString())
+                .isEqualTo("{\"error\":\"Calibration is overloaded. Please retry later.\"}");
+        assertThat(admissionControl.rejectedByConcurrency()).isEqualTo(1);
+
+        assertThat(filter(admissionFilter, "GET", "/calibration/settings", null).chain.getRequest()).isNotNull();
+        assertThat(filter(admissionFilter, "POST", "/calibration/runs", null).chain.getRequest()).isNotNull();
+        assertThat(filter(admissionFilter, "POST", "/calibration/tolerance", null).chain.getRequest()).isNotNull();
+    }
+
+    /**
+     * GIVEN a concurrency limit of 100 between 10 and 200, and a target latency of 10 ms
+     * WHEN runs take 50 ms, then a while later runs take 1 ms with the limit in use
+     * THEN the limit shrinks by 10% at most once per target latency, then grows back by about one per limit runs
+     */
+    @Test
+    public void givenRunLatency_whenRelease_thenLimitAdapts() {
+        var limiter = new AdaptiveConcurrencyLimiter(100, 10, 200, 10);
+        var now = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(50), now);
+        }
+        assertThat(limiter.limit()).isEqualTo(90);
+
+        now += TimeUnit.MILLISECONDS.toNanos(10);
+        assertThat(limiter.tryAcquire()).isTrue();
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(50), now);
+        assertThat(limiter.limit()).isEqualTo(81);
+
+        for (int i = 0; i < 81; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+        for (int i = 0; i < 41; i++) {
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(1), now);
+        }
+        assertThat(limiter.limit()).isEqualTo(81); // grown by about 41 / 81
+        for (int i = 0; i < 40; i++) {
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(1), now);
+        }
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    /**
+     * GIVEN the admission control
+     * WHEN replace its limits with valid then invalid ones
+     * THEN the valid limits are applied, and the invalid ones are refused without changing anything
+     */
+    @Test
+    public void givenLimits_whenUpdate_thenAppliedOrRefused() {
+        var admissionControl = new AdmissionControl(new TurretRateLimiter(1000, 200),
+                new AdaptiveConcurrencyLimiter(64, 4, 512, 50));
+
+        admissionControl.update(new AdmissionLimits(10, 5, 2, 8, 20));
+        assertThat(admissionControl.limits()).isEqualTo(new AdmissionLimits(10, 5, 2, 8, 20));
+        assertThat(admissionControl.concurrencyLimit()).isEqualTo(8);
+
+        assertThrows(IllegalArgumentException.class, () -> admissionControl.update(new AdmissionLimits(-1, 5, 2, 8, 20)));
+        assertThrows(IllegalArgumentException.class, () -> admissionControl.update(new AdmissionLimits(10, 5, 9, 8, 20)));
+        assertThrows(IllegalArgumentException.class, () -> admissionControl.update(new AdmissionLimits(10, 5, 2, 8, 0)));
+        assertThat(admissionControl.limits()).isEqualTo(new AdmissionLimits(10, 5, 2, 8, 20));
+    }
+
+    private static Exchange filter(AdmissionFilter admissionFilter, String method, String path, String turret)
+            throws Exception {
+        var request = new MockHttpServletRequest(method, path);
+        if (turret != null) {
+            request.addHeader(AdmissionFilter.TURRET_HEADER, turret);
+        }
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain();
+        admissionFilter.doFilter(request, response, chain);
+        return new Exchange(response, chain);
+    }
+
+    private record Exchange(MockHttpServletResponse response, MockFilterChain chain) {
+    }
+}
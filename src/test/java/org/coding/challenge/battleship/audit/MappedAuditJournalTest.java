@@ -0,0 +1,145 @@
+package org.coding.challenge.battleship.audit;
+
+import org.coding.challenge.battleship.dto.AuditEvent;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MappedAuditJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * GIVEN settings and runs recorded on both turrets
+     * WHEN query the Bow turret
+     * THEN return the settings and the run of the Bow turret, oldest first, with their fields
+     */
+    @Test
+    public void givenSettingsAndRuns_whenQueryTurret_thenReturnItsEvents() throws Exception {
+        var auditJournal = open(16, 4);
+        auditJournal.recordSettings(createSettingsRequest(TurretLocation.Bow, 20, 120, 3));
+        auditJournal.recordSettings(createSettingsRequest(TurretLocation.Stern, 10, 20, 1));
+        auditJournal.recordRun(TurretLocation.Bow, 300, 7);
+
+        var auditEvents = auditJournal.query(TurretLocation.Bow, null, null, 10);
+
+        assertThat(auditEvents).hasSize(2);
+        assertThat(auditEvents.get(0).getEvent()).isEqualTo("settings");
+        assertThat(auditEvents.get(0).getCaliber()).isEqualTo(110L);
+        assertThat(auditEvents.get(0).getRotationStartPoint()).isEqualTo(20L);
+        assertThat(auditEvents.get(0).getRotationEndPoint()).isEqualTo(120L);
+        assertThat(auditEvents.get(0).getRotations()).isEqualTo(3);
+        assertThat(auditEvents.get(0).getDistanceInDegrees()).isEqualTo(300L);
+        assertThat(auditEvents.get(1).getEvent()).isEqualTo("run");
+        assertThat(auditEvents.get(1).getLocation()).isEqualTo(TurretLocation.Bow);
+        assertThat(auditEvents.get(1).getNumberOfTests()).isEqualTo(7);
+        assertThat(auditEvents.get(1).getDistanceInDegrees()).isEqualTo(300L);
+    }
+
+    /**
+     * GIVEN more runs than fit in the kept segments, over two starts of the application
+     * WHEN query every event
+     * THEN old segments are deleted and the events of the kept segments are returned in order
+     */
+    @Test
+    public void givenRolledSegmentsAndRestart_whenQuery_thenReturnEventsOfKeptSegments() throws Exception {
+        var auditJournal = open(4, 3);
+        for (int run = 1; run <= 10; run++) {
+            auditJournal.recordRun(TurretLocation.Stern, 10, run);
+        }
+        auditJournal.close();
+
+        auditJournal = open(4, 3);
+        auditJournal.recordRun(TurretLocation.Stern, 10, 11);
+
+        try (var segments = Files.list(tempDir)) {
+            assertThat(segments.count()).isEqualTo(3);
+        }
+        var numberOfTests = auditJournal.query(null, null, null, 100).stream()
+                .map(AuditEvent::getNumberOfTests)
+                .toList();
+        assertThat(numberOfTests).containsExactly(5, 6, 7, 8, 9, 10, 11);
+    }
+
+    /**
+     * GIVEN a record claimed at the start of a segment and written only after the journal rolled to the next one
+     * WHEN query every event before and after it is written
+     * THEN the records after the unwritten one are returned, and the late record once it is written
+     */
+    @Test
+    public void givenUnwrittenRecordInRolledSegment_whenQuery_thenLaterRecordsAreReturned() throws Exception {
+        var auditJournal = open(4, 4);
+        var late = auditJournal.claim();
+        for (int run = 1; run <= 6; run++) {
+            auditJournal.recordRun(TurretLocation.Stern, 10, run);
+        }
+
+        assertThat(auditJournal.query(null, null, null, 100).stream().map(AuditEvent::getNumberOfTests))
+                .containsExactly(1, 2, 3, 4, 5, 6);
+
+        auditJournal.recordRun(late, TurretLocation.Stern, 10, 0);
+        assertThat(auditJournal.query(null, null, null, 100).stream().map(AuditEvent::getNumberOfTests))
+                .containsExactly(0, 1, 2, 3, 4, 5, 6);
+    }
+
+    /**
+     * GIVEN a record claimed in a segment that the retention deleted before the record was written
+     * WHEN the record is written
+     * THEN it is dropped, and the deleted segment is not created again
+     */
+    @Test
+    public void givenSegmentDeletedByRetention_whenLateWrite_thenSegmentIsNotCreatedAgain() throws Exception {
+        var auditJournal = open(2, 2);
+        var late = auditJournal.claim();
+        for (int run = 1; run <= 5; run++) {
+            auditJournal.recordRun(TurretLocation.Bow, 10, run);
+        }
+        var deletedSegment = tempDir.resolve("audit-000000000000.seg");
+        assertThat(deletedSegment).doesNotExist();
+
+        auditJournal.recordRun(late, TurretLocation.Bow, 10, 0);
+
+        assertThat(deletedSegment).doesNotExist();
+        assertThat(auditJournal.query(null, null, null, 100).stream().map(AuditEvent::getNumberOfTests))
+                .containsExactly(2, 3, 4, 5);
+    }
+
+    /**
+     * GIVEN a run recorded now
+     * WHEN query a time range that ended before it
+     * THEN return no event
+     */
+    @Test
+    public void givenRun_whenQueryEarlierTimeRange_thenReturnNothing() throws Exception {
+        var auditJournal = open(16, 4);
+        var before = Instant.now().minusSeconds(60);
+        auditJournal.recordRun(TurretLocation.Bow, 300, 1);
+
+        assertThat(auditJournal.query(null, before.minusSeconds(60), before, 10)).isEmpty();
+        assertThat(auditJournal.query(null, before, null, 10)).hasSize(1);
+    }
+
+    private MappedAuditJournal open(int segmentRecords, int maxSegments) throws Exception {
+        var auditJournal = new MappedAuditJournal(tempDir.toString(), segmentRecords, maxSegments);
+        auditJournal.open();
+        return auditJournal;
+    }
+
+    private SettingsRequest createSettingsRequest(TurretLocation turretLocation, int rotationStartPoint, int rotationEndPoint, int rotations) {
+        var settingsRequest = new SettingsRequest();
+        settingsRequest.setCaliber(110);
+        settingsRequest.setLocation(turretLocation);
+        settingsRequest.setRotationStartPoint(rotationStartPoint);
+        settingsRequest.setRotationEndPoint(rotationEndPoint);
+        settingsRequest.setRotations(rotations);
+        return settingsRequest;
+    }
+}
@@ -0,0 +1,113 @@
+package org.coding.challenge.battleship.campaign;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.coding.challenge.battleship.dto.CampaignStats;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.repository.CalibrationCampaignRepository;
+import org.coding.challenge.battleship.service.CalibrationService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CampaignSchedulerTest {
+
+    /**
+     * GIVEN a stored campaign of 3 settings every 50 ms
+     * WHEN the application is ready
+     * THEN it runs batches of 3 settings on its own, counted in its stats and metrics, until it is deleted
+     */
+    @Test
+    public void givenStoredCampaign_whenReady_thenRunsBatchesUntilDeleted() throws Exception {
+        var calibrationCampaignRepository = mock(CalibrationCampaignRepository.class);
+        var calibrationService = mock(CalibrationService.class);
+        var meterRegistry = new SimpleMeterRegistry();
+        var campaign = new Campaign("bow-sweep", settingsRequest(), 50, 3, Instant.now());
+        when(calibrationCampaignRepository.findAll()).thenReturn(List.of(campaign));
+        when(calibrationCampaignRepository.delete("bow-sweep")).thenReturn(true);
+        var campaignScheduler = new CampaignScheduler(calibrationCampaignRepository, calibrationService,
+                meterRegistry, 4, 0);
+
+        campaignScheduler.start();
+        try {
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (campaignScheduler.campaigns().getFirst().getRuns() < 6 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            verify(calibrationService, atLeast(2))
+                    .runBatch(List.of(settingsRequest(), settingsRequest(), settingsRequest()));
+            var stats = campaignScheduler.campaigns().getFirst();
+            assertThat(stats.getName()).isEqualTo("bow-sweep");
+            assertThat(stats.getRuns()).isGreaterThanOrEqualTo(6);
+            assertThat(stats.getRuns() % 3).isZero();
+            assertThat(stats.getFailedRuns()).isZero();
+            assertThat(stats.getNextRunAt()).isAfter(campaign.createdAt());
+            assertThat(meterRegistry.get("calibration.campaign.runs").tag("campaign", "bow-sweep")
+                    .tag("outcome", "success").counter().count()).isGreaterThanOrEqualTo(6);
+
+            assertThat(campaignScheduler.delete("bow-sweep")).isTrue();
+            assertThat(meterRegistry.find("calibration.campaign.runs").counters()).isEmpty();
+        } finally {
+            campaignScheduler.shutdown();
+        }
+    }
+
+    /**
+     * GIVEN 3 campaigns due at once in 100 ms and at most 1 concurrent run
+     * WHEN their runs block
+     * THEN only one of them runs at a time, and the others wait for it
+     */
+    @Test
+    public void givenConcurrencyCap_whenCampaignsDue_thenRunOneAtATime() throws Exception {
+        var calibrationCampaignRepository = mock(CalibrationCampaignRepository.class);
+        var calibrationService = mock(CalibrationService.class);
+        var createdAt = Instant.now().minusMillis(60_000 - 100);
+        when(calibrationCampaignRepository.findAll()).thenReturn(List.of(
+                new Campaign("a", settingsRequest(), 60_000, 1, createdAt),
+                new Campaign("b", settingsRequest(), 60_000, 1, createdAt),
+                new Campaign("c", settingsRequest(), 60_000, 1, createdAt)));
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        var runs = new CountDownLatch(3);
+        when(calibrationService.runBatch(anyList())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            runs.countDown();
+            return List.of();
+        });
+        var campaignScheduler = new CampaignScheduler(calibrationCampaignRepository, calibrationService,
+                new SimpleMeterRegistry(), 1, 0);
+
+        campaignScheduler.start();
+        try {
+            assertThat(runs.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(maxRunning.get()).isEqualTo(1);
+            assertThat(campaignScheduler.campaigns()).extracting(CampaignStats::getMaxLagMs)
+                    .anySatisfy(lagMs -> assertThat(lagMs).isGreaterThanOrEqualTo(50));
+        } finally {
+            campaignScheduler.shutdown();
+        }
+    }
+
+    private static SettingsRequest settingsRequest() {
+        var settingsRequest = new SettingsRequest();
+        settingsRequest.setLocation(TurretLocation.Bow);
+        settingsRequest.setCaliber(110);
+        settingsRequest.setRotationStartPoint(20);
+        settingsRequest.setRotationEndPoint(120);
+        settingsRequest.setRotations(3);
+        return settingsRequest;
+    }
+}
@@ -0,0 +1,84 @@
+package org.coding.challenge.battleship.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SettingsRequestHttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final SettingsRequestHttpMessageConverter converter = new SettingsRequestHttpMessageConverter(objectMapper);
+
+    /**
+     * GIVEN a plain settings request body, with its fields in any order and an unknown field
+     * WHEN read it
+     * THEN it is read by the streaming parser, into the same settings request as the ObjectMapper
+     */
+    @Test
+    public void givenPlainBody_whenRead_thenReadWithoutDataBinding() throws Exception {
+        var body = "{\"rotations\":3,\"unknown\":{\"nested\":[1,2]},\"location\":\"Stern\",\"rotation_end_point\":120,"
+                + "\"caliber\":110,\"rotation_start_point\":20}";
+
+        assertThat(converter.read(bytes(body))).isEqualTo(createSettingsRequest(110, TurretLocation.Stern, 20, 120, 3));
+        assertThat(read(body)).isEqualTo(objectMapper.readValue(body, SettingsRequest.class));
+    }
+
+    /**
+     * GIVEN bodies that need a coercion of the ObjectMapper
+     * WHEN read them
+     * THEN they are handed to the ObjectMapper and read like before
+     */
+    @Test
+    public void givenBodiesNeedingCoercion_whenRead_thenReadByObjectMapper() throws Exception {
+        for (var body : List.of(
+                "{\"caliber\":\"110\",\"location\":\"Bow\",\"rotation_start_point\":20,\"rotation_end_point\":120,\"rotations\":3}",
+                "{\"caliber\":110.0,\"location\":null,\"rotation_start_point\":20,\"rotation_end_point\":120,\"rotations\":3}",
+                "{\"caliber\":110,\"location\":1,\"rotation_start_point\":20,\"rotation_end_point\":120,\"rotations\":3}")) {
+            assertThat(converter.read(bytes(body))).as(body).isNull();
+            assertThat(read(body)).as(body).isEqualTo(objectMapper.readValue(body, SettingsRequest.class));
+        }
+    }
+
+    /**
+     * GIVEN a body with an unknown location
+     * WHEN read it
+     * THEN fail with the message of the ObjectMapper
+     */
+    @Test
+    public void givenUnknownLocation_whenRead_thenFailLikeObjectMapper() {
+        var body = "{\"caliber\":150,\"location\":\"Front\",\"rotation_start_point\":100,\"rotation_end_point\":99,\"rotations\":9}";
+
+        assertThatThrownBy(() -> read(body))
+                .isInstanceOf(HttpMessageNotReadableException.class)
+                .hasMessageContaining("Cannot deserialize value of type `org.coding.challenge.battleship.enums.TurretLocation`");
+    }
+
+    private SettingsRequest read(String body) throws Exception {
+        return converter.read(SettingsRequest.class, new MockHttpInputMessage(bytes(body)));
+    }
+
+    private static byte[] bytes(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private SettingsRequest createSettingsRequest(long caliber, TurretLocation turretLocation, long rotationStartPoint,
+                                                  long rotationEndPoint, int rotations) {
+        var settingsRequest = new SettingsRequest();
+        settingsRequest.setCaliber(caliber);
+        settingsRequest.setLocation(turretLocation);
+        settingsRequest.setRotationStartPoint(rotationStartPoint);
+        settingsRequest.setRotationEndPoint(rotationEndPoint);
+        settingsRequest.setRotations(rotations);
+        return settingsRequest;
+    }
+}
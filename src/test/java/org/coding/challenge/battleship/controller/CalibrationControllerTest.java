@@ -2,21 +2,32 @@ package org.coding.challenge.battleship.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.coding.challenge.battleship.config.BinaryWireFormatConfiguration;
+import org.coding.challenge.battleship.config.SettingsRequestHttpMessageConverter;
+import org.coding.challenge.battleship.dto.RunResponse;
+import org.coding.challenge.battleship.metrics.CalibrationMetrics;
 import org.coding.challenge.battleship.service.CalibrationService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(CalibrationController.class)
+@Import({BinaryWireFormatConfiguration.class, SettingsRequestHttpMessageConverter.class})
 public class CalibrationControllerTest {
 
     @Autowired
@@ -25,6 +36,9 @@ public class CalibrationControllerTest {
     @MockitoBean
     private CalibrationService calibrationService;
 
+    @MockitoBean
+    private CalibrationMetrics calibrationMetrics;
+
     /**
      * GIVEN valid SettingsRequest
      * WHEN call /calibration/run
@@ -252,6 +266,81 @@ public class CalibrationControllerTest {
                 });
     }
 
+    /**
+     * GIVEN a batch with a valid and an invalid SettingsRequest
+     * WHEN call /calibration/run/batch
+     * THEN run the valid one and report the errors of the invalid one, in the order of the batch
+     */
+    @Test
+    public void testRunBatch_whenOneSettingsRequestIsInvalid() throws Exception {
+        when(calibrationService.runBatch(anyList())).thenReturn(List.of(RunResponse.builder()
+                .numberOfTests(1)
+                .distanceInDegrees(300)
+                .build()));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/calibration/run/batch")
+                        .accept("application/json")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\n" +
+                                "    \"caliber\": 150,\n" +
+                                "    \"location\": \"Stern\",\n" +
+                                "    \"rotation_start_point\": 20,\n" +
+                                "    \"rotation_end_point\": 120,\n" +
+                                "    \"rotations\": 3\n" +
+                                "}, {\n" +
+                                "    \"caliber\": 101,\n" +
+                                "    \"location\": \"Bow\",\n" +
+                                "    \"rotation_start_point\": 20,\n" +
+                                "    \"rotation_end_point\": 120,\n" +
+                                "    \"rotations\": 3\n" +
+                                "}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].result.distance_in_degrees").value(300))
+                .andExpect(jsonPath("$[0].errors").doesNotExist())
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].errors.caliber").value("Minimum value of caliber is 102"))
+                .andExpect(jsonPath("$[1].result").doesNotExist());
+    }
+
+    /**
+     * GIVEN a valid and then an invalid SettingsRequest encoded in CBOR
+     * WHEN call /calibration/settings and /calibration/run accepting CBOR
+     * THEN the run response and the validation errors are encoded in CBOR with the same snake_case names as JSON
+     */
+    @Test
+    public void testCborContentNegotiation() throws Exception {
+        var cborMapper = new CBORMapper();
+        when(calibrationService.run()).thenReturn(RunResponse.builder()
+                .numberOfTests(1)
+                .distanceInDegrees(300)
+                .build());
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/calibration/settings")
+                        .contentType("application/cbor")
+                        .content(cborMapper.writeValueAsBytes(Map.of("caliber", 150, "location", "Stern",
+                                "rotation_start_point", 20, "rotation_end_point", 120, "rotations", 3))))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(MockMvcRequestBuilders.post("/calibration/run")
+                        .accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(result -> {
+                    assertThat(result.getResponse().getContentType()).isEqualTo("application/cbor");
+                    Map<String, Object> runResponse = cborMapper.readValue(result.getResponse().getContentAsByteArray(), Map.class);
+                    assertThat(runResponse).containsEntry("distance_in_degrees", 300).containsEntry("number_of_tests", 1);
+                });
+        mockMvc.perform(MockMvcRequestBuilders.put("/calibration/settings")
+                        .accept("application/cbor")
+                        .contentType("application/cbor")
+                        .content(cborMapper.writeValueAsBytes(Map.of("caliber", 101, "location", "Stern",
+                                "rotation_start_point", 20, "rotation_end_point", 120, "rotations", 3))))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> {
+                    Map<String, String> errors = cborMapper.readValue(result.getResponse().getContentAsByteArray(), Map.class);
+                    assertThat(errors.get("caliber")).isEqualTo("Minimum value of caliber is 102");
+                });
+    }
+
     private Map<String, String> parseJson(String json) throws JsonProcessingException {
         var objectMapper = new ObjectMapper();
         Map<String, String> errors = objectMapper.readValue(json, Map.class);
@@ -0,0 +1,72 @@
+package org.coding.challenge.battleship.controller;
+
+import org.coding.challenge.battleship.dto.RunResponse;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.events.SseCalibrationEventPublisher;
+import org.coding.challenge.battleship.metrics.CalibrationMetrics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@WebMvcTest(controllers = CalibrationEventController.class, properties = "battleship-calibration.events.enabled=true")
+@Import(SseCalibrationEventPublisher.class)
+public class CalibrationEventControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SseCalibrationEventPublisher sseCalibrationEventPublisher;
+
+    @MockitoBean
+    private CalibrationMetrics calibrationMetrics;
+
+    /**
+     * GIVEN two subscribers of /calibration/events
+     * WHEN a run is published
+     * THEN both of them receive it as a run event tagged with its turret
+     */
+    @Test
+    public void givenSubscribers_whenPublishRun_thenEverySubscriberReceivesIt() throws Exception {
+        var first = subscribe();
+        var second = subscribe();
+        assertThat(sseCalibrationEventPublisher.subscribers()).isEqualTo(2);
+
+        sseCalibrationEventPublisher.publishRun(TurretLocation.Bow, RunResponse.builder()
+                .distanceInDegrees(300)
+                .numberOfTests(7)
+                .build());
+
+        for (var result : new MvcResult[]{first, second}) {
+            var content = awaitContent(result, "number_of_tests");
+            assertThat(content).contains("event:run");
+            assertThat(content).contains("\"location\":\"Bow\"");
+            assertThat(content).contains("\"distance_in_degrees\":300");
+            assertThat(content).contains("\"number_of_tests\":7");
+        }
+    }
+
+    private MvcResult subscribe() throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.get("/calibration/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private String awaitContent(MvcResult result, String expected) throws Exception {
+        var deadline = System.nanoTime() + 5_000_000_000L;
+        var content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        return content;
+    }
+}
@@ -0,0 +1,108 @@
+package org.coding.challenge.battleship.controller;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:http-pinning;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "battleship-calibration.audit.enabled=false",
+        "battleship-calibration.admission.enabled=false",
+        "battleship-calibration.warmup.enabled=false",
+        "battleship-calibration.campaign.enabled=false",
+        "battleship-calibration.cors.ui=*"})
+public class CalibrationPinningTest {
+
+    private static final int CLIENTS = 100;
+    private static final int RUNS_PER_CLIENT = 10;
+    private static final String SETTINGS = "{\"caliber\":110,\"location\":\"Bow\",\"rotation_start_point\":20,"
+            + "\"rotation_end_point\":120,\"rotations\":3}";
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    /**
+     * GIVEN Tomcat serving requests on virtual threads with a pool of 2 connections
+     * WHEN 100 clients PUT /calibration/settings and POST /calibration/run at the same time
+     * THEN no virtual thread blocks while pinned to its carrier anywhere on the settings and run paths
+     */
+    @Test
+    public void givenVirtualThreads_whenSettingsAndRunOverHttp_thenNoCarrierIsPinned() throws Exception {
+        // warm up first, so that class initialization is not reported
+        for (int i = 0; i < 50; i++) {
+            settingsAndRun();
+        }
+
+        List<RecordedEvent> pinnedEvents = new CopyOnWriteArrayList<>();
+        try (var recordingStream = new RecordingStream()) {
+            recordingStream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recordingStream.onEvent("jdk.VirtualThreadPinned", pinnedEvents::add);
+            recordingStream.startAsync();
+
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>(CLIENTS);
+                for (int client = 0; client < CLIENTS; client++) {
+                    futures.add(executor.submit(() -> {
+                        for (int run = 0; run < RUNS_PER_CLIENT; run++) {
+                            settingsAndRun();
+                        }
+                        return null;
+                    }));
+                }
+                for (var future : futures) {
+                    future.get();
+                }
+            }
+            recordingStream.stop();
+        }
+
+        assertThat(pinnedEvents)
+                .withFailMessage(() -> "Pinned virtual threads:\n" + pinnedEvents.stream()
+                        .map(event -> event.getStackTrace() == null ? "?" : event.getStackTrace().getFrames().stream()
+                                .limit(24)
+                                .map(frame -> "  " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                                .collect(Collectors.joining("\n")))
+                        .collect(Collectors.joining("\n--\n")))
+                .isEmpty();
+    }
+
+    /**
+     * Another client may claim the setting first, so the run may find none.
+     */
+    private void settingsAndRun() throws Exception {
+        var settings = httpClient.send(HttpRequest.newBuilder(uri("/calibration/settings"))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(SETTINGS))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        assertThat(settings.statusCode()).isEqualTo(202);
+        var run = httpClient.send(HttpRequest.newBuilder(uri("/calibration/run"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build(), HttpResponse.BodyHandlers.discarding());
+        assertThat(run.statusCode()).isIn(200, 400);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,73 @@
+package org.coding.challenge.battleship.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "battleship-calibration.settings.mode=queued",
+        "spring.datasource.url=jdbc:h2:mem:queued-settings-mode;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "battleship-calibration.cors.ui=*"})
+@AutoConfigureMockMvc
+public class QueuedSettingsModeTest {
+
+    private static final String WITHOUT_LOCATION = "{\"caliber\":110,\"rotation_start_point\":20,"
+            + "\"rotation_end_point\":120,\"rotations\":3}";
+    private static final String BOW = "{\"caliber\":110,\"location\":\"Bow\",\"rotation_start_point\":20,"
+            + "\"rotation_end_point\":120,\"rotations\":3}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * GIVEN the queued settings mode, with a setting without a location queued before a Bow setting
+     * WHEN call /calibration/run/pending twice
+     * THEN the first call runs the Bow setting and drops the other one, and the second call has nothing to run
+     */
+    @Test
+    public void givenSettingWithoutLocation_whenRunPending_thenDroppedAndOthersRun() throws Exception {
+        putSettings(WITHOUT_LOCATION);
+        putSettings(BOW);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/calibration/run/pending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].distance_in_degrees").value(300));
+        mockMvc.perform(MockMvcRequestBuilders.post("/calibration/run/pending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    /**
+     * GIVEN the queued settings mode, with only a setting without a location queued
+     * WHEN call /calibration/run twice
+     * THEN the first call is refused and drops the setting, so the second one finds no setting
+     */
+    @Test
+    public void givenSettingWithoutLocation_whenRun_thenDroppedNotRequeued() throws Exception {
+        putSettings(WITHOUT_LOCATION);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/calibration/run"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Calibration Settings have no turret location, so they were dropped."));
+        mockMvc.perform(MockMvcRequestBuilders.post("/calibration/run"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Calibration Settings do not exist. Please set it before running a test."));
+    }
+
+    private void putSettings(String body) throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.put("/calibration/settings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isAccepted());
+    }
+}
@@ -0,0 +1,130 @@
+package org.coding.challenge.battleship.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.coding.challenge.battleship.dto.RunHistoryEntry;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.repository.RunHistoryRepository;
+import org.coding.challenge.battleship.service.RunHistoryServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = RunHistoryController.class, properties = "battleship-calibration.history.export-chunk-size=10")
+@AutoConfigureJdbc
+@AutoConfigureTestDatabase
+@Import({RunHistoryServiceImpl.class, RunHistoryRepository.class})
+public class RunHistoryControllerTest {
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+    private static final int RUNS = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RunHistoryRepository runHistoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    public void insertRuns() {
+        List<RunHistoryEntry> runs = new ArrayList<>(RUNS);
+        for (int run = 1; run <= RUNS; run++) {
+            runs.add(RunHistoryEntry.builder()
+                    .time(START.plusSeconds(run))
+                    .location(run % 2 == 1 ? TurretLocation.Bow : TurretLocation.Stern)
+                    .caliber(110)
+                    .distanceInDegrees(300)
+                    .numberOfTests(run)
+                    .build());
+        }
+        runHistoryRepository.insertAll(runs);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM RUN_HISTORY");
+    }
+
+    /**
+     * GIVEN 25 runs and an export chunk size of 10
+     * WHEN call /calibration/history/export?format=ndjson
+     * THEN stream every run exactly once, in id order, one JSON object per line
+     */
+    @Test
+    public void givenMoreRunsThanChunkSize_whenExportNdjson_thenEveryRunOnceInOrder() throws Exception {
+        var lines = export("ndjson");
+
+        assertThat(lines).hasSize(RUNS);
+        List<Long> ids = new ArrayList<>(RUNS);
+        List<Integer> numberOfTests = new ArrayList<>(RUNS);
+        for (var line : lines) {
+            var run = objectMapper.readTree(line);
+            ids.add(run.get("id").asLong());
+            numberOfTests.add(run.get("number_of_tests").asInt());
+        }
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(numberOfTests).containsExactlyElementsOf(expectedNumberOfTests());
+    }
+
+    /**
+     * GIVEN 25 runs and an export chunk size of 10
+     * WHEN call /calibration/history/export?format=csv
+     * THEN stream the header then every run exactly once, in id order, one row per line
+     */
+    @Test
+    public void givenMoreRunsThanChunkSize_whenExportCsv_thenEveryRunOnceInOrder() throws Exception {
+        var lines = export("csv");
+
+        assertThat(lines).hasSize(RUNS + 1);
+        assertThat(lines.get(0)).isEqualTo("id,time,location,caliber,distance_in_degrees,number_of_tests");
+        List<Long> ids = new ArrayList<>(RUNS);
+        List<Integer> numberOfTests = new ArrayList<>(RUNS);
+        for (var line : lines.subList(1, lines.size())) {
+            var columns = line.split(",");
+            ids.add(Long.parseLong(columns[0]));
+            numberOfTests.add(Integer.parseInt(columns[5]));
+        }
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(numberOfTests).containsExactlyElementsOf(expectedNumberOfTests());
+    }
+
+    private List<String> export(String format) throws Exception {
+        var mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/calibration/history/export")
+                        .param("format", format))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var response = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        return response.getContentAsString().lines().toList();
+    }
+
+    private static List<Integer> expectedNumberOfTests() {
+        List<Integer> numberOfTests = new ArrayList<>(RUNS);
+        for (int run = 1; run <= RUNS; run++) {
+            numberOfTests.add(run);
+        }
+        return numberOfTests;
+    }
+}
@@ -0,0 +1,80 @@
+package org.coding.challenge.battleship.counter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.metrics.CalibrationMetrics;
+import org.coding.challenge.battleship.repository.CalibrationSettingsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({DatabaseTurretTestCounter.class, CalibrationMetrics.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // every batch commits its own transaction, like a real batch
+public class DatabaseTurretTestCounterTest {
+
+    @Autowired
+    private DatabaseTurretTestCounter databaseTurretTestCounter;
+
+    @Autowired
+    private CalibrationSettingsRepository calibrationSettingsRepository;
+
+    @AfterEach
+    public void cleanUp() {
+        calibrationSettingsRepository.deleteAll();
+    }
+
+    /**
+     * GIVEN no test count exists for either turret, 20 times over
+     * WHEN 8 threads add tests to both turrets at the same time, racing to create their rows
+     * THEN every batch commits, no test is lost and every batch observes distinct totals
+     */
+    @Test
+    public void givenNoTestCounts_whenConcurrentFirstAdds_thenEveryBatchCommits() throws Exception {
+        var threads = 8;
+        try (var executor = Executors.newFixedThreadPool(threads)) {
+            for (int round = 0; round < 20; round++) {
+                calibrationSettingsRepository.deleteAll();
+                var start = new CountDownLatch(1);
+                List<Future<int[]>> futures = new ArrayList<>(threads);
+                for (int i = 0; i < threads; i++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        return databaseTurretTestCounter.add(new int[]{1, 2});
+                    }));
+                }
+                start.countDown();
+
+                Set<Integer> bowTotals = new HashSet<>();
+                Set<Integer> sternTotals = new HashSet<>();
+                for (var future : futures) {
+                    var totals = future.get();
+                    bowTotals.add(totals[TurretLocation.Bow.ordinal()]);
+                    sternTotals.add(totals[TurretLocation.Stern.ordinal()]);
+                }
+                assertThat(bowTotals).hasSize(threads);
+                assertThat(sternTotals).hasSize(threads);
+                assertThat(calibrationSettingsRepository.findCalibrationSettingByTurretLocation(TurretLocation.Bow))
+                        .hasValueSatisfying(calibrationSetting ->
+                                assertThat(calibrationSetting.getNumberOfTests()).isEqualTo(threads));
+                assertThat(calibrationSettingsRepository.findCalibrationSettingByTurretLocation(TurretLocation.Stern))
+                        .hasValueSatisfying(calibrationSetting ->
+                                assertThat(calibrationSetting.getNumberOfTests()).isEqualTo(2 * threads));
+            }
+        }
+    }
+}
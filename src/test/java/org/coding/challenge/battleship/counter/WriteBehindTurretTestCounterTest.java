@@ -0,0 +1,79 @@
+package org.coding.challenge.battleship.counter;
+
+import org.coding.challenge.battleship.entity.CalibrationSetting;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.repository.CalibrationSettingsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WriteBehindTurretTestCounterTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * GIVEN test counts that were journaled but never flushed to the database
+     * WHEN the application restarts
+     * THEN the counts are recovered from the journal
+     */
+    @Test
+    public void givenUnflushedCounts_whenRestart_thenRecoverFromJournal() throws Exception {
+        var calibrationSettingsRepository = mock(CalibrationSettingsRepository.class);
+        when(calibrationSettingsRepository.findAll()).thenReturn(List.of());
+        var journalPath = tempDir.resolve("turret-test-counter.journal").toString();
+
+        var crashed = new WriteBehindTurretTestCounter(calibrationSettingsRepository, journalPath);
+        crashed.recover();
+        crashed.increment(TurretLocation.Bow);
+        crashed.increment(TurretLocation.Bow);
+        crashed.increment(TurretLocation.Stern);
+
+        var restarted = new WriteBehindTurretTestCounter(calibrationSettingsRepository, journalPath);
+        restarted.recover();
+        try {
+            assertThat(restarted.increment(TurretLocation.Bow)).isEqualTo(3);
+            assertThat(restarted.increment(TurretLocation.Stern)).isEqualTo(2);
+        } finally {
+            restarted.shutdown();
+            crashed.shutdown();
+        }
+    }
+
+    /**
+     * GIVEN test counts in the database
+     * WHEN a turret is tested and the counts are flushed
+     * THEN only the changed turret is written with its new total
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenCountsInDatabase_whenFlush_thenWriteChangedTotals() throws Exception {
+        var calibrationSettingsRepository = mock(CalibrationSettingsRepository.class);
+        when(calibrationSettingsRepository.findAll()).thenReturn(List.of(
+                CalibrationSetting.builder().turretLocation(TurretLocation.Bow).numberOfTests(5).build(),
+                CalibrationSetting.builder().turretLocation(TurretLocation.Stern).numberOfTests(7).build()));
+
+        var counter = new WriteBehindTurretTestCounter(calibrationSettingsRepository,
+                tempDir.resolve("turret-test-counter.journal").toString());
+        counter.recover();
+        try {
+            assertThat(counter.increment(TurretLocation.Stern)).isEqualTo(8);
+            counter.flush();
+        } finally {
+            counter.shutdown();
+        }
+
+        ArgumentCaptor<List<CalibrationSetting>> flushed = ArgumentCaptor.forClass(List.class);
+        verify(calibrationSettingsRepository).saveAll(flushed.capture());
+        assertThat(flushed.getValue()).containsExactly(
+                CalibrationSetting.builder().turretLocation(TurretLocation.Stern).numberOfTests(8).build());
+    }
+}
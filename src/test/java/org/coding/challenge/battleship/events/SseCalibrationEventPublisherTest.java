@@ -0,0 +1,75 @@
+package org.coding.challenge.battleship.events;
+
+import org.coding.challenge.battleship.dto.RunResponse;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SseCalibrationEventPublisherTest {
+
+    /**
+     * GIVEN a subscriber with a buffer of 1 event, whose client does not read
+     * WHEN runs are published until its buffer overflows, then its client reads again
+     * THEN it is disconnected and its emitter is completed, so that its connection is closed
+     */
+    @Test
+    public void givenSlowSubscriber_whenBufferOverflows_thenEmitterCompleted() throws Exception {
+        var publisher = new SseCalibrationEventPublisher(Jackson2ObjectMapperBuilder.json().build(), 16, 1);
+        publisher.start();
+        try {
+            var emitter = new SlowEmitter();
+            publisher.subscribe(emitter);
+
+            var deadline = System.nanoTime() + 5_000_000_000L;
+            while (publisher.subscribers() > 0 && System.nanoTime() < deadline) {
+                publisher.publishRun(TurretLocation.Bow, RunResponse.builder()
+                        .distanceInDegrees(300)
+                        .numberOfTests(1)
+                        .build());
+                Thread.sleep(10);
+            }
+            assertThat(publisher.subscribers()).isZero();
+            assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+            emitter.reading.countDown();
+            assertThat(emitter.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            publisher.stop();
+        }
+    }
+
+    /**
+     * An emitter whose first send blocks until its client reads, like a write to a client that stopped reading.
+     */
+    private static final class SlowEmitter extends SseEmitter {
+
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch reading = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            sending.countDown();
+            try {
+                reading.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.coding.challenge.battleship.jfr;
+
+import jdk.jfr.Recording;
+import org.coding.challenge.battleship.dto.PhaseLatency;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CalibrationPhaseSummaryTest {
+
+    @TempDir
+    private Path directory;
+
+    /**
+     * GIVEN no recording enables the calibration phase event
+     * WHEN a phase begins
+     * THEN the event is disabled
+     */
+    @Test
+    public void givenNoRecording_whenBegin_thenDisabled() {
+        assertThat(CalibrationPhaseEvent.start().isEnabled()).isFalse();
+    }
+
+    /**
+     * GIVEN a recording of 2 Stern runs, one with a 20 ms simulation, a Bow run and a rejected settings request
+     * WHEN the recording is summarised for every turret and for Stern
+     * THEN the phases are grouped by endpoint, phase and outcome, the request time outside the phases is
+     * unattributed, and the Stern summary only has the Stern requests and phases
+     */
+    @Test
+    public void givenRecording_whenSummarize_thenLatencyByPhase() throws Exception {
+        var file = directory.resolve("calibration.jfr");
+        try (var recording = new Recording()) {
+            recording.enable(CalibrationPhaseEvent.NAME).withThreshold(Duration.ZERO).withoutStackTrace();
+            recording.start();
+            run(TurretLocation.Stern, 20);
+            run(TurretLocation.Stern, 0);
+            run(TurretLocation.Bow, 0);
+            var request = CalibrationPhaseEvent.start();
+            request.finish(CalibrationPhaseEvent.SETTINGS, CalibrationPhaseEvent.REQUEST, TurretLocation.Bow,
+                    CalibrationPhaseEvent.REJECTED);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        var summary = CalibrationPhaseSummary.summarize(file, null);
+        assertThat(summary).extracting(PhaseLatency::getEndpoint).containsOnly("run", "settings");
+        assertThat(summary.get(0).getEndpoint()).isEqualTo("run");
+        assertThat(summary.get(0).getPhase()).isEqualTo(CalibrationPhaseEvent.REQUEST);
+        assertThat(summary.get(0).getCount()).isEqualTo(3);
+        assertThat(summary.get(0).getShareOfRequests()).isEqualTo(1.0);
+        var simulation = phase(summary, "run", "simulation");
+        assertThat(simulation.getCount()).isEqualTo(3);
+        assertThat(simulation.getMaxMs()).isGreaterThanOrEqualTo(20);
+        assertThat(simulation.getShareOfRequests()).isGreaterThan(0.5).isLessThanOrEqualTo(1.0);
+        var unattributed = phase(summary, "run", CalibrationPhaseSummary.UNATTRIBUTED);
+        assertThat(unattributed.getCount()).isEqualTo(3);
+        assertThat(unattributed.getMaxMs()).isLessThan(simulation.getMaxMs());
+        assertThat(phase(summary, "run", "claim").getCount()).isEqualTo(3);
+        var rejected = phase(summary, "settings", CalibrationPhaseEvent.REQUEST);
+        assertThat(rejected.getOutcome()).isEqualTo(CalibrationPhaseEvent.REJECTED);
+        assertThat(rejected.getCount()).isEqualTo(1);
+
+        var stern = CalibrationPhaseSummary.summarize(file, TurretLocation.Stern);
+        assertThat(stern).extracting(PhaseLatency::getEndpoint).containsOnly("run");
+        assertThat(phase(stern, "run", CalibrationPhaseEvent.REQUEST).getCount()).isEqualTo(2);
+        assertThat(phase(stern, "run", "simulation").getCount()).isEqualTo(2);
+    }
+
+    /**
+     * A run request without a turret header, whose turret is the one of its phases.
+     */
+    private static void run(TurretLocation turretLocation, long simulationMs) throws InterruptedException {
+        var request = CalibrationPhaseEvent.start();
+        var claim = CalibrationPhaseEvent.start();
+        claim.finish(CalibrationPhaseEvent.RUN, "claim", turretLocation, CalibrationPhaseEvent.SUCCESS);
+        var simulation = CalibrationPhaseEvent.start();
+        Thread.sleep(simulationMs);
+        simulation.finish(CalibrationPhaseEvent.RUN, "simulation", turretLocation, CalibrationPhaseEvent.SUCCESS);
+        request.finish(CalibrationPhaseEvent.RUN, CalibrationPhaseEvent.REQUEST, null, CalibrationPhaseEvent.SUCCESS);
+    }
+
+    private static PhaseLatency phase(List<PhaseLatency> summary, String endpoint, String phase) {
+        return summary.stream()
+                .filter(phaseLatency -> phaseLatency.getEndpoint().equals(endpoint))
+                .filter(phaseLatency -> phaseLatency.getPhase().equals(phase))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,44 @@
+package org.coding.challenge.battleship.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.coding.challenge.battleship.dto.PendingSettingsStats;
+import org.coding.challenge.battleship.pending.PendingSettingStore;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PendingSettingsMetricsTest {
+
+    /**
+     * GIVEN the pending settings meters bound to a registry
+     * WHEN every meter is read, as by a scrape
+     * THEN the stats of the store are read once for the scrape, not once per meter
+     */
+    @Test
+    public void givenBoundMeters_whenScrape_thenStatsReadOnce() {
+        var pendingSettingStore = mock(PendingSettingStore.class);
+        when(pendingSettingStore.stats()).thenReturn(PendingSettingsStats.builder()
+                .mode("shared")
+                .capacity(100)
+                .depth(7)
+                .accepted(10)
+                .rejected(2)
+                .build());
+        var meterRegistry = new SimpleMeterRegistry();
+        new PendingSettingsMetrics(pendingSettingStore).bindTo(meterRegistry);
+
+        assertThat(meterRegistry.get("calibration.pending.settings").gauge().value()).isEqualTo(7);
+        assertThat(meterRegistry.get("calibration.pending.settings.capacity").gauge().value()).isEqualTo(100);
+        assertThat(meterRegistry.get("calibration.pending.settings.offers").tag("result", "accepted")
+                .functionCounter().count()).isEqualTo(10);
+        assertThat(meterRegistry.get("calibration.pending.settings.offers").tag("result", "rejected")
+                .functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("calibration.pending.settings.offers").tag("result", "overwritten")
+                .functionCounter().count()).isZero();
+        verify(pendingSettingStore, times(1)).stats();
+    }
+}
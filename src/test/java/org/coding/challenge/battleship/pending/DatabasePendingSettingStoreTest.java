@@ -0,0 +1,62 @@
+package org.coding.challenge.battleship.pending;
+
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.repository.PendingSettingRepository;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DatabasePendingSettingStoreTest {
+
+    private final PendingSettingRepository pendingSettingRepository = mock(PendingSettingRepository.class);
+    private final DatabasePendingSettingStore store =
+            new DatabasePendingSettingStore(pendingSettingRepository, 3, 2, "direct");
+
+    /**
+     * GIVEN an empty shared store with a capacity of 3
+     * WHEN offer 3 settings, a 4th one, claim one and offer another one
+     * THEN the rows are counted once before the first offer and once before rejecting the 4th,
+     * and the depth kept by the offers and the claim lets the last offer in without counting
+     */
+    @Test
+    public void givenOffersAndClaims_whenOffer_thenCheckCapacityWithoutCountingEveryTime() {
+        when(pendingSettingRepository.count()).thenReturn(0);
+        for (int i = 1; i <= 3; i++) {
+            store.offer(new PendingSetting(TurretLocation.Bow, i, 110, 0, i, 1));
+        }
+        verify(pendingSettingRepository, times(1)).count();
+
+        when(pendingSettingRepository.count()).thenReturn(3);
+        var exception = assertThrows(PendingSettingsFullException.class,
+                () -> store.offer(new PendingSetting(TurretLocation.Stern, 4, 110, 0, 4, 1)));
+        assertThat(exception.getRetryAfterSeconds()).isEqualTo(2);
+        verify(pendingSettingRepository, times(2)).count();
+
+        when(pendingSettingRepository.claimOldest()).thenReturn(new PendingSetting(TurretLocation.Bow, 1, 110, 0, 1, 1));
+        assertThat(store.claim()).isNotNull();
+        store.offer(new PendingSetting(TurretLocation.Stern, 5, 110, 0, 5, 1));
+        verify(pendingSettingRepository, times(2)).count();
+        verify(pendingSettingRepository, times(4)).insert(any());
+    }
+
+    /**
+     * GIVEN a setting saved by another instance, not yet seen by this one
+     * WHEN the stats are read
+     * THEN the depth is counted from the table
+     */
+    @Test
+    public void givenSettingOfAnotherInstance_whenStats_thenDepthCounted() {
+        when(pendingSettingRepository.count()).thenReturn(1);
+
+        var stats = store.stats();
+
+        assertThat(stats.getDepth()).isEqualTo(1);
+        assertThat(stats.getCapacity()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,114 @@
+package org.coding.challenge.battleship.pending;
+
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PendingSettingQueueTest {
+
+    /**
+     * GIVEN a queue filled up to its capacity
+     * WHEN offer one more setting, then claim every setting
+     * THEN the extra setting is rejected with a retry hint and the others are claimed in FIFO order
+     */
+    @Test
+    public void givenFullQueue_whenOffer_thenRejectAndKeepFifoOrder() {
+        var queue = new PendingSettingQueue(3, 2); // rounded up to 4
+        for (int i = 1; i <= 4; i++) {
+            queue.offer(new PendingSetting(TurretLocation.Bow, i, 110, 0, i, 1));
+        }
+
+        var exception = assertThrows(PendingSettingsFullException.class,
+                () -> queue.offer(new PendingSetting(TurretLocation.Stern, 5, 110, 0, 5, 1)));
+        assertThat(exception.getRetryAfterSeconds()).isEqualTo(2);
+        assertThat(queue.stats().getDepth()).isEqualTo(4);
+        assertThat(queue.stats().getRejected()).isEqualTo(1);
+
+        for (int i = 1; i <= 4; i++) {
+            assertThat(queue.claim().totalDistance()).isEqualTo(i);
+        }
+        assertThat(queue.claim()).isNull();
+        assertThat(queue.stats().getDepth()).isZero();
+    }
+
+    /**
+     * GIVEN producers and consumers racing on a small queue
+     * WHEN every accepted setting is eventually claimed
+     * THEN no setting is lost or claimed twice, and each producer's settings are claimed in its own order
+     */
+    @Test
+    public void givenRacingProducersAndConsumers_whenClaim_thenEverySettingIsClaimedOnce() throws Exception {
+        var queue = new PendingSettingQueue(64, 1);
+        var settingsPerProducer = 50_000;
+        var producers = 2;
+        var executor = Executors.newFixedThreadPool(4);
+        var start = new CountDownLatch(1);
+        var claimed = new ConcurrentLinkedQueue<List<PendingSetting>>();
+        var producersDone = new AtomicInteger();
+        try {
+            for (var turretLocation : TurretLocation.values()) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < settingsPerProducer; i++) {
+                        var pendingSetting = new PendingSetting(turretLocation, i, 110, 0, i, 1);
+                        while (true) {
+                            try {
+                                queue.offer(pendingSetting);
+                                break;
+                            } catch (PendingSettingsFullException e) {
+                                Thread.onSpinWait();
+                            }
+                        }
+                    }
+                    producersDone.incrementAndGet();
+                    return null;
+                });
+            }
+            List<Future<?>> consumers = new ArrayList<>();
+            for (int consumer = 0; consumer < 2; consumer++) {
+                consumers.add(executor.submit(() -> {
+                    start.await();
+                    List<PendingSetting> claimedByConsumer = new ArrayList<>();
+                    while (producersDone.get() < producers || queue.stats().getDepth() > 0) {
+                        var pendingSetting = queue.claim();
+                        if (pendingSetting != null) {
+                            claimedByConsumer.add(pendingSetting);
+                        }
+                    }
+                    claimed.add(claimedByConsumer);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (var consumer : consumers) {
+                consumer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Set<PendingSetting> distinct = new HashSet<>();
+        for (var claimedByConsumer : claimed) {
+            var lastDistance = new long[]{-1, -1};
+            for (var pendingSetting : claimedByConsumer) {
+                assertThat(distinct.add(pendingSetting)).as("setting claimed twice").isTrue();
+                var ordinal = pendingSetting.turretLocation().ordinal();
+                assertThat(pendingSetting.totalDistance()).isGreaterThan(lastDistance[ordinal]);
+                lastDistance[ordinal] = pendingSetting.totalDistance();
+            }
+        }
+        assertThat(distinct).hasSize(producers * settingsPerProducer);
+    }
+}
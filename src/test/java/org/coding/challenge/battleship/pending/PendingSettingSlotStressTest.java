@@ -0,0 +1,183 @@
+package org.coding.challenge.battleship.pending;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.coding.challenge.battleship.audit.DisabledAuditJournal;
+import org.coding.challenge.battleship.counter.TurretTestCounter;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.events.DisabledCalibrationEventPublisher;
+import org.coding.challenge.battleship.history.DisabledRunHistoryRecorder;
+import org.coding.challenge.battleship.metrics.CalibrationMetrics;
+import org.coding.challenge.battleship.service.CalibrationSettingsImpl;
+import org.coding.challenge.battleship.service.RunRecorder;
+import org.coding.challenge.battleship.simulation.DisabledSweepSimulator;
+import org.coding.challenge.battleship.statistics.TurretStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stress tests in the style of jcstress: every round races producers and consumers on a fresh slot
+ * and checks the consume-once invariants on the outcome.
+ */
+public class PendingSettingSlotStressTest {
+
+    private static final int ROUNDS = 10_000;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * GIVEN two producers and two consumers racing on the same slot
+     * WHEN each producer offers one setting and each consumer claims once
+     * THEN no setting is claimed twice, only offered settings are claimed and the latest setting is never lost
+     */
+    @Test
+    public void givenRacingOffersAndClaims_whenClaim_thenEachSettingIsClaimedAtMostOnce() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            var slot = new PendingSettingSlot();
+            var bow = new PendingSetting(TurretLocation.Bow, 2L * round + 2, 110, 0, 2L * round + 2, 1);
+            var stern = new PendingSetting(TurretLocation.Stern, 2L * round + 1, 110, 0, 2L * round + 1, 1);
+            var start = new CountDownLatch(1);
+
+            List<Future<PendingSetting>> claims = new ArrayList<>();
+            executor.submit(() -> offer(start, slot, bow));
+            executor.submit(() -> offer(start, slot, stern));
+            claims.add(executor.submit(() -> claim(start, slot)));
+            claims.add(executor.submit(() -> claim(start, slot)));
+            start.countDown();
+
+            List<PendingSetting> claimed = new ArrayList<>();
+            for (var claim : claims) {
+                claimed.add(claim.get());
+            }
+            claimed.add(slot.claim()); // whatever is still pending once every actor has finished
+
+            Set<PendingSetting> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+            claimed.stream().filter(setting -> setting != null).forEach(setting -> {
+                assertThat(setting).isIn(bow, stern);
+                assertThat(distinct.add(setting)).as("setting claimed twice in round").isTrue();
+            });
+            assertThat(distinct).isNotEmpty();
+        }
+    }
+
+    /**
+     * GIVEN settings and runs racing on the calibration service
+     * WHEN runs consume the settings
+     * THEN no run fails other than for a missing setting, every run pairs a distance with its own turret
+     * and no run reuses a setting
+     */
+    @Test
+    public void givenRacingSettingsAndRuns_whenRun_thenDistanceMatchesTurretAndSettingRunOnce() throws Exception {
+        var numberOfTests = new AtomicInteger();
+        var runTurret = new ThreadLocal<TurretLocation>();
+        var calibrationService = new CalibrationSettingsImpl(new TurretTestCounter() {
+            @Override
+            public int increment(TurretLocation turretLocation) {
+                runTurret.set(turretLocation);
+                return numberOfTests.incrementAndGet();
+            }
+
+            @Override
+            public int[] add(int[] increments) {
+                throw new UnsupportedOperationException();
+            }
+        }, new PendingSettingSlot(), new CalibrationMetrics(new SimpleMeterRegistry()),
+                new DisabledAuditJournal(false), new DisabledCalibrationEventPublisher(),
+                new RunRecorder(new DisabledSweepSimulator(), new DisabledAuditJournal(false),
+                        new DisabledRunHistoryRecorder(), new TurretStatistics(60, 12),
+                        new DisabledCalibrationEventPublisher()));
+        var unexpectedFailures = new ConcurrentLinkedQueue<Throwable>();
+        var runDistances = new ConcurrentLinkedQueue<Long>();
+        var tornRuns = new AtomicInteger();
+        var start = new CountDownLatch(1);
+
+        for (var turretLocation : TurretLocation.values()) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ROUNDS; i++) {
+                    // every distance is unique, even for Bow and odd for Stern, so torn pairs and repeated runs are detectable
+                    calibrationService.settings(turretLocation == TurretLocation.Bow
+                            ? settingsRequest(turretLocation, 2, i + 1)
+                            : settingsRequest(turretLocation, 1, 2 * i + 1));
+                }
+                return null;
+            });
+        }
+        List<Future<?>> consumers = new ArrayList<>();
+        for (int consumer = 0; consumer < 2; consumer++) {
+            consumers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ROUNDS; i++) {
+                    try {
+                        var distance = calibrationService.run().getDistanceInDegrees();
+                        var expectedRemainder = runTurret.get() == TurretLocation.Bow ? 0 : 1;
+                        if (distance % 2 != expectedRemainder) {
+                            tornRuns.incrementAndGet();
+                        }
+                        runDistances.add(distance);
+                    } catch (IllegalArgumentException e) {
+                        // no setting was pending
+                    } catch (Throwable t) {
+                        unexpectedFailures.add(t);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (var consumer : consumers) {
+            consumer.get();
+        }
+
+        assertThat(unexpectedFailures).isEmpty();
+        assertThat(tornRuns.get()).isZero();
+        assertThat(Set.copyOf(runDistances)).hasSameSizeAs(runDistances);
+        assertThat(numberOfTests.get()).isEqualTo(runDistances.size());
+    }
+
+    private static Void offer(CountDownLatch start, PendingSettingSlot slot, PendingSetting pendingSetting) throws InterruptedException {
+        start.await();
+        slot.offer(pendingSetting);
+        return null;
+    }
+
+    private static PendingSetting claim(CountDownLatch start, PendingSettingSlot slot) throws InterruptedException {
+        start.await();
+        return slot.claim();
+    }
+
+    private static SettingsRequest settingsRequest(TurretLocation turretLocation, int rotationEndPoint, int rotations) {
+        var settingsRequest = new SettingsRequest();
+        settingsRequest.setCaliber(110);
+        settingsRequest.setLocation(turretLocation);
+        settingsRequest.setRotationStartPoint(0);
+        settingsRequest.setRotationEndPoint(rotationEndPoint);
+        settingsRequest.setRotations(rotations);
+        return settingsRequest;
+    }
+}
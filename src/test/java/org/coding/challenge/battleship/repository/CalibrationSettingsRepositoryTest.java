@@ -0,0 +1,86 @@
+package org.coding.challenge.battleship.repository;
+
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // every increment commits on its own, like a real run
+public class CalibrationSettingsRepositoryTest {
+
+    @Autowired
+    private CalibrationSettingsRepository calibrationSettingsRepository;
+
+    @AfterEach
+    public void cleanUp() {
+        calibrationSettingsRepository.deleteAll();
+    }
+
+    /**
+     * GIVEN no test count exists for a turret
+     * WHEN increment its number of tests twice
+     * THEN the row is created with 1 and then incremented to 2
+     */
+    @Test
+    public void givenNoTestCount_whenIncrement_thenCreateAndIncrement() {
+        assertThat(calibrationSettingsRepository.incrementNumberOfTests(TurretLocation.Bow)).isEqualTo(1);
+        assertThat(calibrationSettingsRepository.incrementNumberOfTests(TurretLocation.Bow)).isEqualTo(2);
+        assertThat(calibrationSettingsRepository.findCalibrationSettingByTurretLocation(TurretLocation.Bow))
+                .hasValueSatisfying(calibrationSetting -> assertThat(calibrationSetting.getNumberOfTests()).isEqualTo(2));
+        assertThat(calibrationSettingsRepository.findCalibrationSettingByTurretLocation(TurretLocation.Stern)).isEmpty();
+    }
+
+    /**
+     * GIVEN many threads running the same turret at the same time
+     * WHEN each of them increments its number of tests
+     * THEN no increment is lost and every run observes a distinct count
+     */
+    @Test
+    public void givenConcurrentRuns_whenIncrement_thenNoIncrementIsLost() throws Exception {
+        var threads = 8;
+        var incrementsPerThread = 250;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        var start = new CountDownLatch(1);
+        List<Future<List<Integer>>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<Integer> observed = new ArrayList<>(incrementsPerThread);
+                    for (int j = 0; j < incrementsPerThread; j++) {
+                        observed.add(calibrationSettingsRepository.incrementNumberOfTests(TurretLocation.Stern));
+                    }
+                    return observed;
+                }));
+            }
+            start.countDown();
+
+            Set<Integer> distinctCounts = new HashSet<>();
+            for (var future : futures) {
+                distinctCounts.addAll(future.get());
+            }
+            assertThat(distinctCounts).hasSize(threads * incrementsPerThread);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(calibrationSettingsRepository.findCalibrationSettingByTurretLocation(TurretLocation.Stern))
+                .hasValueSatisfying(calibrationSetting ->
+                        assertThat(calibrationSetting.getNumberOfTests()).isEqualTo(threads * incrementsPerThread));
+    }
+}
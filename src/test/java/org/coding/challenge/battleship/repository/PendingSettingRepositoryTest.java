@@ -0,0 +1,107 @@
+package org.coding.challenge.battleship.repository;
+
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.pending.PendingSetting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(PendingSettingRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PendingSettingRepositoryTest {
+
+    @Autowired
+    private PendingSettingRepository pendingSettingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM PENDING_SETTING");
+    }
+
+    /**
+     * GIVEN three settings inserted one after the other
+     * WHEN claim four times
+     * THEN the settings are claimed in insertion order with every field, then nothing is left
+     */
+    @Test
+    public void givenInsertedSettings_whenClaimOldest_thenClaimInFifoOrder() {
+        var first = new PendingSetting(TurretLocation.Bow, 300, 110, 20, 120, 3);
+        var second = new PendingSetting(TurretLocation.Stern, 180, 450, 0, 180, 1);
+        var third = new PendingSetting(TurretLocation.Bow, 10, 102, 5, 10, 2);
+        pendingSettingRepository.insert(first);
+        pendingSettingRepository.insert(second);
+        pendingSettingRepository.insert(third);
+        assertThat(pendingSettingRepository.count()).isEqualTo(3);
+
+        assertThat(pendingSettingRepository.claimOldest()).isEqualTo(first);
+        assertThat(pendingSettingRepository.claimOldest()).isEqualTo(second);
+        assertThat(pendingSettingRepository.claimOldest()).isEqualTo(third);
+        assertThat(pendingSettingRepository.claimOldest()).isNull();
+        assertThat(pendingSettingRepository.count()).isZero();
+    }
+
+    /**
+     * GIVEN 2000 pending settings
+     * WHEN 8 threads, each with its own connection, claim until the table is empty
+     * THEN every setting is claimed exactly once
+     */
+    @Test
+    public void givenConcurrentClaimers_whenClaimOldest_thenEverySettingIsClaimedOnce() throws Exception {
+        var settings = 2000;
+        for (int i = 0; i < settings; i++) {
+            pendingSettingRepository.insert(new PendingSetting(TurretLocation.values()[i % 2], i, 110, 0, i, 1));
+        }
+        var claimed = new ConcurrentLinkedQueue<PendingSetting>();
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> claimers = new ArrayList<>();
+            for (int claimer = 0; claimer < 8; claimer++) {
+                claimers.add(executor.submit(() -> {
+                    start.await();
+                    PendingSetting pendingSetting;
+                    // a claim can find only rows locked by the other claimers, so the count decides when to stop
+                    while ((pendingSetting = pendingSettingRepository.claimOldest()) != null
+                            || pendingSettingRepository.count() > 0) {
+                        if (pendingSetting != null) {
+                            claimed.add(pendingSetting);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (var claimer : claimers) {
+                claimer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(claimed).hasSize(settings);
+        Set<Long> distances = new HashSet<>();
+        claimed.forEach(pendingSetting -> distances.add(pendingSetting.totalDistance()));
+        assertThat(distances).hasSize(settings);
+        assertThat(pendingSettingRepository.count()).isZero();
+    }
+}
@@ -0,0 +1,96 @@
+package org.coding.challenge.battleship.repository;
+
+import org.coding.challenge.battleship.dto.RunHistoryEntry;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(RunHistoryRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class RunHistoryRepositoryTest {
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Autowired
+    private RunHistoryRepository runHistoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM RUN_HISTORY");
+    }
+
+    /**
+     * GIVEN 25 runs alternating between the Bow and Stern turrets
+     * WHEN read the Bow runs in pages of 5, each page after the last id of the previous one
+     * THEN every Bow run is returned once, in order, with its fields, and the last page is short
+     */
+    @Test
+    public void givenRuns_whenFindAfterPageByPage_thenReturnEveryRunOnceInOrder() {
+        insertRuns(25);
+
+        List<RunHistoryEntry> runs = new ArrayList<>();
+        List<RunHistoryEntry> page;
+        var after = 0L;
+        do {
+            page = runHistoryRepository.findAfter(TurretLocation.Bow, after, 5);
+            runs.addAll(page);
+            after = page.isEmpty() ? after : page.get(page.size() - 1).getId();
+        } while (page.size() == 5);
+
+        assertThat(runs).hasSize(13);
+        assertThat(runs).extracting(RunHistoryEntry::getNumberOfTests)
+                .containsExactly(1, 3, 5, 7, 9, 11, 13, 15, 17, 19, 21, 23, 25);
+        assertThat(runs).extracting(RunHistoryEntry::getId).isSorted().doesNotHaveDuplicates();
+        assertThat(runs.get(0).getLocation()).isEqualTo(TurretLocation.Bow);
+        assertThat(runs.get(0).getTime()).isEqualTo(START.plusSeconds(1));
+        assertThat(runs.get(0).getCaliber()).isEqualTo(110L);
+        assertThat(runs.get(0).getDistanceInDegrees()).isEqualTo(300L);
+    }
+
+    /**
+     * GIVEN runs one second apart
+     * WHEN read the runs of every turret between two times
+     * THEN return only the runs from the first time (inclusive) to the second (exclusive)
+     */
+    @Test
+    public void givenRuns_whenForEachAfterBetweenTimes_thenReturnRunsOfTimeRange() {
+        insertRuns(10);
+
+        List<Integer> numberOfTests = new ArrayList<>();
+        var rows = runHistoryRepository.forEachAfter(null, START.plusSeconds(3), START.plusSeconds(6), 0, 100,
+                run -> numberOfTests.add(run.getNumberOfTests()));
+
+        assertThat(rows).isEqualTo(3);
+        assertThat(numberOfTests).containsExactly(3, 4, 5);
+    }
+
+    private void insertRuns(int count) {
+        List<RunHistoryEntry> runs = new ArrayList<>(count);
+        for (int run = 1; run <= count; run++) {
+            runs.add(RunHistoryEntry.builder()
+                    .time(START.plusSeconds(run))
+                    .location(run % 2 == 1 ? TurretLocation.Bow : TurretLocation.Stern)
+                    .caliber(110)
+                    .distanceInDegrees(300)
+                    .numberOfTests(run)
+                    .build());
+        }
+        runHistoryRepository.insertAll(runs);
+    }
+}
@@ -1,34 +1,69 @@
 package org.coding.challenge.battleship.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.coding.challenge.battleship.audit.AuditJournal;
+import org.coding.challenge.battleship.counter.DatabaseTurretTestCounter;
 import org.coding.challenge.battleship.dto.RunResponse;
 import org.coding.challenge.battleship.dto.SettingsRequest;
-import org.coding.challenge.battleship.entity.CalibrationSetting;
 import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.events.CalibrationEventPublisher;
+import org.coding.challenge.battleship.history.RunHistoryRecorder;
+import org.coding.challenge.battleship.metrics.CalibrationMetrics;
+import org.coding.challenge.battleship.pending.PendingSetting;
+import org.coding.challenge.battleship.pending.PendingSettingSlot;
 import org.coding.challenge.battleship.repository.CalibrationSettingsRepository;
+import org.coding.challenge.battleship.simulation.DisabledSweepSimulator;
+import org.coding.challenge.battleship.statistics.TurretStatistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
-import java.util.Optional;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest(classes = {
         CalibrationSettingsImpl.class,
-        CalibrationSettingsRepository.class
+        DatabaseTurretTestCounter.class,
+        PendingSettingSlot.class,
+        CalibrationMetrics.class,
+        SimpleMeterRegistry.class,
+        CalibrationSettingsRepository.class,
+        DisabledSweepSimulator.class,
+        TurretStatistics.class,
+        RunRecorder.class
 })
 public class CalibrationServiceImplTest {
 
     @Autowired
     private CalibrationService calibrationService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockitoBean
     private CalibrationSettingsRepository calibrationSettingsRepository;
 
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private AuditJournal auditJournal;
+
+    @MockitoBean
+    private RunHistoryRecorder runHistoryRecorder;
+
+    @MockitoBean
+    private CalibrationEventPublisher calibrationEventPublisher;
+
     /**
      * GIVEN a valid SettingsRequest
      * WHEN create settings using it
@@ -47,18 +82,15 @@ public class CalibrationServiceImplTest {
     /**
      * GIVEN a valid SettingsRequest has been set for a specific TurretLocation
      * WHEN create run test on the turret
-     * THEN run successfully and return test results
+     * THEN run successfully, return test results, record the run in the run history and publish it
      */
     @Test
     public void givenValidSettings_whenRun_thenSuccessful() {
         var numberOfTests = 2;
 
         // mock
-        when(calibrationSettingsRepository.findCalibrationSettingByTurretLocation(any(TurretLocation.class)))
-                .thenReturn(Optional.of(CalibrationSetting.builder()
-                                .numberOfTests(numberOfTests)
-                                .turretLocation(TurretLocation.Stern)
-                                .build()));
+        when(calibrationSettingsRepository.incrementNumberOfTests(any(TurretLocation.class)))
+                .thenReturn(numberOfTests + 1);
 
         // creating a test setting
         var settingsRequest = createSettingsRequest(TurretLocation.Stern, 20, 120, 3);
@@ -73,6 +105,8 @@ public class CalibrationServiceImplTest {
 
         assertThat(runResponse.getNumberOfTests()).isEqualTo(numberOfTests + 1);
         assertThat(runResponse.getDistanceInDegrees()).isEqualTo(300);
+        verify(runHistoryRecorder).record(new PendingSetting(TurretLocation.Stern, 300, 110, 20, 120, 3), numberOfTests + 1);
+        verify(calibrationEventPublisher).publishRun(TurretLocation.Stern, runResponse);
     }
 
     /**
@@ -89,6 +123,51 @@ public class CalibrationServiceImplTest {
     }
 
 
+    /**
+     * GIVEN valid SettingsRequests for several turrets
+     * WHEN run them as a batch
+     * THEN add the tests of each turret at once and number the runs in the order of the batch
+     */
+    @Test
+    public void givenValidSettingsRequests_whenRunBatch_thenSuccessful() {
+        when(calibrationSettingsRepository.addNumberOfTests(TurretLocation.Bow, 2)).thenReturn(7);
+        when(calibrationSettingsRepository.addNumberOfTests(TurretLocation.Stern, 1)).thenReturn(3);
+
+        var runResponses = calibrationService.runBatch(List.of(
+                createSettingsRequest(TurretLocation.Bow, 20, 120, 3),
+                createSettingsRequest(TurretLocation.Stern, 10, 20, 1),
+                createSettingsRequest(TurretLocation.Bow, 0, 10, 2)));
+
+        assertThat(runResponses.size()).isEqualTo(3);
+        assertThat(runResponses.get(0)).isEqualTo(RunResponse.builder().numberOfTests(6).distanceInDegrees(300).build());
+        assertThat(runResponses.get(1)).isEqualTo(RunResponse.builder().numberOfTests(3).distanceInDegrees(10).build());
+        assertThat(runResponses.get(2)).isEqualTo(RunResponse.builder().numberOfTests(7).distanceInDegrees(20).build());
+    }
+
+    /**
+     * GIVEN a setting on the Stern turret
+     * WHEN run it, then run again without any setting
+     * THEN the first run is timed as a success on the Stern turret and the second one as a run without settings
+     */
+    @Test
+    public void givenSettings_whenRunTwice_thenRunsAreTimedByTurretAndOutcome() {
+        when(calibrationSettingsRepository.incrementNumberOfTests(any())).thenReturn(1);
+        var successes = runTimerCount("Stern", "success");
+        var noSettings = runTimerCount("none", "no_settings");
+
+        calibrationService.settings(createSettingsRequest(TurretLocation.Stern, 20, 120, 3));
+        calibrationService.run();
+        assertThrows(IllegalArgumentException.class, () -> calibrationService.run());
+
+        assertThat(runTimerCount("Stern", "success")).isEqualTo(successes + 1);
+        assertThat(runTimerCount("none", "no_settings")).isEqualTo(noSettings + 1);
+    }
+
+
+
+    private long runTimerCount(String turret, String outcome) {
+        return meterRegistry.get("calibration.run").tag("turret", turret).tag("outcome", outcome).timer().count();
+    }
 
     private SettingsRequest createSettingsRequest(TurretLocation turretLocation, int rotationStartPoint, int rotationEndPoint, int rotations) {
         var settingsRequest = new SettingsRequest();
@@ -0,0 +1,74 @@
+package org.coding.challenge.battleship.service;
+
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.simulation.DisabledSweepSimulator;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FleetCalibrationServiceImplTest {
+
+    private final ConcurrentHashMap<String, Integer> numberOfTests = new ConcurrentHashMap<>();
+    private final FleetCalibrationService fleetCalibrationService = new FleetCalibrationSettingsImpl(
+            turretKey -> numberOfTests.merge(turretKey, 1, Integer::sum), 16, new DisabledSweepSimulator());
+
+    /**
+     * GIVEN settings for two turrets of the same ship
+     * WHEN run each turret
+     * THEN each run uses the setting and the test count of its own turret
+     */
+    @Test
+    public void givenSettingsForTwoTurrets_whenRun_thenEachTurretRunsItsOwnSetting() {
+        fleetCalibrationService.settings("ship-1", "turret-a", createSettingsRequest(20, 120, 3));
+        fleetCalibrationService.settings("ship-1", "turret-b", createSettingsRequest(10, 20, 1));
+
+        var runA = fleetCalibrationService.run("ship-1", "turret-a");
+        var runB = fleetCalibrationService.run("ship-1", "turret-b");
+
+        assertThat(runA.getDistanceInDegrees()).isEqualTo(300);
+        assertThat(runA.getNumberOfTests()).isEqualTo(1);
+        assertThat(runB.getDistanceInDegrees()).isEqualTo(10);
+        assertThat(runB.getNumberOfTests()).isEqualTo(1);
+    }
+
+    /**
+     * GIVEN a setting of a turret that has already been run
+     * WHEN run the turret again
+     * THEN throw an IllegalArgumentException
+     */
+    @Test
+    public void givenConsumedSetting_whenRunAgain_thenThrowIllegalArgumentException() {
+        fleetCalibrationService.settings("ship-1", "turret-a", createSettingsRequest(20, 120, 3));
+        fleetCalibrationService.run("ship-1", "turret-a");
+
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> fleetCalibrationService.run("ship-1", "turret-a"));
+        assertThat(exception.getMessage()).isEqualTo("Calibration Settings do not exist. Please set it before running a test.");
+    }
+
+    /**
+     * GIVEN a ship id that is not a plain identifier
+     * WHEN save a setting for it
+     * THEN throw an IllegalArgumentException
+     */
+    @Test
+    public void givenInvalidShipId_whenSettings_thenThrowIllegalArgumentException() {
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> fleetCalibrationService.settings("ship/1", "turret-a", createSettingsRequest(20, 120, 3)));
+        assertThat(exception.getMessage()).isEqualTo("ship_id must be 1 to 64 letters, digits, '_' or '-'");
+    }
+
+    private SettingsRequest createSettingsRequest(int rotationStartPoint, int rotationEndPoint, int rotations) {
+        var settingsRequest = new SettingsRequest();
+        settingsRequest.setCaliber(110);
+        settingsRequest.setLocation(TurretLocation.Bow);
+        settingsRequest.setRotationStartPoint(rotationStartPoint);
+        settingsRequest.setRotationEndPoint(rotationEndPoint);
+        settingsRequest.setRotations(rotations);
+        return settingsRequest;
+    }
+}
@@ -0,0 +1,95 @@
+package org.coding.challenge.battleship.service;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:pinning;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "battleship-calibration.fleet.enabled=true",
+        "battleship-calibration.audit.enabled=false",
+        "battleship-calibration.cors.ui=*"})
+public class VirtualThreadPinningTest {
+
+    private static final int CLIENTS = 200;
+    private static final int RUNS_PER_CLIENT = 20;
+
+    @Autowired
+    private FleetCalibrationService fleetCalibrationService;
+
+    /**
+     * GIVEN 200 virtual threads sharing a pool of 2 connections
+     * WHEN each of them sets and runs its own turret
+     * THEN no virtual thread blocks while pinned to its carrier, neither waiting for a connection nor in JDBC
+     */
+    @Test
+    public void givenVirtualThreads_whenRunConcurrently_thenNoCarrierIsPinned() throws Exception {
+        var settingsRequest = createSettingsRequest();
+        // warm up on this thread first, so that class initialization is not reported
+        for (int i = 0; i < 100; i++) {
+            fleetCalibrationService.settings("warm-up", "turret-" + i % 4, settingsRequest);
+            fleetCalibrationService.run("warm-up", "turret-" + i % 4);
+        }
+
+        List<RecordedEvent> pinnedEvents = new CopyOnWriteArrayList<>();
+        try (var recordingStream = new RecordingStream()) {
+            recordingStream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recordingStream.onEvent("jdk.VirtualThreadPinned", pinnedEvents::add);
+            recordingStream.startAsync();
+
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>(CLIENTS);
+                for (int client = 0; client < CLIENTS; client++) {
+                    var turretId = "turret-" + client;
+                    futures.add(executor.submit(() -> {
+                        for (int run = 0; run < RUNS_PER_CLIENT; run++) {
+                            fleetCalibrationService.settings("ship-1", turretId, settingsRequest);
+                            fleetCalibrationService.run("ship-1", turretId);
+                        }
+                        return null;
+                    }));
+                }
+                for (var future : futures) {
+                    future.get();
+                }
+            }
+            recordingStream.stop();
+        }
+
+        assertThat(pinnedEvents)
+                .withFailMessage(() -> "Pinned virtual threads:\n" + pinnedEvents.stream()
+                        .map(event -> event.getStackTrace() == null ? "?" : event.getStackTrace().getFrames().stream()
+                                .limit(12)
+                                .map(frame -> "  " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                                .collect(Collectors.joining("\n")))
+                        .collect(Collectors.joining("\n--\n")))
+                .isEmpty();
+    }
+
+    private SettingsRequest createSettingsRequest() {
+        var settingsRequest = new SettingsRequest();
+        settingsRequest.setCaliber(110);
+        settingsRequest.setLocation(TurretLocation.Bow);
+        settingsRequest.setRotationStartPoint(20);
+        settingsRequest.setRotationEndPoint(120);
+        settingsRequest.setRotations(3);
+        return settingsRequest;
+    }
+}
@@ -0,0 +1,105 @@
+package org.coding.challenge.battleship.simulation;
+
+import org.coding.challenge.battleship.dto.HistogramBin;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.dto.ToleranceRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class ToleranceEstimatorTest {
+
+    /**
+     * GIVEN the same request and seed
+     * WHEN estimate it on one thread and on four threads
+     * THEN both estimates are identical, and another seed gives another estimate
+     */
+    @Test
+    public void givenSameSeed_whenEstimateWithDifferentThreads_thenSameEstimate() {
+        var toleranceRequest = createToleranceRequest(300, 20, 120, 3, 1_000_000);
+        var oneThread = new ToleranceEstimator(1);
+        var fourThreads = new ToleranceEstimator(4);
+        try {
+            var estimate = oneThread.estimate(toleranceRequest);
+
+            assertThat(fourThreads.estimate(toleranceRequest)).isEqualTo(estimate);
+            toleranceRequest.setSeed(43);
+            assertThat(fourThreads.estimate(toleranceRequest)).isNotEqualTo(estimate);
+        } finally {
+            oneThread.close();
+            fourThreads.close();
+        }
+    }
+
+    /**
+     * GIVEN point noise on the lightest caliber, without caliber noise, for one rotation
+     * WHEN estimate it
+     * THEN the distance is centered on the nominal distance with a standard deviation of point_noise x sqrt(2),
+     * and the histogram counts every sample
+     */
+    @Test
+    public void givenPointNoise_whenEstimate_thenNormalDistributionAroundNominalDistance() {
+        var toleranceRequest = createToleranceRequest(102, 20, 120, 1, 2_000_000);
+        toleranceRequest.setCaliberNoise(0);
+        var toleranceEstimator = new ToleranceEstimator(2);
+        try {
+            var estimate = toleranceEstimator.estimate(toleranceRequest);
+
+            assertThat(estimate.getNominalDistance()).isEqualTo(100);
+            assertThat(estimate.getMean()).isCloseTo(100, within(0.01));
+            assertThat(estimate.getStdDev()).isCloseTo(0.5 * Math.sqrt(2), within(0.01));
+            assertThat(estimate.getPercentiles().get("p50")).isCloseTo(100, within(0.01));
+            assertThat(estimate.getPercentiles().get("p95") - 100).isCloseTo(1.645 * 0.5 * Math.sqrt(2), within(0.02));
+            // P(|N(0, 0.707)| <= 1) = P(|Z| <= 1.414)
+            assertThat(estimate.getWithinTolerance()).isCloseTo(0.8427, within(0.005));
+            assertThat(estimate.getHistogram()).hasSize(20);
+            assertThat(estimate.getHistogram().stream().mapToLong(HistogramBin::getCount).sum()).isEqualTo(2_000_000);
+            assertThat(estimate.getHistogram().getFirst().getLower()).isLessThanOrEqualTo(estimate.getMin());
+            assertThat(estimate.getHistogram().getLast().getUpper()).isGreaterThanOrEqualTo(estimate.getMax());
+        } finally {
+            toleranceEstimator.close();
+        }
+    }
+
+    /**
+     * GIVEN no noise at all
+     * WHEN estimate it
+     * THEN every trial achieves the nominal distance
+     */
+    @Test
+    public void givenNoNoise_whenEstimate_thenEveryTrialIsNominal() {
+        var toleranceRequest = createToleranceRequest(110, 0, 180, 2, 1000);
+        toleranceRequest.setPointNoise(0);
+        toleranceRequest.setCaliberNoise(0);
+        var toleranceEstimator = new ToleranceEstimator(1);
+        try {
+            var estimate = toleranceEstimator.estimate(toleranceRequest);
+
+            assertThat(estimate.getWithinTolerance()).isEqualTo(1);
+            assertThat(estimate.getMin()).isEqualTo(360);
+            assertThat(estimate.getMax()).isEqualTo(360);
+            assertThat(estimate.getStdDev()).isZero();
+            assertThat(estimate.getPercentiles()).allSatisfy((percentile, distance) -> assertThat(distance).isEqualTo(360));
+            assertThat(estimate.getHistogram()).singleElement().extracting(HistogramBin::getCount).isEqualTo(1000L);
+        } finally {
+            toleranceEstimator.close();
+        }
+    }
+
+    private ToleranceRequest createToleranceRequest(long caliber, long rotationStartPoint, long rotationEndPoint,
+                                                    int rotations, long samples) {
+        var settingsRequest = new SettingsRequest();
+        settingsRequest.setCaliber(caliber);
+        settingsRequest.setLocation(TurretLocation.Bow);
+        settingsRequest.setRotationStartPoint(rotationStartPoint);
+        settingsRequest.setRotationEndPoint(rotationEndPoint);
+        settingsRequest.setRotations(rotations);
+        var toleranceRequest = new ToleranceRequest();
+        toleranceRequest.setSettings(settingsRequest);
+        toleranceRequest.setSamples(samples);
+        toleranceRequest.setSeed(42);
+        return toleranceRequest;
+    }
+}
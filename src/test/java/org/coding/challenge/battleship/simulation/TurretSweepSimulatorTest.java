@@ -0,0 +1,103 @@
+package org.coding.challenge.battleship.simulation;
+
+import org.coding.challenge.battleship.dto.RotationTiming;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.pending.PendingSetting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TurretSweepSimulatorTest {
+
+    private final TurretSweepSimulator turretSweepSimulator = new TurretSweepSimulator(40, 80, 150, 8, 6, 1500, 1, 4, 8, 16);
+
+    @AfterEach
+    public void tearDown() {
+        turretSweepSimulator.close();
+    }
+
+    /**
+     * GIVEN the same rotation on the lightest and on the heaviest caliber
+     * WHEN simulate them
+     * THEN the heavy turret moves slower, takes longer to move and to settle, and never exceeds its maximum velocity
+     */
+    @Test
+    public void givenLightAndHeavyCaliber_whenSimulate_thenHeavyCaliberIsSlower() {
+        var light = turretSweepSimulator.simulate(createPendingSetting(102, 20, 120, 1));
+        var heavy = turretSweepSimulator.simulate(createPendingSetting(450, 20, 120, 1));
+
+        assertThat(light.getPeakVelocity()).isLessThanOrEqualTo(40).isGreaterThan(heavy.getPeakVelocity());
+        assertThat(heavy.getPeakVelocity()).isLessThanOrEqualTo(8);
+        assertThat(light.getMoveMs()).isGreaterThan(100.0 / 40 * 1000).isLessThan(heavy.getMoveMs());
+        assertThat(heavy.getMoveMs()).isGreaterThan(100.0 / 8 * 1000);
+        assertThat(light.getSettleMs()).isEqualTo(150);
+        assertThat(heavy.getSettleMs()).isEqualTo(1500);
+    }
+
+    /**
+     * GIVEN a setting of 3 rotations
+     * WHEN simulate it
+     * THEN each rotation starts when the previous one has settled, and settles alternately on the end and start points
+     */
+    @Test
+    public void givenThreeRotations_whenSimulate_thenRotationsFollowEachOther() {
+        var sweepSimulation = turretSweepSimulator.simulate(createPendingSetting(300, 20, 120, 3));
+        var rotationMs = sweepSimulation.getMoveMs() + sweepSimulation.getSettleMs();
+
+        assertThat(sweepSimulation.getSweepDurationMs()).isEqualTo(3 * rotationMs);
+        assertThat(sweepSimulation.getRotationTimings()).extracting(RotationTiming::getSettlePoint)
+                .containsExactly(120L, 20L, 120L);
+        assertThat(sweepSimulation.getRotationTimings()).extracting(RotationTiming::getSettledMs)
+                .containsExactly(rotationMs, 2 * rotationMs, 3 * rotationMs);
+        assertThat(sweepSimulation.getRotationTimings().get(1).getStartMs()).isEqualTo(rotationMs);
+        assertThat(sweepSimulation.getRotationTimings().get(1).getReachedMs())
+                .isEqualTo(rotationMs + sweepSimulation.getMoveMs());
+    }
+
+    /**
+     * GIVEN a setting of more rotations than max-rotation-timings
+     * WHEN simulate it
+     * THEN only the timings of the first rotations are listed, and the duration covers every rotation
+     */
+    @Test
+    public void givenManyRotations_whenSimulate_thenListFirstRotationTimings() {
+        var sweepSimulation = turretSweepSimulator.simulate(createPendingSetting(110, 0, 180, 1000));
+
+        assertThat(sweepSimulation.getRotationTimings()).hasSize(16);
+        assertThat(sweepSimulation.getSweepDurationMs())
+                .isEqualTo(1000 * (sweepSimulation.getMoveMs() + sweepSimulation.getSettleMs()));
+    }
+
+    /**
+     * GIVEN a batch of random settings, larger than the parallel threshold
+     * WHEN simulate them all on the fork-join pool
+     * THEN every simulation is the same as the simulation of the setting on its own, in the order of the batch
+     */
+    @Test
+    public void givenLargeBatch_whenSimulateAll_thenSameAsOneByOne() {
+        var random = new Random(42);
+        List<PendingSetting> pendingSettings = new ArrayList<>();
+        for (int index = 0; index < 500; index++) {
+            var rotationStartPoint = random.nextInt(180);
+            pendingSettings.add(createPendingSetting(102 + random.nextInt(349), rotationStartPoint,
+                    rotationStartPoint + 1 + random.nextInt(180 - rotationStartPoint), 1 + random.nextInt(5)));
+        }
+
+        var sweepSimulations = turretSweepSimulator.simulateAll(pendingSettings);
+
+        assertThat(sweepSimulations).hasSize(pendingSettings.size());
+        for (int index = 0; index < pendingSettings.size(); index++) {
+            assertThat(sweepSimulations.get(index)).isEqualTo(turretSweepSimulator.simulate(pendingSettings.get(index)));
+        }
+    }
+
+    private PendingSetting createPendingSetting(long caliber, long rotationStartPoint, long rotationEndPoint, int rotations) {
+        return new PendingSetting(TurretLocation.Bow, rotations * (rotationEndPoint - rotationStartPoint), caliber,
+                rotationStartPoint, rotationEndPoint, rotations);
+    }
+}
@@ -0,0 +1,88 @@
+package org.coding.challenge.battleship.statistics;
+
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class TurretStatisticsTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * GIVEN 1000 Stern runs of distances 1 to 1000 with two calibers in a 60 second window
+     * WHEN the Stern and Bow statistics are read
+     * THEN Stern has the exact count, rate, min, mean and max, percentiles within 3% and its caliber mix,
+     * and Bow has no runs
+     */
+    @Test
+    public void givenRuns_whenStats_thenRollingStatistics() {
+        var turretStatistics = new TurretStatistics(60, 12);
+        var now = 1000 * SECOND;
+        for (int distance = 1; distance <= 1000; distance++) {
+            turretStatistics.record(TurretLocation.Stern, distance, distance % 4 == 0 ? 450 : 110, now);
+        }
+
+        var stats = turretStatistics.stats(TurretLocation.Stern, now + SECOND);
+        assertThat(stats.getRuns()).isEqualTo(1000);
+        assertThat(stats.getWindowRuns()).isEqualTo(1000);
+        assertThat(stats.getRunsPerSecond()).isCloseTo(1000 / 60.0, within(1e-9));
+        assertThat(stats.getDistanceMin()).isEqualTo(1);
+        assertThat(stats.getDistanceMean()).isEqualTo(500.5);
+        assertThat(stats.getDistanceP50()).isCloseTo(500L, within(15L));
+        assertThat(stats.getDistanceP99()).isCloseTo(990L, within(30L));
+        assertThat(stats.getDistanceMax()).isEqualTo(1000);
+        assertThat(stats.getCaliberMix()).containsEntry("102-149", 750L).containsEntry("400-450", 250L)
+                .containsEntry("250-299", 0L).hasSize(7);
+
+        var bow = turretStatistics.stats(TurretLocation.Bow, now + SECOND);
+        assertThat(bow.getWindowRuns()).isZero();
+        assertThat(bow.getDistanceP50()).isNull();
+    }
+
+    /**
+     * GIVEN runs recorded 50 seconds apart in a 60 second window
+     * WHEN the window moves past the older runs
+     * THEN they are dropped from the window statistics but still counted in the total runs
+     */
+    @Test
+    public void givenOldRuns_whenWindowMoves_thenOldRunsExpire() {
+        var turretStatistics = new TurretStatistics(60, 12);
+        var start = 1000 * SECOND;
+        turretStatistics.record(TurretLocation.Bow, 10_000, 200, start);
+        turretStatistics.record(TurretLocation.Bow, 20, 200, start + 50 * SECOND);
+
+        var both = turretStatistics.stats(TurretLocation.Bow, start + 55 * SECOND);
+        assertThat(both.getWindowRuns()).isEqualTo(2);
+        assertThat(both.getDistanceMax()).isEqualTo(10_000);
+
+        var recent = turretStatistics.stats(TurretLocation.Bow, start + 65 * SECOND);
+        assertThat(recent.getRuns()).isEqualTo(2);
+        assertThat(recent.getWindowRuns()).isEqualTo(1);
+        assertThat(recent.getDistanceMin()).isEqualTo(20);
+        assertThat(recent.getDistanceMax()).isEqualTo(20);
+        assertThat(recent.getDistanceP99()).isEqualTo(20);
+        assertThat(recent.getCaliberMix()).containsEntry("200-249", 1L);
+
+        var none = turretStatistics.stats(TurretLocation.Bow, start + 200 * SECOND);
+        assertThat(none.getWindowRuns()).isZero();
+        assertThat(none.getDistanceMean()).isNull();
+    }
+
+    /**
+     * GIVEN distances from 0 to 2^39
+     * WHEN they are put in the histogram bins
+     * THEN each bin is within the range of bins and its value is within 3.2% of the distance
+     */
+    @Test
+    public void givenDistances_whenBinned_thenWithinRelativeError() {
+        for (long distance = 0; distance < 1L << 39; distance = distance * 5 / 4 + 1) {
+            var bin = TurretStatistics.distanceBin(distance);
+            assertThat(bin).isBetween(0, TurretStatistics.DISTANCE_BINS - 1);
+            assertThat((double) TurretStatistics.distanceOfBin(bin)).isCloseTo(distance, within(distance * 0.032));
+        }
+    }
+}
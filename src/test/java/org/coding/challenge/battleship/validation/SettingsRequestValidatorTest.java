@@ -0,0 +1,92 @@
+package org.coding.challenge.battleship.validation;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SettingsRequestValidatorTest {
+
+    private static ValidatorFactory validatorFactory;
+
+    @BeforeAll
+    public static void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        validatorFactory.close();
+    }
+
+    /**
+     * GIVEN settings requests on and around every bound of the constraints of SettingsRequest
+     * WHEN validate them with SettingsRequestValidator and with Bean Validation
+     * THEN both find the same field errors with the same messages, and the object error is one of the violations
+     */
+    @Test
+    public void givenSettingsAroundEveryBound_whenValidate_thenSameErrorsAsBeanValidation() {
+        var validator = validatorFactory.getValidator();
+        for (long caliber : new long[]{101, 102, 450, 451}) {
+            for (long rotationStartPoint : new long[]{-1, 0, 100, 180, 181}) {
+                for (long rotationEndPoint : new long[]{-1, 0, 99, 100, 101, 180, 181}) {
+                    for (int rotations : new int[]{0, 1}) {
+                        var settingsRequest = createSettingsRequest(caliber, rotationStartPoint, rotationEndPoint, rotations);
+                        var violations = validator.validate(settingsRequest);
+
+                        var errors = SettingsRequestValidator.validate(settingsRequest);
+
+                        if (violations.isEmpty()) {
+                            assertThat(errors).as(settingsRequest.toString()).isNull();
+                            continue;
+                        }
+                        Map<String, String> fieldErrors = new HashMap<>();
+                        for (ConstraintViolation<SettingsRequest> violation : violations) {
+                            var field = violation.getPropertyPath().toString();
+                            if (!field.isEmpty()) {
+                                fieldErrors.put(field, violation.getMessage());
+                            }
+                        }
+                        assertThat(errors).as(settingsRequest.toString())
+                                .containsAllEntriesOf(fieldErrors)
+                                .hasSize(fieldErrors.size() + 1);
+                        assertThat(violations).extracting(ConstraintViolation::getMessage)
+                                .contains(errors.get(SettingsRequestValidator.OBJECT_NAME));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * GIVEN a settings request whose rotation_end_point is not greater than its rotation_start_point
+     * WHEN validate it
+     * THEN only the object error is returned
+     */
+    @Test
+    public void givenRotationEndPointNotGreater_whenValidate_thenReturnObjectError() {
+        var errors = SettingsRequestValidator.validate(createSettingsRequest(150, 100, 100, 9));
+
+        assertThat(errors).containsExactly(Map.entry("settingsRequest",
+                "rotation_end_point must be greater than rotation_start_point"));
+    }
+
+    private SettingsRequest createSettingsRequest(long caliber, long rotationStartPoint, long rotationEndPoint, int rotations) {
+        var settingsRequest = new SettingsRequest();
+        settingsRequest.setCaliber(caliber);
+        settingsRequest.setLocation(TurretLocation.Bow);
+        settingsRequest.setRotationStartPoint(rotationStartPoint);
+        settingsRequest.setRotationEndPoint(rotationEndPoint);
+        settingsRequest.setRotations(rotations);
+        return settingsRequest;
+    }
+}
@@ -0,0 +1,80 @@
+package org.coding.challenge.battleship.warmup;
+
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.coding.challenge.battleship.validation.SettingsRequestValidator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class WarmupRecordingTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * GIVEN a setting on each turret, one with a large number of rotations, and runs between them
+     * WHEN they are written to a recording, then read back
+     * THEN the same calls are read in the same order, and a truncated last call is ignored
+     */
+    @Test
+    public void givenCalls_whenWrittenThenRead_thenSameCalls() throws IOException {
+        var bow = settingsRequest(TurretLocation.Bow, 450, 0, 180, 3);
+        var stern = settingsRequest(TurretLocation.Stern, 102, 20, 120, 1_000_000);
+        var buffer = ByteBuffer.allocate(4 + 4 * WarmupRecording.MAX_CALL_BYTES);
+        WarmupRecording.writeHeader(buffer);
+        WarmupRecording.writeSettings(buffer, bow);
+        WarmupRecording.writeRun(buffer);
+        WarmupRecording.writeSettings(buffer, stern);
+        WarmupRecording.writeRun(buffer);
+        var recording = directory.resolve("warmup.rec");
+        Files.write(recording, Arrays.copyOf(buffer.array(), buffer.position()));
+
+        assertThat(WarmupRecording.read(recording)).containsExactly(new WarmupRecording.Call(bow),
+                new WarmupRecording.Call(null), new WarmupRecording.Call(stern), new WarmupRecording.Call(null));
+        assertThat(buffer.position()).isEqualTo(4 + 6 + 1 + 8 + 1);
+
+        Files.write(recording, Arrays.copyOf(buffer.array(), buffer.position() - 3));
+        assertThat(WarmupRecording.read(recording)).containsExactly(new WarmupRecording.Call(bow),
+                new WarmupRecording.Call(null));
+
+        Files.write(recording, new byte[]{1, 2, 3, 4});
+        assertThrows(IOException.class, () -> WarmupRecording.read(recording));
+    }
+
+    /**
+     * GIVEN a seed
+     * WHEN synthetic traffic is generated twice
+     * THEN it is the same both times, and made of valid settings each followed by a run
+     */
+    @Test
+    public void givenSeed_whenSynthetic_thenSameValidPairs() {
+        var calls = WarmupRecording.synthetic(1000, 42);
+
+        assertThat(calls).hasSize(2000).isEqualTo(WarmupRecording.synthetic(1000, 42));
+        for (int index = 0; index < calls.size(); index += 2) {
+            assertThat(calls.get(index).isRun()).isFalse();
+            assertThat(SettingsRequestValidator.validate(calls.get(index).settingsRequest())).isNull();
+            assertThat(calls.get(index + 1).isRun()).isTrue();
+        }
+    }
+
+    private static SettingsRequest settingsRequest(TurretLocation location, int caliber, int rotationStartPoint,
+                                                   int rotationEndPoint, int rotations) {
+        var settingsRequest = new SettingsRequest();
+        settingsRequest.setLocation(location);
+        settingsRequest.setCaliber(caliber);
+        settingsRequest.setRotationStartPoint(rotationStartPoint);
+        settingsRequest.setRotationEndPoint(rotationEndPoint);
+        settingsRequest.setRotations(rotations);
+        return settingsRequest;
+    }
+}
@@ -0,0 +1,49 @@
+package org.coding.challenge.battleship.warmup;
+
+import org.coding.challenge.battleship.dto.RunResponse;
+import org.coding.challenge.battleship.dto.SettingsRequest;
+import org.coding.challenge.battleship.enums.TurretLocation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WarmupTrafficRecorderTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * GIVEN a recorder of 2 calls
+     * WHEN a setting without a location, a setting on the Bow turret and a run go through it
+     * THEN the setting without a location is passed on but not recorded, and the other two calls are
+     */
+    @Test
+    public void givenSettingWithoutLocation_whenRecorded_thenSkipped() throws IOException {
+        var recording = directory.resolve("warmup.rec");
+        var recorder = new WarmupTrafficRecorder(recording, 2);
+        var withoutLocation = settingsRequest(null);
+        var bow = settingsRequest(TurretLocation.Bow);
+
+        assertThat(recorder.afterBodyRead(withoutLocation, null, null, SettingsRequest.class, null))
+                .isSameAs(withoutLocation);
+        recorder.afterBodyRead(bow, null, null, SettingsRequest.class, null);
+        recorder.beforeBodyWrite(RunResponse.builder().build(), null, null, null, null, null);
+
+        assertThat(WarmupRecording.read(recording)).containsExactly(new WarmupRecording.Call(bow),
+                new WarmupRecording.Call(null));
+    }
+
+    private static SettingsRequest settingsRequest(TurretLocation location) {
+        var settingsRequest = new SettingsRequest();
+        settingsRequest.setLocation(location);
+        settingsRequest.setCaliber(110);
+        settingsRequest.setRotationStartPoint(20);
+        settingsRequest.setRotationEndPoint(120);
+        settingsRequest.setRotations(3);
+        return settingsRequest;
+    }
+}